@@ -0,0 +1,92 @@
+package chinesecheckers.benchmark;
+
+import java.util.Random;
+
+import chinesecheckers.server.Board;
+import chinesecheckers.server.BoardGeometry;
+/**
+ * Klasa BenchmarkPositions buduje stałe pozycje używane w benchmarkach.
+ * Pozycje środka gry powstają z losowych partii o stałym ziarnie, więc są takie same przy każdym uruchomieniu.
+ */
+final class BenchmarkPositions {
+    /**
+     * Ziarno losowych partii prowadzących do pozycji środka gry.
+     */
+    static final long SEED = 20240117L;
+    /**
+     * Liczba półruchów rozegranych przed pozycją środka gry.
+     */
+    static final int MIDGAME_PLIES = 60;
+
+    private BenchmarkPositions() {
+    }
+/**
+ * Metoda start zwraca pozycję początkową dla podanej liczby graczy.
+ * @param players - liczba graczy
+ * @return plansza w pozycji początkowej
+ */
+    static Board start(int players) {
+        Board board = new Board();
+        board.initializeBoardForPlayers(players);
+        board.initializeOpponentBaseMapping(players);
+        return board;
+    }
+/**
+ * Metoda midgame zwraca pozycję po MIDGAME_PLIES losowych ruchach graczy wykonywanych po kolei.
+ * @param players - liczba graczy
+ * @return plansza w pozycji środka gry
+ */
+    static Board midgame(int players) {
+        Board board = start(players);
+        Random random = new Random(SEED + players);
+        int[] moves = new int[Board.MAX_MOVES];
+        for (int ply = 0; ply < MIDGAME_PLIES; ply++) {
+            int count = board.generateMoves(ply % players + 1, moves);
+            if (count > 0) {
+                board.makeMove(moves[random.nextInt(count)]);
+            }
+        }
+        Board position = new Board();
+        position.initializeOpponentBaseMapping(players);
+        position.loadState(board.toCompactString());
+        return position;
+    }
+/**
+ * Metoda multiJump zwraca pozycję, w której pionek gracza 1 z (8,4) dochodzi do (8,20) ośmioma skokami
+ * zygzakiem po przeszkodach gracza 2 w wierszu 9.
+ * @return plansza z długim wielokrotnym skokiem
+ */
+    static Board multiJump() {
+        int[][] layout = BoardGeometry.newLayout();
+        layout[8][4] = 1;
+        for (int column = 5; column <= 19; column += 2) {
+            layout[9][column] = 2;
+        }
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < layout.length; i++) {
+            if (i > 0) {
+                sb.append(';');
+            }
+            for (int j = 0; j < layout[i].length; j++) {
+                if (j > 0) {
+                    sb.append(',');
+                }
+                sb.append(layout[i][j]);
+            }
+        }
+        Board board = new Board();
+        board.loadState(sb.toString());
+        return board;
+    }
+/**
+ * Metoda main wypisuje pozycje benchmarków w dawnym zapisie CSV (klucz=stan), z którego korzysta
+ * PreSeriesBenchmark uruchamiany na kodzie wyjściowym przez src/jmh/preseries/run.sh.
+ * @param args Argumenty wywołania programu (nieużywane).
+ */
+    public static void main(String[] args) {
+        for (int players : new int[]{2, 3, 4, 6}) {
+            System.out.println("midgame." + players + "=" + midgame(players));
+        }
+        System.out.println("multiJump=" + multiJump());
+    }
+}
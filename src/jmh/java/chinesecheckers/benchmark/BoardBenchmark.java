@@ -0,0 +1,134 @@
+package chinesecheckers.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import chinesecheckers.server.Board;
+import chinesecheckers.server.BoardCodec;
+import chinesecheckers.server.BoardGeometry;
+/**
+ * Klasa BoardBenchmark mierzy operacje silnika zasad (klasa Board).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+    private Board start;
+    private Board multiJump;
+    private final int[] targets = new int[BoardGeometry.CELLS + BoardGeometry.DIRECTIONS];
+    private int startCell;
+
+    /**
+     * Pozycja środka gry dla danej liczby graczy.
+     */
+    @State(Scope.Thread)
+    public static class Midgame {
+        @Param({"2", "3", "4", "6"})
+        public int players;
+
+        Board board;
+        Board target;
+        String legacyState;
+        String compactState;
+        String emptyState;
+        final byte[] encoded = new byte[BoardCodec.ENCODED_BYTES];
+        final int[] moves = new int[Board.MAX_MOVES];
+
+        @Setup
+        public void setUp() {
+            board = BenchmarkPositions.midgame(players);
+            target = new Board();
+            legacyState = board.toString();
+            compactState = board.toCompactString();
+            emptyState = new Board().toCompactString();
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        start = BenchmarkPositions.start(2);
+        multiJump = BenchmarkPositions.multiJump();
+        startCell = BoardGeometry.cellIndex(3, 9);
+    }
+
+    @Benchmark
+    public boolean isValidMoveAdjacent() {
+        return start.isValidMove(3, 9, 4, 8, 1);
+    }
+
+    @Benchmark
+    public boolean isValidMoveSingleJump() {
+        return start.isValidMove(2, 10, 4, 8, 1);
+    }
+
+    @Benchmark
+    public boolean isValidMoveMultiJump() {
+        return multiJump.isValidMove(8, 4, 8, 20, 1);
+    }
+
+    @Benchmark
+    public List<int[]> getPossibleMoves() {
+        return start.getPossibleMoves(3, 9);
+    }
+
+    @Benchmark
+    public int getPossibleMovesBuffer() {
+        return start.getPossibleMoves(startCell, targets);
+    }
+
+    @Benchmark
+    public List<int[]> getPossibleJumps() {
+        return multiJump.getPossibleJumps(8, 4, 1);
+    }
+
+    @Benchmark
+    public int generateMoves(Midgame position) {
+        return position.board.generateMoves(1, position.moves);
+    }
+
+    @Benchmark
+    public Board legacyRoundTrip(Midgame position) {
+        position.target.loadState(position.legacyState);
+        position.legacyState = position.target.toString();
+        return position.target;
+    }
+
+    @Benchmark
+    public Board compactRoundTrip(Midgame position) {
+        position.target.loadState(position.compactState);
+        position.compactState = position.target.toCompactString();
+        return position.target;
+    }
+
+    @Benchmark
+    public Board binaryRoundTrip(Midgame position) {
+        BoardCodec.encode(position.board, position.encoded, 0);
+        BoardCodec.decode(position.encoded, 0, position.target);
+        return position.target;
+    }
+
+    /**
+     * Pomiar obejmuje też wyczyszczenie planszy, bo initializeBoardForChaos zakłada pustą planszę.
+     */
+    @Benchmark
+    public Board initializeBoardForChaos(Midgame position) {
+        position.target.loadState(position.emptyState);
+        position.target.initializeBoardForChaos(position.players);
+        return position.target;
+    }
+}
@@ -0,0 +1,44 @@
+package chinesecheckers.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import chinesecheckers.server.BotPlayer;
+/**
+ * Klasa BotBenchmark mierzy wybór ruchu przez BotPlayer (bez 500 ms opóźnienia z getMove)
+ * w stałych pozycjach środka gry dla 2, 3, 4 i 6 graczy.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BotBenchmark {
+    @Param({"2", "3", "4", "6"})
+    public int players;
+
+    private BotPlayer bot;
+
+    @Setup
+    public void setUp() {
+        bot = new BotPlayer(1, players, "Rozgrywka klasyczna");
+        bot.updateBoard(BenchmarkPositions.midgame(players).toCompactString());
+    }
+
+    @Benchmark
+    public String selectMove() {
+        return bot.selectMove();
+    }
+}
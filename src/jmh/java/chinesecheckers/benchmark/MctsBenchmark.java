@@ -0,0 +1,70 @@
+package chinesecheckers.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import chinesecheckers.server.Board;
+import chinesecheckers.server.MctsStrategy;
+/**
+ * Klasa MctsBenchmark mierzy szybkość bota Monte Carlo (rozgrywki na sekundę)
+ * w stałych pozycjach środka gry dla 2, 3, 4 i 6 graczy, przy stałym budżecie rozgrywek na ruch.
+ * Skalowanie z liczbą wątków: -Djmh.args="MctsBenchmark -p threads=1,2,4".
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MctsBenchmark {
+    private static final int PLAYOUTS = 500;
+
+    @Param({"2", "3", "4", "6"})
+    public int players;
+
+    @Param({"1"})
+    public int threads;
+
+    private Board board;
+    private MctsStrategy strategy;
+/**
+ * Licznik rozgrywek raportowany przez JMH jako rozgrywki na sekundę.
+ */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Playouts {
+        public long playouts;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            playouts = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        board = BenchmarkPositions.midgame(players);
+        strategy = new MctsStrategy(PLAYOUTS, 60_000, 1);
+        strategy.setThreads(threads);
+    }
+
+    @Benchmark
+    public int selectMove(Playouts counter) {
+        int move = strategy.selectMove(board, 1);
+        counter.playouts += strategy.getPlayouts();
+        return move;
+    }
+}
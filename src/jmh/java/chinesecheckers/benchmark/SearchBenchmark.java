@@ -0,0 +1,73 @@
+package chinesecheckers.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import chinesecheckers.server.Board;
+import chinesecheckers.server.MultiPlayerStrategy;
+/**
+ * Klasa SearchBenchmark mierzy szybkość przeszukiwania wieloosobowego (węzły na sekundę)
+ * w stałych pozycjach środka gry dla 3, 4 i 6 graczy, przy stałym limicie węzłów na ruch.
+ * Skalowanie z liczbą wątków: -Djmh.args="SearchBenchmark -p threads=1,2,4".
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchBenchmark {
+    private static final long NODE_LIMIT = 20_000;
+
+    @Param({"3", "4", "6"})
+    public int players;
+
+    @Param({"PARANOID", "BEST_REPLY"})
+    public MultiPlayerStrategy.Mode mode;
+
+    @Param({"1"})
+    public int threads;
+
+    private Board board;
+    private MultiPlayerStrategy strategy;
+/**
+ * Licznik odwiedzonych węzłów raportowany przez JMH jako węzły na sekundę.
+ */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Nodes {
+        public long nodes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            nodes = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        board = BenchmarkPositions.midgame(players);
+        strategy = new MultiPlayerStrategy(mode, 60_000, NODE_LIMIT, MultiPlayerStrategy.MAX_DEPTH);
+        strategy.setThreads(threads);
+    }
+
+    @Benchmark
+    public int selectMove(Nodes counter) {
+        int move = strategy.selectMove(board, 1);
+        counter.nodes += strategy.getNodes();
+        return move;
+    }
+}
@@ -0,0 +1,166 @@
+package chinesecheckers.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.net.Socket;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import chinesecheckers.server.Board;
+import chinesecheckers.server.BotPlayer;
+/**
+ * Klasa PreSeriesBenchmark mierzy kod wyjściowy (commit 4d86166) tymi samymi ustawieniami JMH
+ * i na tych samych pozycjach co BoardBenchmark i BotBenchmark. Kompiluje się tylko z dawnym API,
+ * więc nie należy do profilu benchmark; uruchamia ją src/jmh/preseries/run.sh na osobnej kopii
+ * roboczej tego commitu. Nazwy metod odpowiadają benchmarkom bieżącego kodu.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PreSeriesBenchmark {
+    /**
+     * Plik z pozycjami wypisanymi przez BenchmarkPositions.main, szukany na ścieżce klas.
+     */
+    static final String POSITIONS = "/preseries-positions.properties";
+
+    private Board start;
+    private Board multiJump;
+
+    /**
+     * Pozycja środka gry dla danej liczby graczy.
+     */
+    @State(Scope.Thread)
+    public static class Midgame {
+        @Param({"2", "3", "4", "6"})
+        public int players;
+
+        Board target;
+        String legacyState;
+        String emptyState;
+        BotPlayer bot;
+        Method makeMove;
+
+        @Setup
+        public void setUp() throws IOException, ReflectiveOperationException {
+            target = new Board();
+            legacyState = positions().getProperty("midgame." + players);
+            emptyState = new Board().toString();
+            bot = new BotPlayer(nullSocket(), 1, players, "Rozgrywka klasyczna");
+            bot.updateBoard(legacyState);
+            makeMove = BotPlayer.class.getDeclaredMethod("makeMove");
+            makeMove.setAccessible(true);
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        start = new Board();
+        start.initializeBoardForPlayers(2);
+        start.initializeOpponentBaseMapping(2);
+        multiJump = new Board();
+        multiJump.loadState(positions().getProperty("multiJump"));
+    }
+
+    @Benchmark
+    public boolean isValidMoveAdjacent() {
+        return start.isValidMove(3, 9, 4, 8, 1);
+    }
+
+    @Benchmark
+    public boolean isValidMoveSingleJump() {
+        return start.isValidMove(2, 10, 4, 8, 1);
+    }
+
+    @Benchmark
+    public boolean isValidMoveMultiJump() {
+        return multiJump.isValidMove(8, 4, 8, 20, 1);
+    }
+
+    @Benchmark
+    public List<int[]> getPossibleMoves() {
+        return start.getPossibleMoves(3, 9);
+    }
+
+    @Benchmark
+    public List<int[]> getPossibleJumps() {
+        return multiJump.getPossibleJumps(8, 4, 1);
+    }
+
+    @Benchmark
+    public Board legacyRoundTrip(Midgame position) {
+        position.target.loadState(position.legacyState);
+        position.legacyState = position.target.toString();
+        return position.target;
+    }
+
+    /**
+     * Pomiar obejmuje też wyczyszczenie planszy, jak w BoardBenchmark.
+     */
+    @Benchmark
+    public Board initializeBoardForChaos(Midgame position) {
+        position.target.loadState(position.emptyState);
+        position.target.initializeBoardForChaos(position.players);
+        return position.target;
+    }
+
+    /**
+     * Dawny BotPlayer wybiera ruch w prywatnej metodzie makeMove (bez 500 ms opóźnienia), wywoływanej przez refleksję.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Object selectMove(Midgame position) throws ReflectiveOperationException {
+        return position.makeMove.invoke(position.bot);
+    }
+/**
+ * Metoda positions wczytuje pozycje benchmarków.
+ * @return pozycje w dawnym zapisie CSV
+ */
+    static Properties positions() {
+        try (InputStream in = PreSeriesBenchmark.class.getResourceAsStream(POSITIONS)) {
+            if (in == null) {
+                throw new IllegalStateException("Brak pliku " + POSITIONS + "; uruchom src/jmh/preseries/run.sh.");
+            }
+            Properties positions = new Properties();
+            positions.load(in);
+            return positions;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+/**
+ * Metoda nullSocket zwraca gniazdo bez połączenia, wystarczające do utworzenia dawnego BotPlayer poza serwerem.
+ * @return gniazdo z pustymi strumieniami
+ */
+    static Socket nullSocket() {
+        return new Socket() {
+            @Override
+            public InputStream getInputStream() {
+                return InputStream.nullInputStream();
+            }
+
+            @Override
+            public OutputStream getOutputStream() {
+                return OutputStream.nullOutputStream();
+            }
+        };
+    }
+}
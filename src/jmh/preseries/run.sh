@@ -0,0 +1,24 @@
+#!/bin/sh
+# Pomiar kodu wyjściowego (sekcja na końcu src/jmh/baseline.txt).
+# Wypisuje pozycje benchmarków z bieżącego kodu (BenchmarkPositions.main), tworzy osobną kopię roboczą
+# commitu sprzed zmian z bieżącym pom.xml (profil benchmark) i uruchamia na niej PreSeriesBenchmark.
+# Użycie: src/jmh/preseries/run.sh [argumenty JMH]
+# Domyślnie wyniki trafiają do target/jmh-preseries.txt; commit można zmienić zmienną PRESERIES_COMMIT.
+set -e
+root=$(git rev-parse --show-toplevel)
+commit=${PRESERIES_COMMIT:-4d86166}
+args=${*:-"-rf text -rff $root/target/jmh-preseries.txt"}
+work=$(mktemp -d)
+trap 'git -C "$root" worktree remove --force "$work/tree" >/dev/null 2>&1; rm -rf "$work"' EXIT
+
+cd "$root"
+mvn -B -q -Pbenchmark test-compile
+git worktree add -q --detach "$work/tree" "$commit"
+mkdir -p "$work/tree/src/jmh/java" "$work/tree/src/test/resources"
+java -cp target/classes:target/test-classes chinesecheckers.benchmark.BenchmarkPositions \
+    > "$work/tree/src/test/resources/preseries-positions.properties"
+cp pom.xml "$work/tree/pom.xml"
+cp -R src/jmh/preseries/java/. "$work/tree/src/jmh/java/"
+
+cd "$work/tree"
+mvn -B -q -Pbenchmark test-compile exec:exec -Djmh.args="PreSeriesBenchmark $args"
@@ -6,6 +6,8 @@ import java.awt.event.*;
 import java.util.Set;
 
 import chinesecheckers.server.Board;
+import chinesecheckers.server.BoardGeometry;
+import chinesecheckers.server.BoardSnapshot;
 /**
  * Klasa BoardPanel reprezentuje panel graficzny, na którym rysowana jest plansza do gry w chińskie warcaby.
  * Obsługuje również interakcje użytkownika, takie jak wybieranie i przeciąganie pionków.
@@ -80,6 +82,16 @@ public class BoardPanel extends JPanel {
      * Czy pionek jest przeciągany.
      */
     private boolean dragging = false;
+
+    /**
+     * Pola, na które można przesunąć wybrany pionek (podgląd ruchów).
+     */
+    private final int[] previewTargets = new int[BoardGeometry.CELLS + BoardGeometry.DIRECTIONS];
+
+    /**
+     * Liczba pól w podglądzie ruchów.
+     */
+    private int previewCount = 0;
    /**
      * Konstruktor klasy BoardPanel.
      *
@@ -103,11 +115,12 @@ public class BoardPanel extends JPanel {
                 int row = (e.getY() - startY) / cellSize;
 
                 if (isWithinBoard(row, col)) {
-                    int pieceColor = board.getBoard()[row][col];
+                    int pieceColor = board.getSnapshot().getCell(row, col);
                     if (pieceColor == playerColor) {
                         selectedRow = row;
                         selectedCol = col;
                         dragging = true;
+                        previewCount = board.getLegalDestinations(row, col, playerColor, previewTargets);
                     }
                 }
             }
@@ -120,7 +133,7 @@ public class BoardPanel extends JPanel {
                     int col = (e.getX() - startX) / cellSize;
                     int row = (e.getY() - startY) / cellSize;
 
-                    if (isWithinBoard(row, col) && board.getBoard()[row][col] == 0 && !(row == selectedRow && col == selectedCol)) {
+                    if (isWithinBoard(row, col) && board.getSnapshot().getCell(row, col) == 0 && !(row == selectedRow && col == selectedCol)) {
                         if (board.isValidMove(selectedRow, selectedCol, row, col, playerColor)) {
                             board.movePiece(selectedRow, selectedCol, row, col, playerColor);
                             notifyMove(selectedRow, selectedCol, row, col);
@@ -131,6 +144,7 @@ public class BoardPanel extends JPanel {
                     selectedRow = -1;
                     selectedCol = -1;
                     dragging = false;
+                    previewCount = 0;
                 }
             }
         });
@@ -152,8 +166,8 @@ public class BoardPanel extends JPanel {
  * Oblicza wymiary planszy na podstawie rozmiaru komórki i rozmiaru planszy.
  */
     private void calculateBoardDimensions() {
-        boardWidth = board.getBoard()[0].length * cellSize;
-        boardHeight = board.getBoard().length * cellSize;
+        boardWidth = BoardGeometry.COLUMNS * cellSize;
+        boardHeight = BoardGeometry.ROWS * cellSize;
         startX = (getWidth() - boardWidth) / 2;
         startY = (getHeight() - boardHeight) / 2;
     }
@@ -165,7 +179,7 @@ public class BoardPanel extends JPanel {
      * @return true, jeśli współrzędne znajdują się w obrębie planszy, w przeciwnym razie false.
      */
     private boolean isWithinBoard(int row, int col) {
-        return row >= 0 && row < board.getBoard().length && col >= 0 && col < board.getBoard()[row].length;
+        return row >= 0 && row < BoardGeometry.ROWS && col >= 0 && col < BoardGeometry.COLUMNS;
     }
 
     @Override
@@ -175,6 +189,7 @@ public class BoardPanel extends JPanel {
         drawBoard(g);
 
         if (dragging && selectedRow != -1 && selectedCol != -1) {
+            drawMovePreview(g);
             g.setColor(getPieceColor(playerColor));
             g.fillOval(draggedX - cellSize / 2, draggedY - cellSize / 2, cellSize, cellSize);
         }
@@ -184,20 +199,11 @@ public class BoardPanel extends JPanel {
      * @param g Obiekt Graphics używany do rysowania.
      */
     private void drawBoard(Graphics g) {
-        for (int i = 0; i < board.getBoard().length; i++) {
-            for (int j = 0; j < board.getBoard()[i].length; j++) {
-                switch (board.getBoard()[i][j]) {
-                    case 0:
-                        g.setColor(Color.WHITE);
-                        break;
-                    case 7:
-                        continue;
-                    default:
-                        g.setColor(getPieceColor(board.getBoard()[i][j]));
-                        break;
-                }
-                g.fillOval(startX + j * cellSize, startY + i * cellSize, cellSize, cellSize);
-            }
+        BoardSnapshot snapshot = board.getSnapshot();
+        for (int cell = 0; cell < BoardGeometry.CELLS; cell++) {
+            int pieceColor = snapshot.getCell(cell);
+            g.setColor(pieceColor == 0 ? Color.WHITE : getPieceColor(pieceColor));
+            g.fillOval(startX + BoardGeometry.column(cell) * cellSize, startY + BoardGeometry.row(cell) * cellSize, cellSize, cellSize);
         }
         if ("Order Out Of Chaos".equals(gameClient.getVariant())) {
             for (int playerId = 1; playerId <= gameClient.getMaxPlayers(); playerId++) {
@@ -216,6 +222,20 @@ public class BoardPanel extends JPanel {
         }
     }
 
+    /**
+     * Rysuje znaczniki na polach, na które można przesunąć wybrany pionek.
+     * @param g Obiekt Graphics używany do rysowania.
+     */
+    private void drawMovePreview(Graphics g) {
+        int marker = cellSize / 3;
+        g.setColor(Color.GRAY);
+        for (int i = 0; i < previewCount; i++) {
+            int row = BoardGeometry.row(previewTargets[i]);
+            int col = BoardGeometry.column(previewTargets[i]);
+            g.fillOval(startX + col * cellSize + (cellSize - marker) / 2, startY + row * cellSize + (cellSize - marker) / 2, marker, marker);
+        }
+    }
+
     /**
      * Zwraca kolor pionka na podstawie jego numeru.
      * @param pieceColor Numer koloru pionka.
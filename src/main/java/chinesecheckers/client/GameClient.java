@@ -5,6 +5,7 @@ import javax.swing.SwingUtilities;
 
 import chinesecheckers.patterns.GameFacade;
 import chinesecheckers.server.Board;
+import chinesecheckers.server.BoardSync;
 /**
  * Klasa GameClient reprezentuje klienta gry w chińskie warcaby.
  * Obsługuje komunikację z serwerem oraz interfejs graficzny.
@@ -40,6 +41,7 @@ public class GameClient {
 
             System.out.println("Połączono z serwerem!");
             board = new Board();
+            board.enableSnapshots();
            
             String idMessage;
             while ((idMessage = in.readLine()) != null) {
@@ -81,6 +83,11 @@ public class GameClient {
                                 SwingUtilities.invokeLater(() -> {
                                     gameFacade.updateGameState(gameState);
                                 });
+                            } else if (serverMessage.startsWith(BoardSync.DELTA_PREFIX)) {
+                                String delta = serverMessage.substring(BoardSync.DELTA_PREFIX.length()).trim();
+                                SwingUtilities.invokeLater(() -> {
+                                    gameFacade.applyBoardDelta(delta);
+                                });
                             } else if (serverMessage.startsWith("Gracz ") && serverMessage.contains(" zajął miejsce ")) {
                                 final String rankMessage = serverMessage;
                                 SwingUtilities.invokeLater(() -> {
@@ -0,0 +1,60 @@
+package chinesecheckers.model;
+
+/**
+ * Zapisany ruch razem z danymi jego gry, odczytywany zapytaniem projekcji (MoveRepository.streamAllOrderedByGame)
+ * bez tworzenia encji Move i Game.
+ */
+public class SavedMove {
+    private final Long gameId;
+    private final String variant;
+    private final int maxPlayers;
+    private final int playerId;
+    private final int startX;
+    private final int startY;
+    private final int endX;
+    private final int endY;
+
+    public SavedMove(Long gameId, String variant, int maxPlayers, int playerId,
+                     int startX, int startY, int endX, int endY) {
+        this.gameId = gameId;
+        this.variant = variant;
+        this.maxPlayers = maxPlayers;
+        this.playerId = playerId;
+        this.startX = startX;
+        this.startY = startY;
+        this.endX = endX;
+        this.endY = endY;
+    }
+
+    public Long getGameId() {
+        return gameId;
+    }
+
+    public String getVariant() {
+        return variant;
+    }
+
+    public int getMaxPlayers() {
+        return maxPlayers;
+    }
+
+    public int getPlayerId() {
+        return playerId;
+    }
+
+    public int getStartX() {
+        return startX;
+    }
+
+    public int getStartY() {
+        return startY;
+    }
+
+    public int getEndX() {
+        return endX;
+    }
+
+    public int getEndY() {
+        return endY;
+    }
+}
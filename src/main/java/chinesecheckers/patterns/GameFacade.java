@@ -3,11 +3,13 @@ package chinesecheckers.patterns;
 import chinesecheckers.client.ClientGUI;
 import chinesecheckers.client.GameClient;
 import chinesecheckers.server.Board;
+import chinesecheckers.server.BoardSync;
 /**
  * Klasa GameFacade reprezentuje fasadę gry w chińskie warcaby.
  */
 public class GameFacade {
     private Board board;
+    private final BoardSync boardSync;
     private ClientGUI clientGUI;
     private GameClient gameClient;
 /**
@@ -18,6 +20,7 @@ public class GameFacade {
  */
     public GameFacade(Board board, ClientGUI clientGUI, GameClient gameClient) {
         this.board = board;
+        this.boardSync = new BoardSync(board);
         this.clientGUI = clientGUI;
         this.gameClient = gameClient;
     }
@@ -34,7 +37,18 @@ public class GameFacade {
  * @param gameState stan gry/planszy
  */
     public void updateGameState(String gameState) {
-        board.update(gameState);
+        boardSync.applySnapshot(gameState);
+        clientGUI.repaint();
+    }
+/**
+ * Metoda applyBoardDelta stosuje w miejscu różnicę stanu planszy wysłaną po ruchu.
+ * Przy niezgodności plansza czeka na kolejny pełny stan z serwera.
+ * @param delta różnica stanu planszy (bez prefiksu)
+ */
+    public void applyBoardDelta(String delta) {
+        if (!boardSync.applyDelta(delta)) {
+            System.out.println("Plansza niezgodna ze stanem serwera, oczekiwanie na pełny stan.");
+        }
         clientGUI.repaint();
     }
 /**
@@ -1,10 +1,24 @@
 package chinesecheckers.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import chinesecheckers.model.Game;
 import chinesecheckers.model.Move;
+import chinesecheckers.model.SavedMove;
 import java.util.List;
+import java.util.stream.Stream;
+import javax.persistence.QueryHint;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 public interface MoveRepository extends JpaRepository<Move, Long> {
         List<Move> findByGame(Game game);
+
+        // Projekcja zamiast encji: kontekst utrwalania nie rośnie z liczbą ruchów, a gra nie jest
+        // doczytywana osobnym zapytaniem. Przy ustawionym fetch size sterownik MariaDB pobiera wiersze partiami.
+        @Query("select new chinesecheckers.model.SavedMove(g.id, g.variant, g.maxPlayers, m.playerId,"
+                + " m.startX, m.startY, m.endX, m.endY) from Move m join m.game g order by g.id, m.id")
+        @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+        Stream<SavedMove> streamAllOrderedByGame();
 }
\ No newline at end of file
@@ -0,0 +1,216 @@
+package chinesecheckers.server;
+/**
+ * Klasa AlphaBetaStrategy wybiera ruch w grze dwuosobowej przeszukiwaniem alfa-beta (negamax)
+ * z iteracyjnym pogłębianiem. Ruchy są porządkowane według postępu w stronę bazy docelowej,
+ * z ruchem zabójcą danego poziomu na początku, a w korzeniu najlepszy ruch poprzedniej iteracji idzie pierwszy.
+ * Przeszukiwanie kończy się po przekroczeniu limitu czasu albo liczby węzłów i zwraca najlepszy ruch
+ * znaleziony do tej pory. Z ustawioną tablicą transpozycji wyniki poddrzew są zapamiętywane między iteracjami
+ * i kolejnymi ruchami, a zapamiętany najlepszy ruch jest sprawdzany jako pierwszy. W grach z większą liczbą graczy
+ * strategia używa przeszukiwania najlepszej odpowiedzi (MultiPlayerStrategy) z tymi samymi limitami.
+ */
+public class AlphaBetaStrategy extends SearchStrategy {
+    /**
+     * Domyślny limit czasu na ruch w milisekundach.
+     */
+    public static final long DEFAULT_TIME_MILLIS = 300;
+    /**
+     * Maksymalna głębokość przeszukiwania.
+     */
+    public static final int MAX_DEPTH = 32;
+
+    private final long timeLimitMillis;
+    private final long nodeLimit;
+    private final int maxDepth;
+    private final MultiPlayerStrategy multiPlayer;
+    private int opponent;
+/**
+ * Konstruktor klasy AlphaBetaStrategy z domyślnym limitem czasu.
+ */
+    public AlphaBetaStrategy() {
+        this(DEFAULT_TIME_MILLIS, Long.MAX_VALUE, MAX_DEPTH);
+    }
+/**
+ * Konstruktor klasy AlphaBetaStrategy.
+ * @param timeLimitMillis - limit czasu na ruch w milisekundach
+ * @param nodeLimit - limit liczby odwiedzonych węzłów na ruch
+ * @param maxDepth - maksymalna głębokość (1..MAX_DEPTH)
+ */
+    public AlphaBetaStrategy(long timeLimitMillis, long nodeLimit, int maxDepth) {
+        super(timeLimitMillis, nodeLimit, checkDepth(maxDepth), Board.MAX_MOVES);
+        this.timeLimitMillis = timeLimitMillis;
+        this.nodeLimit = nodeLimit;
+        this.maxDepth = maxDepth;
+        this.multiPlayer = new MultiPlayerStrategy(MultiPlayerStrategy.Mode.BEST_REPLY, timeLimitMillis, nodeLimit,
+                Math.min(maxDepth, MultiPlayerStrategy.MAX_DEPTH));
+    }
+/**
+ * Metoda setTurnOrder przekazuje kolejność ruchów strategii dla gier wieloosobowych.
+ * @param order - numery graczy w kolejności ruchów
+ */
+    @Override
+    public void setTurnOrder(int[] order) {
+        multiPlayer.setTurnOrder(order);
+    }
+/**
+ * Metoda setTranspositionTable ustawia tablicę transpozycji (także dla gier wieloosobowych).
+ * @param table - tablica transpozycji albo null
+ */
+    @Override
+    public void setTranspositionTable(TranspositionTable table) {
+        super.setTranspositionTable(table);
+        multiPlayer.setTranspositionTable(table);
+    }
+/**
+ * Metoda setThreads ustawia liczbę wątków przeszukiwania (także dla gier wieloosobowych).
+ * @param threads - liczba wątków
+ */
+    @Override
+    public void setThreads(int threads) {
+        super.setThreads(threads);
+        multiPlayer.setThreads(threads);
+    }
+/**
+ * Metoda close zamyka pule wątków strategii (także dla gier wieloosobowych).
+ */
+    @Override
+    public void close() {
+        super.close();
+        multiPlayer.close();
+    }
+/**
+ * Metoda selectMove wybiera ruch gracza.
+ * @param board - plansza bota (po zakończeniu ma ten sam stan)
+ * @param playerId - numer gracza
+ * @return ruch zakodowany przez PackedMove albo PackedMove.NONE
+ */
+    @Override
+    public int selectMove(Board board, int playerId) {
+        if (board.getPlayerCount() != 2) {
+            return multiPlayer.selectMove(board, playerId);
+        }
+        return search(board, playerId);
+    }
+/**
+ * Metoda getName zwraca nazwę strategii.
+ * @return nazwa strategii
+ */
+    @Override
+    public String getName() {
+        return ALPHA_BETA;
+    }
+
+    @Override
+    void prepare(Board board, int playerId) {
+        opponent = opponentOf(playerId);
+    }
+
+    @Override
+    int searchRootMove(int depth, int alpha) {
+        return -search(depth - 1, 1, opponent, -INFINITY, -alpha);
+    }
+
+    @Override
+    SearchStrategy newWorker() {
+        return new AlphaBetaStrategy(timeLimitMillis, nodeLimit, maxDepth);
+    }
+/**
+ * Metoda search przeszukuje poddrzewo (negamax z cięciami alfa-beta).
+ * @param depth - pozostała głębokość
+ * @param ply - odległość od korzenia
+ * @param playerId - numer gracza na ruchu
+ * @param alpha - dolne ograniczenie
+ * @param beta - górne ograniczenie
+ * @return ocena pozycji z punktu widzenia gracza na ruchu
+ */
+    private int search(int depth, int ply, int playerId, int alpha, int beta) {
+        if (tick()) {
+            return 0;
+        }
+        int opponent = opponentOf(playerId);
+        if (Evaluation.hasFinished(board, opponent)) {
+            return -(WIN - ply);
+        }
+        if (depth == 0) {
+            return evaluate(playerId);
+        }
+        long key = board.getHash() ^ TranspositionTable.salt(playerId);
+        int tableMove = PackedMove.NONE;
+        if (table != null) {
+            long entry = table.probe(key);
+            if (entry != TranspositionTable.MISS) {
+                tableMove = TranspositionTable.move(entry);
+                if (TranspositionTable.depth(entry) >= depth) {
+                    int score = TranspositionTable.scoreFromTable(TranspositionTable.score(entry), ply);
+                    int bound = TranspositionTable.bound(entry);
+                    if (bound == TranspositionTable.EXACT
+                            || bound == TranspositionTable.LOWER && score >= beta
+                            || bound == TranspositionTable.UPPER && score <= alpha) {
+                        return score;
+                    }
+                }
+            }
+        }
+        int[] moves = moves(ply);
+        int count = board.generateMoves(playerId, moves);
+        if (count == 0) {
+            return -search(depth - 1, ply + 1, opponent, -beta, -alpha);
+        }
+        Evaluation.orderMoves(board, moves, scores(ply), count, killers[ply]);
+        Evaluation.moveToFront(moves, count, tableMove);
+        int originalAlpha = alpha;
+        int best = -INFINITY;
+        int bestMove = PackedMove.NONE;
+        for (int i = 0; i < count; i++) {
+            board.makeMove(moves[i]);
+            int score = -search(depth - 1, ply + 1, opponent, -beta, -alpha);
+            board.unmakeMove();
+            if (aborted) {
+                return 0;
+            }
+            if (score > best) {
+                best = score;
+                bestMove = moves[i];
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta) {
+                        killers[ply] = moves[i];
+                        break;
+                    }
+                }
+            }
+        }
+        if (table != null) {
+            int bound = best >= beta ? TranspositionTable.LOWER
+                    : best > originalAlpha ? TranspositionTable.EXACT : TranspositionTable.UPPER;
+            table.store(key, depth, bound, TranspositionTable.scoreToTable(best, ply), bestMove);
+        }
+        return best;
+    }
+/**
+ * Metoda evaluate ocenia pozycję jako różnicę sum odległości pionków obu graczy od wierzchołka ich baz docelowych.
+ * @param playerId - numer gracza, z którego punktu widzenia liczona jest ocena
+ * @return ocena pozycji
+ */
+    private int evaluate(int playerId) {
+        return Evaluation.distanceSum(board, opponentOf(playerId)) - Evaluation.distanceSum(board, playerId);
+    }
+/**
+ * Metoda opponentOf zwraca numer przeciwnika w grze dwuosobowej.
+ * @param playerId - numer gracza
+ * @return numer przeciwnika
+ */
+    private static int opponentOf(int playerId) {
+        return playerId % 2 + 1;
+    }
+/**
+ * Metoda checkDepth sprawdza maksymalną głębokość przed utworzeniem buforów.
+ * @param maxDepth - maksymalna głębokość
+ * @return maksymalna głębokość
+ */
+    private static int checkDepth(int maxDepth) {
+        if (maxDepth < 1 || maxDepth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Nieprawidłowa głębokość: " + maxDepth);
+        }
+        return maxDepth;
+    }
+}
@@ -1,17 +1,40 @@
 package chinesecheckers.server;
 import java.util.LinkedHashSet;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
 import java.util.Set;
 /**
  * Klasa Board reprezentuje planszę do gry w chińskie warcaby.
+ * Zajętość pól jest przechowywana w maskach bitowych (po dwa słowa long na gracza),
+ * a wewnętrzna tablica 17x25 jest utrzymywana jako widok zgodny z maskami. Pola zmienia się wyłącznie
+ * metodami planszy (ruchy, setCell, wczytanie stanu); getBoard zwraca kopię tablicy.
+ * Plansza nie jest bezpieczna wątkowo, także przy samych odczytach: metody sprawdzające ruchy
+ * (isValidMove, generateMoves, getJumpReach) korzystają ze wspólnych buforów roboczych.
+ * Inne wątki czytają stan przez getSnapshot albo pracują na własnej kopii (copy).
  */
 public class Board {
     private int[][] board;
-    private static final int ROWS = 17;
-    private static final int COLUMNS = 25;
+    private static final int WORDS = BoardGeometry.WORDS;
+    private static final int MAX_PLAYERS = 6;
+    /**
+     * Rozmiar bufora wystarczający dla generateMoves przy dziesięciu pionkach gracza.
+     */
+    public static final int MAX_MOVES = 10 * (BoardGeometry.CELLS + BoardGeometry.DIRECTIONS);
+    private final long[] pieceBits = new long[(MAX_PLAYERS + 1) * WORDS];
+    private final int[] baseCounts = new int[(MAX_PLAYERS + 1) * BoardGeometry.BASES];
+    private final int[] pieceCells = new int[(MAX_PLAYERS + 1) * BoardGeometry.CELLS];
+    private final int[] pieceCounts = new int[MAX_PLAYERS + 1];
+    private final EvaluationState evaluation = new EvaluationState();
+    private int[] undoStack = new int[64];
+    private int undoSize;
+    private boolean publishing;
+    private long version;
+    private volatile BoardSnapshot snapshot;
+    private long hash;
+    private final long[] reachBits = new long[WORDS];
+    private final int[] reachQueue = new int[BoardGeometry.CELLS];
     private List<Set<int[]>> playerBases;
     private int[] opponentBaseMapping;
     private String variant;
@@ -20,33 +43,34 @@ public class Board {
  *  Inicjalizuje planszę do gry oraz bazy graczy.
  */
     public Board() {
-        board = new int[ROWS][COLUMNS];
         initializeBoard();
         initializePlayerBases();
     }
+/**
+ * Metoda copy zwraca niezależną kopię planszy (pola, wariant i mapowanie baz przeciwników).
+ * Stos cofania i publikowane widoki nie są kopiowane.
+ * @return kopia planszy
+ */
+    public Board copy() {
+        Board copy = new Board();
+        for (int i = 0; i < board.length; i++) {
+            System.arraycopy(board[i], 0, copy.board[i], 0, board[i].length);
+        }
+        copy.rebuildFromGrid();
+        copy.variant = variant;
+        copy.opponentBaseMapping = opponentBaseMapping == null ? null : opponentBaseMapping.clone();
+        return copy;
+    }
 /**
  *  Metoda initializeBoard inicjalizuje planszę do gry.
  */
     private void initializeBoard() {
-        board = new int[][] {
-            {7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 0, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7},
-            {7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 0, 7, 0, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7},
-            {7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 0, 7, 0, 7, 0, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7},
-            {7, 7, 7, 7, 7, 7, 7, 7, 7, 0, 7, 0, 7, 0, 7, 0, 7, 7, 7, 7, 7, 7, 7, 7, 7},
-            {0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0},
-            {7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7},
-            {7, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 7},
-            {7, 7, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 7, 7},
-            {7, 7, 7, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 7, 7, 7},
-            {7, 7, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 7, 7},
-            {7, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 7},
-            {7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7},
-            {0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0},
-            {7, 7, 7, 7, 7, 7, 7, 7, 7, 0, 7, 0, 7, 0, 7, 0, 7, 7, 7, 7, 7, 7, 7, 7, 7},
-            {7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 0, 7, 0, 7, 0, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7},
-            {7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 0, 7, 0, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7},
-            {7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 0, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7}
-        };
+        board = BoardGeometry.newLayout();
+        Arrays.fill(pieceBits, 0L);
+        Arrays.fill(baseCounts, 0);
+        Arrays.fill(pieceCounts, 0);
+        evaluation.clear();
+        hash = 0L;
     }
 /**
  * Metoda initializePlayerBases inicjalizuje bazy graczy.
@@ -57,12 +81,9 @@ public class Board {
             playerBases.add(new LinkedHashSet<>());
         }
 
-        addPlayerBase(0, new int[][]{{0, 12}, {1, 11}, {1, 13}, {2, 10}, {2, 12}, {2, 14}, {3, 9}, {3, 11}, {3, 13}, {3, 15}});
-        addPlayerBase(1, new int[][]{{16, 12}, {15, 11}, {15, 13}, {14, 10}, {14, 12}, {14, 14}, {13, 9}, {13, 11}, {13, 13}, {13, 15}});
-        addPlayerBase(2, new int[][]{{12, 0}, {11, 1}, {12, 2}, {10, 2}, {11, 3}, {12, 4}, {9, 3}, {10, 4}, {11, 5}, {12, 6}});
-        addPlayerBase(3, new int[][]{{12, 24}, {11, 23}, {12, 22}, {10, 22}, {9, 21}, {11, 21}, {10, 20}, {12, 20}, {11, 19}, {12, 18}});
-        addPlayerBase(4, new int[][]{{4, 0}, {5, 1}, {4, 2}, {6, 2}, {5, 3}, {4, 4}, {5, 5}, {6, 4}, {7, 3}, {4, 6}});
-        addPlayerBase(5, new int[][]{{4, 24}, {5, 23}, {4, 22}, {6, 22}, {5, 21}, {7, 21}, {4, 20}, {6, 20}, {4, 18}, {5, 19}});
+        for (int base = 0; base < BoardGeometry.BASES; base++) {
+            addPlayerBase(base, BoardGeometry.basePositions(base));
+        }
     }
 /**
  * Metoda initializeOpponentBaseMapping inicjalizuje mapowanie bazy przeciwnika.
@@ -133,21 +154,30 @@ public class Board {
             default:
                 throw new IllegalArgumentException("Nieprawidłowa ilość graczy: " + numberOfPlayers);
         }
+        commit();
     }
     /**
      * Metoda initializeBoardForChaos inicjalizuje planszę dla gry w Order Out Of Chaos.
      * @param numberOfPlayers Liczba graczy.
      */
     public void initializeBoardForChaos(int numberOfPlayers) {
-        Random random = new Random();
+        initializeBoardForChaos(numberOfPlayers, new Random());
+    }
+    /**
+     * Metoda initializeBoardForChaos inicjalizuje planszę dla gry w Order Out Of Chaos przy użyciu podanego generatora,
+     * co pozwala odtworzyć to samo rozstawienie (np. w narzędziach testowych).
+     * @param numberOfPlayers Liczba graczy.
+     * @param random Generator liczb losowych.
+     */
+    public void initializeBoardForChaos(int numberOfPlayers, Random random) {
         int piecesPerPlayer = 10;
         List<int[]> validPositions = new ArrayList<>();
 
-        for (int i = 0; i < ROWS; i++) {
-            for (int j = 0; j < COLUMNS; j++) {
-                if (board[i][j] == 0 && !isInAnyBase(i, j)) {
-                    validPositions.add(new int[]{i, j});
-                }
+        for (int cell = 0; cell < BoardGeometry.CELLS; cell++) {
+            int i = BoardGeometry.row(cell);
+            int j = BoardGeometry.column(cell);
+            if (!isOccupied(cell) && !isInAnyBase(i, j)) {
+                validPositions.add(new int[]{i, j});
             }
         }
 
@@ -162,9 +192,10 @@ public class Board {
         for (int player = 1; player <= numberOfPlayers; player++) {
             for (int p = 0; p < piecesPerPlayer; p++) {
                 int[] pos = validPositions.get(index++);
-                board[pos[0]][pos[1]] = player;
+                setCell(BoardGeometry.cellIndex(pos[0], pos[1]), player);
             }
         }
+        commit();
     }
 /**
  * Metoda setVariant ustawia wariant gry.
@@ -173,7 +204,7 @@ public class Board {
  */
     private void setPlayerPieces(int player, int[][] positions) {
         for (int[] pos : positions) {
-            board[pos[0]][pos[1]] = player;
+            setCell(BoardGeometry.cellIndex(pos[0], pos[1]), player);
         }
     }
 /**
@@ -183,14 +214,8 @@ public class Board {
  * @return true, jeśli pozycja jest w bazie któregokolwiek gracza, w przeciwnym razie false.
  */
     private boolean isInAnyBase(int x, int y) {
-        for (Set<int[]> base : playerBases) {
-            for (int[] pos : base) {
-                if (pos[0] == x && pos[1] == y) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        int cell = BoardGeometry.cellIndex(x, y);
+        return cell >= 0 && BoardGeometry.baseOf(cell) >= 0;
     }
 /**
  * Metoda isInOpponentBase sprawdza, czy dana pozycja jest w bazie przeciwnika.
@@ -200,13 +225,8 @@ public class Board {
  * @return true, jeśli pozycja jest w bazie przeciwnika, w przeciwnym razie false.
  */
     public boolean isInOpponentBase(int x, int y, int playerId) {
-        int opponentBaseIndex = opponentBaseMapping[playerId - 1];
-        for (int[] base : playerBases.get(opponentBaseIndex)) {
-            if (base[0] == x && base[1] == y) {
-                return true;
-            }
-        }
-        return false;
+        int cell = BoardGeometry.cellIndex(x, y);
+        return cell >= 0 && BoardGeometry.baseOf(cell) == opponentBaseMapping[playerId - 1];
     }
 /**
  * Metoda isInHomeBase sprawdza, czy dana pozycja jest w bazie domowej gracza.
@@ -216,12 +236,8 @@ public class Board {
  * @return true, jeśli pozycja jest w bazie domowej gracza, w przeciwnym razie false.
  */
     public boolean isInHomeBase(int x, int y, int playerId) {
-        for (int[] base : playerBases.get(playerId - 1)) {
-            if (base[0] == x && base[1] == y) {
-                return true;
-            }
-        }
-        return false;
+        int cell = BoardGeometry.cellIndex(x, y);
+        return cell >= 0 && BoardGeometry.baseOf(cell) == playerId - 1;
     }
 /**
  * Metoda allPiecesInHomeBase sprawdza, czy wszystkie pionki gracza są w bazie domowej.
@@ -229,13 +245,69 @@ public class Board {
  * @return true, jeśli wszystkie pionki gracza są w bazie domowej, w przeciwnym razie false.
  */
     public boolean allPiecesInHomeBase(int playerId) {
-        Set<int[]> homeBase = playerBases.get(playerId - 1);
-        for (int[] pos : homeBase) {
-            if (board[pos[0]][pos[1]] != playerId) {
-                return false;
-            }
-        }
-        return true;
+        return getPiecesInHomeBase(playerId) == BoardGeometry.BASE_SIZE;
+    }
+/**
+ * Metoda getPiecesInHomeBase zwraca liczbę pionków gracza stojących w jego bazie domowej.
+ * Licznik jest aktualizowany przy każdej zmianie pola.
+ * @param playerId - numer gracza
+ * @return liczba pionków w bazie domowej
+ */
+    public int getPiecesInHomeBase(int playerId) {
+        return baseCounts[playerId * BoardGeometry.BASES + playerId - 1];
+    }
+/**
+ * Metoda getPiecesInOpponentBase zwraca liczbę pionków gracza stojących w bazie przeciwnika.
+ * Licznik jest aktualizowany przy każdej zmianie pola.
+ * @param playerId - numer gracza
+ * @return liczba pionków w bazie przeciwnika
+ */
+    public int getPiecesInOpponentBase(int playerId) {
+        return baseCounts[playerId * BoardGeometry.BASES + opponentBaseMapping[playerId - 1]];
+    }
+/**
+ * Metoda getPiecesInTarget zwraca liczbę pionków gracza stojących już w bazie docelowej
+ * wariantu gry: bazie domowej w Order Out Of Chaos, w pozostałych wariantach bazie przeciwnika.
+ * @param playerId - numer gracza
+ * @return liczba pionków w bazie docelowej
+ */
+    public int getPiecesInTarget(int playerId) {
+        return "Order Out Of Chaos".equals(variant) ? getPiecesInHomeBase(playerId) : getPiecesInOpponentBase(playerId);
+    }
+/**
+ * Metoda getDistanceSum zwraca sumę odległości pionków gracza od wierzchołka bazy docelowej.
+ * Suma jest aktualizowana przy każdej zmianie pola, więc odczyt nie przegląda pionków.
+ * @param playerId - numer gracza
+ * @return suma odległości
+ */
+    public int getDistanceSum(int playerId) {
+        return evaluation.tipDistanceSum(playerId, getTargetBase(playerId));
+    }
+/**
+ * Metoda getRearDistance zwraca odległość najdalszego pionka gracza od bazy.
+ * @param playerId - numer gracza
+ * @param base - indeks bazy
+ * @return odległość (0, jeśli wszystkie pionki gracza są w bazie)
+ */
+    int getRearDistance(int playerId, int base) {
+        return evaluation.rearDistance(playerId, base);
+    }
+/**
+ * Metoda getFrontDistance zwraca odległość najbliższego pionka gracza od bazy.
+ * @param playerId - numer gracza
+ * @param base - indeks bazy
+ * @return odległość albo Integer.MAX_VALUE, jeśli gracz nie ma pionków
+ */
+    int getFrontDistance(int playerId, int base) {
+        return evaluation.frontDistance(playerId, base);
+    }
+/**
+ * Metoda getTargetBase zwraca indeks bazy docelowej gracza w bieżącym wariancie gry.
+ * @param playerId - numer gracza
+ * @return indeks bazy docelowej
+ */
+    public int getTargetBase(int playerId) {
+        return "Order Out Of Chaos".equals(variant) ? playerId - 1 : opponentBaseMapping[playerId - 1];
     }
 /**
  * getHomeBasePositions zwraca pozycje bazy domowej gracza.
@@ -265,13 +337,56 @@ public class Board {
  */
     public synchronized String movePiece(int startX, int startY, int endX, int endY, int playerId) {
         if (isValidMove(startX, startY, endX, endY, playerId)) {
-            board[endX][endY] = board[startX][startY];
-            board[startX][startY] = 0;
+            int start = BoardGeometry.cellIndex(startX, startY);
+            int end = BoardGeometry.cellIndex(endX, endY);
+            setCell(end, board[startX][startY]);
+            setCell(start, 0);
+            commit();
             return "Ruch wykonany z (" + startX + "," + startY + ") na (" + endX + "," + endY + ").";
         } else {
             return "Nieprawidłowy ruch z (" + startX + "," + startY + ") na (" + endX + "," + endY + ").";
         }
     }
+/**
+ * Metoda makeMove wykonuje ruch zakodowany przez PackedMove bez sprawdzania jego poprawności
+ * i bez synchronizacji. Przeznaczona dla zaufanych wywołań (boty, analiza, odtwarzanie partii),
+ * które biorą ruchy z generateMoves. Maski zajętości, hasz, listy pionków i liczniki baz
+ * są aktualizowane przyrostowo, a ruch trafia na stos cofania.
+ * @param move - zakodowany ruch
+ */
+    public void makeMove(int move) {
+        int from = PackedMove.from(move);
+        int to = PackedMove.to(move);
+        int playerId = board[BoardGeometry.row(from)][BoardGeometry.column(from)];
+        setCell(from, 0);
+        setCell(to, playerId);
+        if (undoSize == undoStack.length) {
+            undoStack = Arrays.copyOf(undoStack, undoSize * 2);
+        }
+        undoStack[undoSize++] = move;
+    }
+/**
+ * Metoda unmakeMove cofa ostatni ruch wykonany przez makeMove i przywraca dokładnie poprzedni stan planszy.
+ * @throws IllegalStateException Jeśli nie ma ruchu do cofnięcia.
+ */
+    public void unmakeMove() {
+        if (undoSize == 0) {
+            throw new IllegalStateException("Brak ruchu do cofnięcia.");
+        }
+        int move = undoStack[--undoSize];
+        int from = PackedMove.from(move);
+        int to = PackedMove.to(move);
+        int playerId = board[BoardGeometry.row(to)][BoardGeometry.column(to)];
+        setCell(to, 0);
+        setCell(from, playerId);
+    }
+/**
+ * Metoda getUndoDepth zwraca liczbę ruchów, które można cofnąć przez unmakeMove.
+ * @return liczba ruchów na stosie cofania
+ */
+    public int getUndoDepth() {
+        return undoSize;
+    }
 /**
  * Metoda hasPiece sprawdza, czy na danej pozycji znajduje się pionek.
  * @param x - współrzędna x początku skoku
@@ -279,7 +394,7 @@ public class Board {
  * @return  true, jeśli na danej pozycji znajduje się pionek, w przeciwnym razie false.
  */
     public boolean hasPiece(int x, int y) {
-        return board[x][y] != 0 && board[x][y] != 7;
+        return isPieceAt(x, y);
     }
 /**
  * Metoda hasPlayerPiece sprawdza, czy na danej pozycji znajduje się pionek gracza. 
@@ -289,7 +404,11 @@ public class Board {
  * @return true, jeśli na danej pozycji znajduje się pionek gracza, w przeciwnym razie false.
  */
     public boolean hasPlayerPiece(int x, int y, int playerId) {
-        return board[x][y] == playerId;
+        int cell = BoardGeometry.cellIndex(x, y);
+        if (cell < 0 || playerId < 1 || playerId > MAX_PLAYERS) {
+            return false;
+        }
+        return (pieceBits[playerId * WORDS + (cell >>> 6)] & (1L << cell)) != 0;
     }
 /**
  * Metoda isEmpty sprawdza, czy dana pozycja jest pusta.
@@ -298,7 +417,7 @@ public class Board {
  * @return true, jeśli pozycja jest pusta, w przeciwnym razie false.
  */
     public boolean isEmpty(int x, int y) {
-        return board[x][y] == 0;
+        return isEmptyAt(x, y);
     }
 /**
  * Metoda getPossibleJumps zwraca możliwe skoki.
@@ -308,23 +427,53 @@ public class Board {
  * @return możliwe skoki
  */
     public List<int[]> getPossibleJumps(int startX, int startY, int playerId) {
+        return collectJumps(startX, startY);
+    }
+/**
+ * Metoda collectJumps zbiera pojedyncze skoki z danej pozycji na podstawie masek zajętości.
+ * @param startX - współrzędna x początku skoku
+ * @param startY - współrzędna y początku skoku
+ * @return możliwe skoki
+ */
+    private List<int[]> collectJumps(int startX, int startY) {
         List<int[]> jumps = new ArrayList<>();
-        int[][] directions = {
-            {-2, 0}, {2, 0}, {0, -2}, {0, 2}, {-2, -2}, {2, 2}, {-2, 2}, {2, -2}
-        };
-
-        for (int[] dir : directions) {
-            int midX = startX + dir[0] / 2;
-            int midY = startY + dir[1] / 2;
-            int endX = startX + dir[0];
-            int endY = startY + dir[1];
-            if (isWithinBoard(endX, endY) && hasPiece(midX, midY) && isEmpty(endX, endY)) {
-                jumps.add(new int[]{endX, endY});
+        int cell = BoardGeometry.cellIndex(startX, startY);
+        if (cell < 0) {
+            return jumps;
+        }
+        for (int d = 0; d < BoardGeometry.DIRECTIONS; d++) {
+            int landing = BoardGeometry.jumpLanding(cell, d);
+            if (landing >= 0 && isOccupied(BoardGeometry.jumpOver(cell, d)) && !isOccupied(landing)) {
+                jumps.add(new int[]{BoardGeometry.row(landing), BoardGeometry.column(landing)});
             }
         }
-
         return jumps;
     }
+/**
+ * Metoda getPossibleJumps zapisuje do bufora indeksy pól osiągalnych pojedynczym skokiem.
+ * @param cell - indeks pola startowego
+ * @param targets - bufor na wynik, co najmniej BoardGeometry.DIRECTIONS elementów
+ * @return liczba zapisanych pól
+ */
+    public int getPossibleJumps(int cell, int[] targets) {
+        return appendJumps(cell, targets, 0);
+    }
+/**
+ * Metoda appendJumps dopisuje do bufora pola osiągalne pojedynczym skokiem.
+ * @param cell - indeks pola startowego
+ * @param targets - bufor na wynik
+ * @param count - liczba pól już zapisanych w buforze
+ * @return nowa liczba pól w buforze
+ */
+    private int appendJumps(int cell, int[] targets, int count) {
+        for (int d = 0; d < BoardGeometry.DIRECTIONS; d++) {
+            int landing = BoardGeometry.jumpLanding(cell, d);
+            if (landing >= 0 && isOccupied(BoardGeometry.jumpOver(cell, d)) && !isOccupied(landing)) {
+                targets[count++] = landing;
+            }
+        }
+        return count;
+    }
 /**
  * Metoda isValidMultiJump sprawdza, czy możliwe jest wielokrotne skakanie.
  * @param startX - współrzędna x początku skoku
@@ -335,37 +484,165 @@ public class Board {
  * @return true, jeśli możliwe jest wielokrotne skakanie, w przeciwnym razie false.
  */
     public boolean isValidMultiJump(int startX, int startY, int endX, int endY, int playerId) {
-        Set<String> visited = new HashSet<>();
-        boolean result = canJump(startX, startY, endX, endY, playerId, visited);
-        return result;
+        if (startX == endX && startY == endY) {
+            return true;
+        }
+        int start = BoardGeometry.cellIndex(startX, startY);
+        int end = BoardGeometry.cellIndex(endX, endY);
+        if (start < 0 || end < 0) {
+            return false;
+        }
+        fillJumpReach(start);
+        return isInJumpReach(end);
     }
 /**
- * Metoda canJump sprawdza, czy możliwe jest skakanie.
- * @param startX - współrzędna x początku skoku
- * @param startY - współrzędna y początku skoku
- * @param endX - współrzędna x końca skoku
- * @param endY - współrzędna y końca skoku
+ * Metoda getJumpReach zapisuje do bufora zbiór pól osiągalnych sekwencją skoków z danego pola,
+ * w rosnącej kolejności indeksów. Zbiór jest wyznaczany jednym przejściem wszerz; pionek na polu
+ * startowym pozostaje na planszy w czasie wyszukiwania.
+ * @param cell - indeks pola startowego
+ * @param targets - bufor na wynik, co najmniej BoardGeometry.CELLS elementów
+ * @return liczba zapisanych pól
+ */
+    public int getJumpReach(int cell, int[] targets) {
+        fillJumpReach(cell);
+        return appendBits(reachBits[0], reachBits[1], targets, 0);
+    }
+/**
+ * Metoda fillJumpReach wypełnia wewnętrzną maskę osiągalnych pól bez synchronizacji z tablicą planszy.
+ * @param cell - indeks pola startowego
+ */
+    private void fillJumpReach(int cell) {
+        reachBits[0] = 0L;
+        reachBits[1] = 0L;
+        int head = 0;
+        int tail = 0;
+        reachQueue[tail++] = cell;
+        while (head < tail) {
+            int current = reachQueue[head++];
+            for (int d = 0; d < BoardGeometry.DIRECTIONS; d++) {
+                int landing = BoardGeometry.jumpLanding(current, d);
+                if (landing < 0 || isOccupied(landing) || !isOccupied(BoardGeometry.jumpOver(current, d))) {
+                    continue;
+                }
+                long bit = 1L << landing;
+                if ((reachBits[landing >>> 6] & bit) == 0) {
+                    reachBits[landing >>> 6] |= bit;
+                    reachQueue[tail++] = landing;
+                }
+            }
+        }
+    }
+/**
+ * Metoda isInJumpReach sprawdza, czy pole należy do zbioru wyznaczonego ostatnim wywołaniem fillJumpReach.
+ * @param cell - indeks pola
+ * @return true, jeśli pole jest osiągalne skokami, w przeciwnym razie false.
+ */
+    private boolean isInJumpReach(int cell) {
+        return (reachBits[cell >>> 6] & (1L << cell)) != 0;
+    }
+/**
+ * Metoda getLegalDestinations zapisuje do bufora wszystkie pola, na które można
+ * przesunąć pionek z danej pozycji, z uwzględnieniem zasad wyjścia z bazy wariantu gry.
+ * @param startX - współrzędna x pionka
+ * @param startY - współrzędna y pionka
  * @param playerId - numer gracza
- * @param visited - odwiedzone pozycje
- * @return true, jeśli możliwe jest skakanie, w przeciwnym razie false.
+ * @param targets - bufor na wynik, co najmniej BoardGeometry.CELLS elementów
+ * @return liczba zapisanych pól
  */
-    private boolean canJump(int startX, int startY, int endX, int endY, int playerId, Set<String> visited) {
-        if (startX == endX && startY == endY) {
-            return true;
+    public int getLegalDestinations(int startX, int startY, int playerId, int[] targets) {
+        int start = BoardGeometry.cellIndex(startX, startY);
+        if (start < 0 || !isOccupied(start)) {
+            return 0;
         }
-
-        visited.add(startX + "," + startY);
-
-        for (int[] jump : getPossibleJumps(startX, startY, playerId)) {
-            int nextX = jump[0];
-            int nextY = jump[1];
-            if (!visited.contains(nextX + "," + nextY) && canJump(nextX, nextY, endX, endY, playerId, visited)) {
-                return true;
+        return appendLegalDestinations(start, playerId, targets, 0);
+    }
+/**
+ * Metoda generateMoves zapisuje do bufora wszystkie prawidłowe ruchy gracza jako liczby
+ * zakodowane przez PackedMove, z uwzględnieniem zasad wyjścia z bazy wariantu gry.
+ * Pionki są przeglądane w kolejności wierszy planszy. Metoda nie tworzy żadnych obiektów.
+ * @param playerId - numer gracza
+ * @param moves - bufor na wynik, co najmniej MAX_MOVES elementów
+ * @return liczba zapisanych ruchów
+ */
+    public int generateMoves(int playerId, int[] moves) {
+        int count = 0;
+        int offset = playerId * BoardGeometry.CELLS;
+        for (int p = 0; p < pieceCounts[playerId]; p++) {
+            int start = pieceCells[offset + p];
+            int first = count;
+            count = appendLegalDestinations(start, playerId, moves, count);
+            for (int i = first; i < count; i++) {
+                moves[i] = PackedMove.of(start, moves[i]);
             }
         }
-
-        visited.remove(startX + "," + startY);
-        return false;
+        return count;
+    }
+/**
+ * Metoda appendLegalDestinations dopisuje do bufora pola docelowe pionka: sąsiednie puste pola
+ * oraz wszystkie pola osiągalne skokami, pomijając ruchy zabronione przez zasady wyjścia z bazy.
+ * @param start - indeks pola pionka
+ * @param playerId - numer gracza
+ * @param targets - bufor na wynik
+ * @param count - liczba pól już zapisanych w buforze
+ * @return nowa liczba pól w buforze
+ */
+    private int appendLegalDestinations(int start, int playerId, int[] targets, int count) {
+        for (int d = 0; d < BoardGeometry.DIRECTIONS; d++) {
+            int neighbour = BoardGeometry.neighbour(start, d);
+            if (neighbour >= 0 && !isOccupied(neighbour) && isExitAllowed(start, neighbour, playerId)) {
+                targets[count++] = neighbour;
+            }
+        }
+        fillJumpReach(start);
+        for (int word = 0; word < WORDS; word++) {
+            long bits = reachBits[word];
+            while (bits != 0) {
+                int cell = (word << 6) + Long.numberOfTrailingZeros(bits);
+                if (isExitAllowed(start, cell, playerId)) {
+                    targets[count++] = cell;
+                }
+                bits &= bits - 1;
+            }
+        }
+        return count;
+    }
+/**
+ * Metoda appendBits dopisuje do bufora indeksy pól ustawionych w masce.
+ * @param low - słowo maski dla pól 0..63
+ * @param high - słowo maski dla pól 64..120
+ * @param targets - bufor na wynik
+ * @param count - liczba pól już zapisanych w buforze
+ * @return nowa liczba pól w buforze
+ */
+    private static int appendBits(long low, long high, int[] targets, int count) {
+        while (low != 0) {
+            targets[count++] = Long.numberOfTrailingZeros(low);
+            low &= low - 1;
+        }
+        while (high != 0) {
+            targets[count++] = 64 + Long.numberOfTrailingZeros(high);
+            high &= high - 1;
+        }
+        return count;
+    }
+/**
+ * Metoda isExitAllowed sprawdza zasadę wariantu gry zabraniającą opuszczenia bazy docelowej
+ * (w wariancie Order Out Of Chaos - bazy domowej).
+ * @param start - indeks pola startowego
+ * @param end - indeks pola docelowego
+ * @param playerId - numer gracza
+ * @return true, jeśli ruch nie narusza zasady, w przeciwnym razie false.
+ */
+    private boolean isExitAllowed(int start, int end, int playerId) {
+        int base;
+        if ("Order Out Of Chaos".equals(variant)) {
+            base = playerId - 1;
+        } else if ("Rozgrywka klasyczna".equals(variant)) {
+            base = opponentBaseMapping[playerId - 1];
+        } else {
+            return true;
+        }
+        return BoardGeometry.baseOf(start) != base || BoardGeometry.baseOf(end) == base;
     }
 /**
  * Metoda isValidMove sprawdza, czy ruch jest prawidłowy.
@@ -377,42 +654,221 @@ public class Board {
  * @return true, jeśli ruch jest prawidłowy, w przeciwnym razie false.
  */
     public boolean isValidMove(int startX, int startY, int endX, int endY, int playerId) {
-        if (!isWithinBoard(startX, startY) || !isWithinBoard(endX, endY)) {
+        int start = BoardGeometry.cellIndex(startX, startY);
+        int end = BoardGeometry.cellIndex(endX, endY);
+        if (start < 0 || end < 0) {
             return false;   
         }
 
-        if (!hasPiece(startX, startY)) {
+        if (!isOccupied(start)) {
             return false;
         }
 
-        if (!isEmpty(endX, endY)) {
+        if (isOccupied(end)) {
             return false;
-           
         }
-        if ("Order Out Of Chaos".equals(variant)) {
-            if (isInHomeBase(startX, startY, playerId) && !isInHomeBase(endX, endY, playerId)) {
-                return false;
-            }
-        } else if ("Rozgrywka klasyczna".equals(variant)) {
-            if (isInOpponentBase(startX, startY, playerId) && !isInOpponentBase(endX, endY, playerId)) {
-                return false;
-            }
+        if (!isExitAllowed(start, end, playerId)) {
+            return false;
         }
 
-        if (isAdjacentMove(startX, startY, endX, endY) || isJumpMove(startX, startY, endX, endY) || isValidMultiJump(startX, startY, endX, endY, playerId)) {
+        if (isAdjacentMove(startX, startY, endX, endY) || isSingleJump(start, end)) {
             return true;
-           
+        }
+        fillJumpReach(start);
+        return isInJumpReach(end);
+    }
+/**
+ * Metoda isSingleJump sprawdza w tablicach skoków, czy pole docelowe jest lądowaniem
+ * pojedynczego skoku nad zajętym polem, bez wyznaczania całego zbioru osiągalnych pól.
+ * @param start - indeks pola startowego
+ * @param end - indeks pola docelowego
+ * @return true, jeśli ruch jest pojedynczym skokiem, w przeciwnym razie false.
+ */
+    private boolean isSingleJump(int start, int end) {
+        for (int d = 0; d < BoardGeometry.DIRECTIONS; d++) {
+            if (BoardGeometry.jumpLanding(start, d) == end) {
+                return isOccupied(BoardGeometry.jumpOver(start, d));
+            }
         }
         return false;
     }
 /**
- * Metoda isWithinBoard sprawdza, czy dana pozycja jest na planszy.
+ * Metoda isOccupied sprawdza w masce zajętości, czy pole o danym indeksie jest zajęte.
+ * @param cell - indeks pola
+ * @return true, jeśli pole jest zajęte, w przeciwnym razie false.
+ */
+    private boolean isOccupied(int cell) {
+        return (pieceBits[cell >>> 6] & (1L << cell)) != 0;
+    }
+/**
+ * Metoda isPieceAt sprawdza bez synchronizacji, czy na danej pozycji stoi pionek.
+ * @param x - współrzędna x
+ * @param y - współrzędna y
+ * @return true, jeśli na pozycji stoi pionek, w przeciwnym razie false.
+ */
+    private boolean isPieceAt(int x, int y) {
+        int cell = BoardGeometry.cellIndex(x, y);
+        return cell >= 0 && isOccupied(cell);
+    }
+/**
+ * Metoda isEmptyAt sprawdza bez synchronizacji, czy dana pozycja jest pustym polem gry.
  * @param x - współrzędna x
  * @param y - współrzędna y
- * @return true, jeśli pozycja jest na planszy, w przeciwnym razie false.
+ * @return true, jeśli pozycja jest pusta, w przeciwnym razie false.
  */
-    private boolean isWithinBoard(int x, int y) {
-        return x >= 0 && x < ROWS && y >= 0 && y < COLUMNS && board[x][y] != 7;
+    private boolean isEmptyAt(int x, int y) {
+        int cell = BoardGeometry.cellIndex(x, y);
+        return cell >= 0 && !isOccupied(cell);
+    }
+/**
+ * Metoda setCell ustawia wartość pola i aktualizuje maski zajętości.
+ * @param cell - indeks pola
+ * @param playerId - numer gracza albo 0 dla pustego pola
+ */
+    private void setCell(int cell, int playerId) {
+        int x = BoardGeometry.row(cell);
+        int y = BoardGeometry.column(cell);
+        int word = cell >>> 6;
+        long bit = 1L << cell;
+        int previous = board[x][y];
+        if (previous >= 1 && previous <= MAX_PLAYERS) {
+            pieceBits[word] &= ~bit;
+            pieceBits[previous * WORDS + word] &= ~bit;
+            hash ^= Zobrist.piece(cell, previous);
+            if (BoardGeometry.baseOf(cell) >= 0) {
+                baseCounts[previous * BoardGeometry.BASES + BoardGeometry.baseOf(cell)]--;
+            }
+            removeFromPieceList(previous, cell);
+            evaluation.remove(previous, cell);
+        }
+        board[x][y] = playerId;
+        if (playerId >= 1 && playerId <= MAX_PLAYERS) {
+            pieceBits[word] |= bit;
+            pieceBits[playerId * WORDS + word] |= bit;
+            hash ^= Zobrist.piece(cell, playerId);
+            if (BoardGeometry.baseOf(cell) >= 0) {
+                baseCounts[playerId * BoardGeometry.BASES + BoardGeometry.baseOf(cell)]++;
+            }
+            insertIntoPieceList(playerId, cell);
+            evaluation.add(playerId, cell);
+        }
+    }
+/**
+ * Metoda insertIntoPieceList wstawia pole do listy pionków gracza, zachowując rosnącą kolejność indeksów.
+ * @param playerId - numer gracza
+ * @param cell - indeks pola
+ */
+    private void insertIntoPieceList(int playerId, int cell) {
+        int offset = playerId * BoardGeometry.CELLS;
+        int i = pieceCounts[playerId]++;
+        while (i > 0 && pieceCells[offset + i - 1] > cell) {
+            pieceCells[offset + i] = pieceCells[offset + i - 1];
+            i--;
+        }
+        pieceCells[offset + i] = cell;
+    }
+/**
+ * Metoda removeFromPieceList usuwa pole z listy pionków gracza.
+ * @param playerId - numer gracza
+ * @param cell - indeks pola
+ */
+    private void removeFromPieceList(int playerId, int cell) {
+        int offset = playerId * BoardGeometry.CELLS;
+        int count = pieceCounts[playerId];
+        int i = 0;
+        while (pieceCells[offset + i] != cell) {
+            i++;
+        }
+        System.arraycopy(pieceCells, offset + i + 1, pieceCells, offset + i, count - i - 1);
+        pieceCounts[playerId] = count - 1;
+    }
+/**
+ * Metoda rebuildFromGrid odtwarza maski zajętości na podstawie tablicy planszy.
+ */
+    private void rebuildFromGrid() {
+        Arrays.fill(pieceBits, 0L);
+        Arrays.fill(baseCounts, 0);
+        Arrays.fill(pieceCounts, 0);
+        evaluation.clear();
+        hash = 0L;
+        for (int cell = 0; cell < BoardGeometry.CELLS; cell++) {
+            int playerId = board[BoardGeometry.row(cell)][BoardGeometry.column(cell)];
+            if (playerId >= 1 && playerId <= MAX_PLAYERS) {
+                long bit = 1L << cell;
+                pieceBits[cell >>> 6] |= bit;
+                pieceBits[playerId * WORDS + (cell >>> 6)] |= bit;
+                hash ^= Zobrist.piece(cell, playerId);
+                if (BoardGeometry.baseOf(cell) >= 0) {
+                    baseCounts[playerId * BoardGeometry.BASES + BoardGeometry.baseOf(cell)]++;
+                }
+                pieceCells[playerId * BoardGeometry.CELLS + pieceCounts[playerId]++] = cell;
+                evaluation.add(playerId, cell);
+            }
+        }
+    }
+/**
+ * Metoda cellValue zwraca wartość pola gry bez odświeżania masek.
+ * @param cell - indeks pola
+ * @return numer gracza albo 0 dla pustego pola
+ */
+    int cellValue(int cell) {
+        return board[BoardGeometry.row(cell)][BoardGeometry.column(cell)];
+    }
+/**
+ * Metoda loadCell ustawia wartość pola przy wczytywaniu stanu, aktualizując maski tylko przy zmianie.
+ * @param cell - indeks pola
+ * @param playerId - numer gracza albo 0 dla pustego pola
+ */
+    void loadCell(int cell, int playerId) {
+        if (cellValue(cell) != playerId) {
+            setCell(cell, playerId);
+        }
+    }
+/**
+ * Metoda finishLoad czyści stos cofania po wczytaniu nowego stanu planszy i publikuje nowy widok.
+ */
+    void finishLoad() {
+        undoSize = 0;
+        commit();
+    }
+/**
+ * Metoda enableSnapshots włącza publikowanie niezmiennych widoków planszy po każdej zatwierdzonej zmianie
+ * (movePiece, wczytanie stanu, różnica stanu, rozstawienie pionków). Ruchy makeMove/unmakeMove
+ * używane w przeszukiwaniu nie są publikowane.
+ */
+    public void enableSnapshots() {
+        publishing = true;
+        commit();
+    }
+/**
+ * Metoda commit publikuje nowy widok planszy, jeśli publikowanie jest włączone.
+ */
+    void commit() {
+        if (publishing) {
+            snapshot = new BoardSnapshot(++version, this);
+        }
+    }
+/**
+ * Metoda getSnapshot zwraca niezmienny widok planszy. Przy włączonym publikowaniu odczyt nie wymaga
+ * blokady i zwraca ostatnio zatwierdzoną pozycję; w przeciwnym razie widok jest tworzony z bieżącego stanu.
+ * @return widok planszy
+ */
+    public BoardSnapshot getSnapshot() {
+        BoardSnapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        return new BoardSnapshot(version, this);
+    }
+/**
+ * Metoda loadSnapshot wczytuje stan planszy z widoku, np. do prywatnej planszy bota.
+ * @param view - widok planszy
+ */
+    public void loadSnapshot(BoardSnapshot view) {
+        for (int cell = 0; cell < BoardGeometry.CELLS; cell++) {
+            loadCell(cell, view.getCell(cell));
+        }
+        finishLoad();
     }
 /**
  * Metoda isAdjacentMove sprawdza, czy ruch jest sąsiedni.
@@ -427,31 +883,13 @@ public class Board {
         int dy = Math.abs(startY - endY);
         return (dx == 1 && dy == 0) || (dx == 0 && dy == 1) || (dx == 1 && dy == 1);
     }
-/**
- * Metoda isJumpMove sprawdza, czy ruch jest skokiem.
- * @param startX - współrzędna x początku ruchu
- * @param startY - współrzędna y początku ruchu
- * @param endX - współrzędna x końca ruchu
- * @param endY - współrzędna y końca ruchu
- * @return true, jeśli ruch jest skokiem, w przeciwnym razie false.
- */
-    private boolean isJumpMove(int startX, int startY, int endX, int endY) {
-        int midX = (startX + endX) / 2;
-        int midY = (startY + endY) / 2;
-        return hasPiece(midX, midY) && isAdjacentMove(startX, startY, midX, midY) && isAdjacentMove(midX, midY, endX, endY);
-    }
 /**
  * Metoda update aktualizuje planszę.
+ * Przyjmuje zwarty zapis BoardCodec albo dawny zapis CSV.
  * @param gameState - stan gry/planszy
  */
     public void update(String gameState) {
-        String[] rows = gameState.split(";");
-        for (int i = 0; i < rows.length; i++) {
-            String[] cells = rows[i].split(",");
-            for (int j = 0; j < cells.length; j++) {
-                board[i][j] = Integer.parseInt(cells[j]);
-            }
-        }
+        BoardCodec.decodeState(gameState, this);
     }
 /**
  * Metoda isPlayerInOpponentBase sprawdza, czy gracz jest w bazie przeciwnika.
@@ -459,52 +897,69 @@ public class Board {
  * @return true, jeśli gracz jest w bazie przeciwnika, w przeciwnym razie false.
  */
     public boolean isPlayerInOpponentBase(int playerId) {
-        int opponentBaseIndex = opponentBaseMapping[playerId - 1];
-        Set<int[]> opponentBase = playerBases.get(opponentBaseIndex);
-
-        for (int[] pos : opponentBase) {
-            if (board[pos[0]][pos[1]] != playerId) {
-                return false;
-            }
-        }
-        return true;
+        return getPiecesInOpponentBase(playerId) == BoardGeometry.BASE_SIZE;
     }
 /**
- * toString zwraca stan planszy w postaci tekstowej.
+ * toString zwraca stan planszy w postaci tekstowej (dawny zapis CSV).
  */
     @Override
     public String toString() {
-        StringBuilder sb = new StringBuilder();
-        for (int[] row : board) {
-            for (int cell : row) {
-                sb.append(cell).append(",");
-            }
-            sb.deleteCharAt(sb.length() - 1); 
-            sb.append(";");
-        }
-        sb.deleteCharAt(sb.length() - 1); 
-        return sb.toString();
+        return BoardCodec.formatLegacy(this);
+    }
+/**
+ * Metoda toCompactString zwraca stan planszy w zwartym zapisie BoardCodec.
+ * @return zwarty zapis planszy
+ */
+    public String toCompactString() {
+        return BoardCodec.toCompactString(this);
     }
 
     /**
      * Metoda loadState wczytuje stan planszy.
+     * Przyjmuje zwarty zapis BoardCodec albo dawny zapis CSV.
      * @param state - stan planszy
      */
     public void loadState(String state) {
-        String[] rows = state.split(";");
-        for (int i = 0; i < rows.length; i++) {
-            String[] cells = rows[i].split(",");
-            for (int j = 0; j < cells.length; j++) {
-                board[i][j] = Integer.parseInt(cells[j]);
-            }
-        }
+        BoardCodec.decodeState(state, this);
     }
 /**
- * Metoda getBoard zwraca planszę.
- * @return board - plansza
+ * Metoda getBoard zwraca kopię tablicy planszy (7 oznacza pole spoza planszy).
+ * Zmiany w kopii nie wpływają na planszę; do ustawiania pól służy setCell.
+ * @return board - kopia planszy
  */
     public int[][] getBoard() {
-        return board;
+        int[][] copy = new int[board.length][];
+        for (int i = 0; i < board.length; i++) {
+            copy[i] = board[i].clone();
+        }
+        return copy;
+    }
+/**
+ * Metoda setCell ustawia wartość pola, aktualizując maski, hasz i listy pionków, jak przy wczytaniu stanu
+ * (stos cofania jest czyszczony, a przy włączonym publikowaniu powstaje nowy widok).
+ * @param x - współrzędna x
+ * @param y - współrzędna y
+ * @param playerId - numer gracza albo 0 dla pustego pola
+ * @throws IllegalArgumentException Jeśli pole nie należy do planszy albo numer gracza jest nieprawidłowy.
+ */
+    public void setCell(int x, int y, int playerId) {
+        int cell = BoardGeometry.cellIndex(x, y);
+        if (cell < 0) {
+            throw new IllegalArgumentException("Pole spoza planszy: " + x + "," + y);
+        }
+        if (playerId < 0 || playerId > MAX_PLAYERS) {
+            throw new IllegalArgumentException("Nieprawidłowy numer gracza: " + playerId);
+        }
+        loadCell(cell, playerId);
+        finishLoad();
+    }
+/**
+ * Metoda getHash zwraca 64-bitowy hasz Zobrista bieżącej pozycji (samego rozmieszczenia pionków).
+ * Hasz jest aktualizowany przyrostowo przy każdej zmianie pola.
+ * @return hasz pozycji
+ */
+    public long getHash() {
+        return hash;
     }
 /**
  * Metoda getPlayerBases zwraca bazy graczy.
@@ -520,6 +975,20 @@ public class Board {
     public void setVariant(String variant) {
         this.variant = variant;
     }
+/**
+ * Metoda getVariant zwraca wariant gry.
+ * @return wariant gry
+ */
+    public String getVariant() {
+        return variant;
+    }
+/**
+ * Metoda getPlayerCount zwraca liczbę graczy ustaloną przez initializeOpponentBaseMapping.
+ * @return liczba graczy albo 0, jeśli mapowanie baz nie zostało zainicjalizowane
+ */
+    public int getPlayerCount() {
+        return opponentBaseMapping == null ? 0 : opponentBaseMapping.length;
+    }
 
       /**
      * Metoda getPlayerPieces zwraca listę pionków gracza.
@@ -527,16 +996,32 @@ public class Board {
      * @return lista pionków gracza
      */
     public List<int[]> getPlayerPieces(int playerId) {
-        List<int[]> pieces = new ArrayList<>();
-        for (int i = 0; i < ROWS; i++) {
-            for (int j = 0; j < COLUMNS; j++) {
-                if (board[i][j] == playerId) {
-                    pieces.add(new int[]{i, j});
-                }
-            }
+        List<int[]> pieces = new ArrayList<>(pieceCounts[playerId]);
+        int offset = playerId * BoardGeometry.CELLS;
+        for (int i = 0; i < pieceCounts[playerId]; i++) {
+            int cell = pieceCells[offset + i];
+            pieces.add(new int[]{BoardGeometry.row(cell), BoardGeometry.column(cell)});
         }
         return pieces;
     }
+    /**
+     * Metoda getPieceCount zwraca liczbę pionków gracza.
+     * @param playerId - numer gracza
+     * @return liczba pionków
+     */
+    public int getPieceCount(int playerId) {
+        return pieceCounts[playerId];
+    }
+    /**
+     * Metoda getPieceCell zwraca indeks pola i-tego pionka gracza bez kopiowania listy.
+     * Pionki są uporządkowane rosnąco według indeksu pola (kolejność wierszy planszy).
+     * @param playerId - numer gracza
+     * @param i - numer pionka (0..getPieceCount-1)
+     * @return indeks pola pionka
+     */
+    public int getPieceCell(int playerId, int i) {
+        return pieceCells[playerId * BoardGeometry.CELLS + i];
+    }
     /**
      * Metoda getPossibleMoves zwraca możliwe ruchy dla pionka.
      * @param startX - współrzędna x początku ruchu
@@ -545,19 +1030,34 @@ public class Board {
      */
     public List<int[]> getPossibleMoves(int startX, int startY) {
         List<int[]> moves = new ArrayList<>();
-        int[][] directions = {
-            {-1, 0}, {1, 0}, {0, -1}, {0, 1}, {-1, -1}, {1, 1}, {-1, 1}, {1, -1}
-        };
-
-        for (int[] dir : directions) {
-            int endX = startX + dir[0];
-            int endY = startY + dir[1];
-            if (isWithinBoard(endX, endY) && isEmpty(endX, endY)) {
-                moves.add(new int[]{endX, endY});
+        int cell = BoardGeometry.cellIndex(startX, startY);
+        if (cell < 0) {
+            return moves;
+        }
+        for (int d = 0; d < BoardGeometry.DIRECTIONS; d++) {
+            int neighbour = BoardGeometry.neighbour(cell, d);
+            if (neighbour >= 0 && !isOccupied(neighbour)) {
+                moves.add(new int[]{BoardGeometry.row(neighbour), BoardGeometry.column(neighbour)});
             }
         }
 
-        moves.addAll(getPossibleJumps(startX, startY, board[startX][startY]));
+        moves.addAll(collectJumps(startX, startY));
         return moves;
     }
-}
\ No newline at end of file
+    /**
+     * Metoda getPossibleMoves zapisuje do bufora indeksy pól osiągalnych krokiem lub pojedynczym skokiem.
+     * @param cell - indeks pola startowego
+     * @param targets - bufor na wynik, co najmniej 2 * BoardGeometry.DIRECTIONS elementów
+     * @return liczba zapisanych pól
+     */
+    public int getPossibleMoves(int cell, int[] targets) {
+        int count = 0;
+        for (int d = 0; d < BoardGeometry.DIRECTIONS; d++) {
+            int neighbour = BoardGeometry.neighbour(cell, d);
+            if (neighbour >= 0 && !isOccupied(neighbour)) {
+                targets[count++] = neighbour;
+            }
+        }
+        return appendJumps(cell, targets, count);
+    }
+}
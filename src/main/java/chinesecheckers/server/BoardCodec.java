@@ -0,0 +1,230 @@
+package chinesecheckers.server;
+
+import java.util.Arrays;
+/**
+ * Klasa BoardCodec koduje stan planszy w zwartym formacie binarnym: 121 pól po 3 bity
+ * (wartości 0..6) daje 46 bajtów. Format tekstowy tego samego zapisu (do protokołu
+ * i bazy danych) to znak '#' i 61 znaków, po jednym na parę pól.
+ * Kodowanie i dekodowanie nie tworzy obiektów poza wynikowym napisem.
+ * Dawny format CSV 17x25 pozostaje obsługiwany jako format zgodności.
+ */
+public final class BoardCodec {
+    /**
+     * Liczba bitów na pole.
+     */
+    public static final int BITS_PER_CELL = 3;
+    /**
+     * Liczba bajtów zakodowanej planszy.
+     */
+    public static final int ENCODED_BYTES = (BoardGeometry.CELLS * BITS_PER_CELL + 7) / 8;
+    /**
+     * Znak rozpoczynający zwarty zapis tekstowy planszy.
+     */
+    public static final char COMPACT_PREFIX = '#';
+    /**
+     * Długość zwartego zapisu tekstowego planszy (razem ze znakiem '#').
+     */
+    public static final int COMPACT_LENGTH = 1 + (BoardGeometry.CELLS + 1) / 2;
+
+    private static final char[] ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".toCharArray();
+    private static final int[] DECODE = new int[128];
+
+    static {
+        Arrays.fill(DECODE, -1);
+        for (int i = 0; i < ALPHABET.length; i++) {
+            DECODE[ALPHABET[i]] = i;
+        }
+    }
+
+    private BoardCodec() {
+    }
+/**
+ * Metoda encode zapisuje stan planszy do bufora wywołującego.
+ * @param board - plansza
+ * @param out - bufor wyjściowy
+ * @param offset - pozycja w buforze, od której zaczyna się zapis
+ * @return liczba zapisanych bajtów (ENCODED_BYTES)
+ */
+    public static int encode(Board board, byte[] out, int offset) {
+        int accumulator = 0;
+        int bits = 0;
+        int position = offset;
+        for (int cell = 0; cell < BoardGeometry.CELLS; cell++) {
+            accumulator |= board.cellValue(cell) << bits;
+            bits += BITS_PER_CELL;
+            if (bits >= 8) {
+                out[position++] = (byte) accumulator;
+                accumulator >>>= 8;
+                bits -= 8;
+            }
+        }
+        if (bits > 0) {
+            out[position++] = (byte) accumulator;
+        }
+        return position - offset;
+    }
+/**
+ * Metoda decode wczytuje stan planszy z bufora wywołującego.
+ * @param in - bufor wejściowy
+ * @param offset - pozycja w buforze, od której zaczyna się zapis
+ * @param board - plansza, do której wczytywany jest stan
+ * @throws IllegalArgumentException Jeśli bufor zawiera nieprawidłową wartość pola.
+ */
+    public static void decode(byte[] in, int offset, Board board) {
+        int accumulator = 0;
+        int bits = 0;
+        int position = offset;
+        for (int cell = 0; cell < BoardGeometry.CELLS; cell++) {
+            if (bits < BITS_PER_CELL) {
+                accumulator |= (in[position++] & 0xFF) << bits;
+                bits += 8;
+            }
+            board.loadCell(cell, checkValue(accumulator & 7));
+            accumulator >>>= BITS_PER_CELL;
+            bits -= BITS_PER_CELL;
+        }
+        board.finishLoad();
+    }
+/**
+ * Metoda toCompactString zwraca zwarty zapis tekstowy planszy.
+ * @param board - plansza
+ * @return zapis tekstowy zaczynający się od znaku '#'
+ */
+    public static String toCompactString(Board board) {
+        char[] chars = new char[COMPACT_LENGTH];
+        chars[0] = COMPACT_PREFIX;
+        for (int cell = 0; cell < BoardGeometry.CELLS; cell += 2) {
+            int high = cell + 1 < BoardGeometry.CELLS ? board.cellValue(cell + 1) : 0;
+            chars[1 + cell / 2] = ALPHABET[board.cellValue(cell) | (high << BITS_PER_CELL)];
+        }
+        return new String(chars);
+    }
+/**
+ * Metoda toCompactString zwraca zwarty zapis tekstowy planszy podanej jako wartości pól.
+ * @param cells - wartości 121 pól gry
+ * @return zapis tekstowy zaczynający się od znaku '#'
+ */
+    static String toCompactString(byte[] cells) {
+        char[] chars = new char[COMPACT_LENGTH];
+        chars[0] = COMPACT_PREFIX;
+        for (int cell = 0; cell < BoardGeometry.CELLS; cell += 2) {
+            int high = cell + 1 < BoardGeometry.CELLS ? cells[cell + 1] : 0;
+            chars[1 + cell / 2] = ALPHABET[cells[cell] | (high << BITS_PER_CELL)];
+        }
+        return new String(chars);
+    }
+/**
+ * Metoda isCompact sprawdza, czy tekst jest zwartym zapisem planszy.
+ * @param state - zapis stanu planszy
+ * @return true, jeśli zapis jest w formacie zwartym, w przeciwnym razie false.
+ */
+    public static boolean isCompact(CharSequence state) {
+        return state.length() > 0 && state.charAt(0) == COMPACT_PREFIX;
+    }
+/**
+ * Metoda decodeState wczytuje stan planszy w formacie zwartym albo w dawnym formacie CSV.
+ * @param state - zapis stanu planszy
+ * @param board - plansza, do której wczytywany jest stan
+ * @throws IllegalArgumentException Jeśli zapis jest nieprawidłowy.
+ */
+    public static void decodeState(CharSequence state, Board board) {
+        if (isCompact(state)) {
+            decodeCompact(state, board);
+        } else {
+            parseLegacy(state, board);
+        }
+    }
+/**
+ * Metoda decodeCompact wczytuje zwarty zapis tekstowy planszy.
+ * @param state - zapis zaczynający się od znaku '#'
+ * @param board - plansza, do której wczytywany jest stan
+ * @throws IllegalArgumentException Jeśli zapis jest nieprawidłowy.
+ */
+    public static void decodeCompact(CharSequence state, Board board) {
+        if (state.length() != COMPACT_LENGTH || state.charAt(0) != COMPACT_PREFIX) {
+            throw new IllegalArgumentException("Nieprawidłowy stan planszy.");
+        }
+        for (int cell = 0; cell < BoardGeometry.CELLS; cell += 2) {
+            char c = state.charAt(1 + cell / 2);
+            int pair = c < DECODE.length ? DECODE[c] : -1;
+            if (pair < 0) {
+                throw new IllegalArgumentException("Nieprawidłowy stan planszy.");
+            }
+            board.loadCell(cell, checkValue(pair & 7));
+            if (cell + 1 < BoardGeometry.CELLS) {
+                board.loadCell(cell + 1, checkValue(pair >>> BITS_PER_CELL));
+            }
+        }
+        board.finishLoad();
+    }
+/**
+ * Metoda formatLegacy zwraca stan planszy w dawnym formacie CSV (17 wierszy po 25 wartości).
+ * @param board - plansza
+ * @return zapis CSV planszy
+ */
+    public static String formatLegacy(Board board) {
+        StringBuilder sb = new StringBuilder(2 * BoardGeometry.ROWS * BoardGeometry.COLUMNS);
+        for (int i = 0; i < BoardGeometry.ROWS; i++) {
+            if (i > 0) {
+                sb.append(';');
+            }
+            for (int j = 0; j < BoardGeometry.COLUMNS; j++) {
+                if (j > 0) {
+                    sb.append(',');
+                }
+                int cell = BoardGeometry.cellIndex(i, j);
+                sb.append(cell < 0 ? 7 : board.cellValue(cell));
+            }
+        }
+        return sb.toString();
+    }
+/**
+ * Metoda parseLegacy wczytuje stan planszy w dawnym formacie CSV bez dzielenia tekstu na części.
+ * Wartości pól spoza planszy są pomijane.
+ * @param state - zapis CSV planszy
+ * @param board - plansza, do której wczytywany jest stan
+ * @throws IllegalArgumentException Jeśli zapis jest nieprawidłowy.
+ */
+    public static void parseLegacy(CharSequence state, Board board) {
+        int row = 0;
+        int column = 0;
+        int value = -1;
+        int length = state.length();
+        for (int i = 0; i <= length; i++) {
+            char c = i < length ? state.charAt(i) : ';';
+            if (c >= '0' && c <= '9') {
+                value = (value < 0 ? 0 : value * 10) + (c - '0');
+            } else if (c == ',' || c == ';') {
+                if (value < 0) {
+                    throw new IllegalArgumentException("Nieprawidłowy stan planszy.");
+                }
+                int cell = BoardGeometry.cellIndex(row, column);
+                if (cell >= 0) {
+                    board.loadCell(cell, checkValue(value));
+                }
+                value = -1;
+                if (c == ',') {
+                    column++;
+                } else {
+                    row++;
+                    column = 0;
+                }
+            } else if (!Character.isWhitespace(c)) {
+                throw new IllegalArgumentException("Nieprawidłowy stan planszy.");
+            }
+        }
+        board.finishLoad();
+    }
+/**
+ * Metoda checkValue sprawdza, czy wartość pola mieści się w zakresie 0..6.
+ * @param value - wartość pola
+ * @return wartość pola
+ * @throws IllegalArgumentException Jeśli wartość jest nieprawidłowa.
+ */
+    private static int checkValue(int value) {
+        if (value > 6) {
+            throw new IllegalArgumentException("Nieprawidłowa wartość pola planszy: " + value);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,219 @@
+package chinesecheckers.server;
+
+import java.util.Arrays;
+/**
+ * Klasa BoardGeometry opisuje stałą geometrię planszy do gry w chińskie warcaby.
+ * Każde ze 121 pól gry otrzymuje gęsty indeks (kolejność wierszami, tak jak w tablicy 17x25),
+ * dzięki czemu stan planszy można trzymać w maskach bitowych zamiast w tablicy z wartownikami.
+ * Tablice są budowane raz przy ładowaniu klasy i współdzielone przez wszystkie plansze.
+ */
+public final class BoardGeometry {
+    /**
+     * Liczba wierszy tablicy planszy.
+     */
+    public static final int ROWS = 17;
+    /**
+     * Liczba kolumn tablicy planszy.
+     */
+    public static final int COLUMNS = 25;
+    /**
+     * Liczba pól gry.
+     */
+    public static final int CELLS = 121;
+    /**
+     * Liczba słów long potrzebnych do zapisania maski wszystkich pól.
+     */
+    public static final int WORDS = 2;
+    /**
+     * Liczba kierunków ruchu. Zasady gry dopuszczają ruchy po przekątnych tablicy 17x25,
+     * w tej samej kolejności, w jakiej sprawdzała je wcześniej klasa Board.
+     */
+    public static final int DIRECTIONS = 4;
+
+    private static final int[][] DIRECTION_OFFSETS = {
+        {-1, -1}, {1, 1}, {-1, 1}, {1, -1}
+    };
+
+    /**
+     * Liczba baz (narożników gwiazdy).
+     */
+    public static final int BASES = 6;
+    /**
+     * Liczba pól w każdej bazie.
+     */
+    public static final int BASE_SIZE = 10;
+
+    private static final int[][][] BASE_POSITIONS = {
+        {{0, 12}, {1, 11}, {1, 13}, {2, 10}, {2, 12}, {2, 14}, {3, 9}, {3, 11}, {3, 13}, {3, 15}},
+        {{16, 12}, {15, 11}, {15, 13}, {14, 10}, {14, 12}, {14, 14}, {13, 9}, {13, 11}, {13, 13}, {13, 15}},
+        {{12, 0}, {11, 1}, {12, 2}, {10, 2}, {11, 3}, {12, 4}, {9, 3}, {10, 4}, {11, 5}, {12, 6}},
+        {{12, 24}, {11, 23}, {12, 22}, {10, 22}, {9, 21}, {11, 21}, {10, 20}, {12, 20}, {11, 19}, {12, 18}},
+        {{4, 0}, {5, 1}, {4, 2}, {6, 2}, {5, 3}, {4, 4}, {5, 5}, {6, 4}, {7, 3}, {4, 6}},
+        {{4, 24}, {5, 23}, {4, 22}, {6, 22}, {5, 21}, {7, 21}, {4, 20}, {6, 20}, {4, 18}, {5, 19}}
+    };
+
+    private static final int[][] LAYOUT = {
+        {7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 0, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7},
+        {7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 0, 7, 0, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7},
+        {7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 0, 7, 0, 7, 0, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7},
+        {7, 7, 7, 7, 7, 7, 7, 7, 7, 0, 7, 0, 7, 0, 7, 0, 7, 7, 7, 7, 7, 7, 7, 7, 7},
+        {0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0},
+        {7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7},
+        {7, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 7},
+        {7, 7, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 7, 7},
+        {7, 7, 7, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 7, 7, 7},
+        {7, 7, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 7, 7},
+        {7, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 7},
+        {7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7},
+        {0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0, 7, 0},
+        {7, 7, 7, 7, 7, 7, 7, 7, 7, 0, 7, 0, 7, 0, 7, 0, 7, 7, 7, 7, 7, 7, 7, 7, 7},
+        {7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 0, 7, 0, 7, 0, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7},
+        {7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 0, 7, 0, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7},
+        {7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 0, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7}
+    };
+
+    private static final int[] CELL_INDEX = new int[ROWS * COLUMNS];
+    private static final int[] ROW = new int[CELLS];
+    private static final int[] COLUMN = new int[CELLS];
+    private static final int[] NEIGHBOUR = new int[CELLS * DIRECTIONS];
+    private static final int[] JUMP_OVER = new int[CELLS * DIRECTIONS];
+    private static final int[] JUMP_LANDING = new int[CELLS * DIRECTIONS];
+    private static final int[] BASE_OF = new int[CELLS];
+    private static final int[] BASE_CELLS = new int[BASES * BASE_SIZE];
+
+    static {
+        int index = 0;
+        for (int i = 0; i < ROWS; i++) {
+            for (int j = 0; j < COLUMNS; j++) {
+                if (LAYOUT[i][j] == 0) {
+                    CELL_INDEX[i * COLUMNS + j] = index;
+                    ROW[index] = i;
+                    COLUMN[index] = j;
+                    index++;
+                } else {
+                    CELL_INDEX[i * COLUMNS + j] = -1;
+                }
+            }
+        }
+        if (index != CELLS) {
+            throw new IllegalStateException("Nieprawidłowa liczba pól planszy: " + index);
+        }
+        for (int cell = 0; cell < CELLS; cell++) {
+            for (int d = 0; d < DIRECTIONS; d++) {
+                int dx = DIRECTION_OFFSETS[d][0];
+                int dy = DIRECTION_OFFSETS[d][1];
+                int neighbour = cellIndex(ROW[cell] + dx, COLUMN[cell] + dy);
+                int landing = cellIndex(ROW[cell] + 2 * dx, COLUMN[cell] + 2 * dy);
+                NEIGHBOUR[cell * DIRECTIONS + d] = neighbour;
+                JUMP_OVER[cell * DIRECTIONS + d] = neighbour >= 0 && landing >= 0 ? neighbour : -1;
+                JUMP_LANDING[cell * DIRECTIONS + d] = neighbour >= 0 ? landing : -1;
+            }
+        }
+        Arrays.fill(BASE_OF, -1);
+        for (int base = 0; base < BASES; base++) {
+            for (int i = 0; i < BASE_SIZE; i++) {
+                int cell = cellIndex(BASE_POSITIONS[base][i][0], BASE_POSITIONS[base][i][1]);
+                BASE_OF[cell] = base;
+                BASE_CELLS[base * BASE_SIZE + i] = cell;
+            }
+        }
+    }
+
+    private BoardGeometry() {
+    }
+/**
+ * Metoda newLayout zwraca nową tablicę 17x25 z pustymi polami gry (0) i polami spoza planszy (7).
+ * @return nowa tablica planszy
+ */
+    public static int[][] newLayout() {
+        int[][] layout = new int[ROWS][];
+        for (int i = 0; i < ROWS; i++) {
+            layout[i] = LAYOUT[i].clone();
+        }
+        return layout;
+    }
+/**
+ * Metoda cellIndex zwraca indeks pola gry.
+ * @param x - współrzędna x (wiersz)
+ * @param y - współrzędna y (kolumna)
+ * @return indeks pola albo -1, jeśli pozycja nie jest polem gry
+ */
+    public static int cellIndex(int x, int y) {
+        if (x < 0 || x >= ROWS || y < 0 || y >= COLUMNS) {
+            return -1;
+        }
+        return CELL_INDEX[x * COLUMNS + y];
+    }
+/**
+ * Metoda row zwraca wiersz pola o danym indeksie.
+ * @param cell - indeks pola
+ * @return wiersz pola
+ */
+    public static int row(int cell) {
+        return ROW[cell];
+    }
+/**
+ * Metoda column zwraca kolumnę pola o danym indeksie.
+ * @param cell - indeks pola
+ * @return kolumna pola
+ */
+    public static int column(int cell) {
+        return COLUMN[cell];
+    }
+/**
+ * Metoda neighbour zwraca sąsiada pola w danym kierunku.
+ * @param cell - indeks pola
+ * @param direction - numer kierunku (0..DIRECTIONS-1)
+ * @return indeks sąsiada albo -1, jeśli w tym kierunku nie ma pola gry
+ */
+    public static int neighbour(int cell, int direction) {
+        return NEIGHBOUR[cell * DIRECTIONS + direction];
+    }
+/**
+ * Metoda jumpOver zwraca pole przeskakiwane przy skoku w danym kierunku.
+ * @param cell - indeks pola
+ * @param direction - numer kierunku (0..DIRECTIONS-1)
+ * @return indeks przeskakiwanego pola albo -1, jeśli skok w tym kierunku nie mieści się na planszy
+ */
+    public static int jumpOver(int cell, int direction) {
+        return JUMP_OVER[cell * DIRECTIONS + direction];
+    }
+/**
+ * Metoda jumpLanding zwraca pole lądowania przy skoku w danym kierunku.
+ * @param cell - indeks pola
+ * @param direction - numer kierunku (0..DIRECTIONS-1)
+ * @return indeks pola lądowania albo -1, jeśli skok w tym kierunku nie mieści się na planszy
+ */
+    public static int jumpLanding(int cell, int direction) {
+        return JUMP_LANDING[cell * DIRECTIONS + direction];
+    }
+/**
+ * Metoda baseOf zwraca bazę, do której należy pole.
+ * @param cell - indeks pola
+ * @return indeks bazy (0..5) albo -1, jeśli pole nie należy do żadnej bazy
+ */
+    public static int baseOf(int cell) {
+        return BASE_OF[cell];
+    }
+/**
+ * Metoda baseCell zwraca i-te pole bazy, w stałej kolejności wypełniania bazy.
+ * @param base - indeks bazy
+ * @param i - numer pola w bazie (0..BASE_SIZE-1)
+ * @return indeks pola
+ */
+    public static int baseCell(int base, int i) {
+        return BASE_CELLS[base * BASE_SIZE + i];
+    }
+/**
+ * Metoda basePositions zwraca kopię współrzędnych pól bazy.
+ * @param base - indeks bazy
+ * @return współrzędne pól bazy
+ */
+    public static int[][] basePositions(int base) {
+        int[][] positions = new int[BASE_SIZE][];
+        for (int i = 0; i < BASE_SIZE; i++) {
+            positions[i] = BASE_POSITIONS[base][i].clone();
+        }
+        return positions;
+    }
+}
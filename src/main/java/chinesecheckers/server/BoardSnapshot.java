@@ -0,0 +1,70 @@
+package chinesecheckers.server;
+/**
+ * Klasa BoardSnapshot jest niezmiennym, wersjonowanym widokiem planszy.
+ * Plansza z włączonym publikowaniem (Board.enableSnapshots) tworzy nowy widok po każdej zatwierdzonej
+ * zmianie i udostępnia go przez jedną referencję volatile, więc wątki czytające (rozsyłanie stanu,
+ * rysowanie, boty, zapis do bazy) widzą spójną pozycję bez blokowania pętli tur.
+ */
+public final class BoardSnapshot {
+    private final long version;
+    private final long hash;
+    private final byte[] cells;
+    private String compact;
+/**
+ * Konstruktor klasy BoardSnapshot kopiuje bieżący stan planszy.
+ * @param version - numer wersji
+ * @param board - plansza źródłowa
+ */
+    BoardSnapshot(long version, Board board) {
+        this.version = version;
+        this.hash = board.getHash();
+        this.cells = new byte[BoardGeometry.CELLS];
+        for (int cell = 0; cell < BoardGeometry.CELLS; cell++) {
+            cells[cell] = (byte) board.cellValue(cell);
+        }
+    }
+/**
+ * Metoda getVersion zwraca numer wersji widoku. Każda zatwierdzona zmiana planszy zwiększa go o jeden.
+ * @return numer wersji
+ */
+    public long getVersion() {
+        return version;
+    }
+/**
+ * Metoda getHash zwraca hasz Zobrista pozycji.
+ * @return hasz pozycji
+ */
+    public long getHash() {
+        return hash;
+    }
+/**
+ * Metoda getCell zwraca wartość pola gry.
+ * @param cell - indeks pola
+ * @return numer gracza albo 0 dla pustego pola
+ */
+    public int getCell(int cell) {
+        return cells[cell];
+    }
+/**
+ * Metoda getCell zwraca wartość pola tablicy 17x25.
+ * @param x - współrzędna x (wiersz)
+ * @param y - współrzędna y (kolumna)
+ * @return numer gracza, 0 dla pustego pola albo 7 dla pozycji spoza planszy
+ */
+    public int getCell(int x, int y) {
+        int cell = BoardGeometry.cellIndex(x, y);
+        return cell < 0 ? 7 : cells[cell];
+    }
+/**
+ * Metoda toCompactString zwraca widok w zwartym zapisie BoardCodec. Zapis jest liczony raz.
+ * @return zwarty zapis planszy
+ */
+    public String toCompactString() {
+        String result = compact;
+        if (result == null) {
+            result = BoardCodec.toCompactString(cells);
+            compact = result;
+        }
+        return result;
+    }
+}
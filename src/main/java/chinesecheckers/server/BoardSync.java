@@ -0,0 +1,184 @@
+package chinesecheckers.server;
+/**
+ * Klasa BoardSync utrzymuje kopię planszy po stronie odbiorcy (klienta albo bota) zgodną ze stanem serwera.
+ * Po każdym przyjętym ruchu serwer wysyła tylko różnicę ("Ruch planszy:"): numer kolejny, gracza,
+ * pole początkowe, pole końcowe i hasz planszy po ruchu. Pełny stan ("Stan planszy:") jest wysyłany
+ * przy dołączeniu, po odrzuconym ruchu i co SNAPSHOT_INTERVAL ruchów po różnicy jako okresowa kontrola;
+ * kontrola zgodna z planszą odbiorcy nie zmienia numeru kolejnego ani gracza ostatniego ruchu.
+ * Odbiorca, który wykryje niezgodność haszu albo lukę w numeracji, ignoruje różnice aż do pełnego stanu.
+ */
+public class BoardSync {
+    /**
+     * Prefiks wiadomości z pełnym stanem planszy.
+     */
+    public static final String SNAPSHOT_PREFIX = "Stan planszy:";
+    /**
+     * Prefiks wiadomości z różnicą stanu planszy.
+     */
+    public static final String DELTA_PREFIX = "Ruch planszy:";
+    /**
+     * Co ile ruchów serwer wysyła po różnicy także pełny stan planszy.
+     */
+    public static final int SNAPSHOT_INTERVAL = 20;
+
+    private static final int FIELDS = 6;
+
+    private final Board board;
+    private final long[] fields = new long[FIELDS];
+    private long sequence = -1;
+    private int lastPlayerId;
+    private boolean inSync;
+/**
+ * Konstruktor klasy BoardSync.
+ * @param board - plansza odbiorcy aktualizowana w miejscu
+ */
+    public BoardSync(Board board) {
+        this.board = board;
+    }
+/**
+ * Metoda formatDelta tworzy wiadomość z różnicą stanu planszy.
+ * @param sequence - numer kolejny ruchu
+ * @param playerId - numer gracza
+ * @param startX - współrzędna x początku ruchu
+ * @param startY - współrzędna y początku ruchu
+ * @param endX - współrzędna x końca ruchu
+ * @param endY - współrzędna y końca ruchu
+ * @param hash - hasz planszy po ruchu
+ * @return wiadomość "Ruch planszy:sekwencja:gracz:x,y:x,y:hasz"
+ */
+    public static String formatDelta(long sequence, int playerId, int startX, int startY, int endX, int endY, long hash) {
+        return DELTA_PREFIX + sequence + ":" + playerId + ":" + startX + "," + startY + ":" + endX + "," + endY
+                + ":" + Long.toHexString(hash);
+    }
+/**
+ * Metoda applySnapshot wczytuje pełny stan planszy i przywraca synchronizację.
+ * Jeśli zsynchronizowana plansza odbiorcy już miała ten stan (okresowa kontrola), numer kolejny
+ * i gracz ostatniego ruchu są zachowywane.
+ * @param state - stan planszy (zwarty zapis albo CSV)
+ * @return true, jeśli stan planszy się zmienił albo synchronizacja została przywrócona,
+ * false, jeśli stan tylko potwierdził planszę odbiorcy
+ */
+    public boolean applySnapshot(String state) {
+        long before = board.getHash();
+        board.update(state);
+        if (inSync && board.getHash() == before) {
+            return false;
+        }
+        sequence = -1;
+        lastPlayerId = 0;
+        inSync = true;
+        return true;
+    }
+/**
+ * Metoda applyDelta stosuje różnicę stanu planszy w miejscu.
+ * Ruch, który odbiorca już wykonał lokalnie (np. własny ruch klienta), jest rozpoznawany po haszu.
+ * @param delta - treść wiadomości bez prefiksu
+ * @return true, jeśli plansza jest zgodna ze stanem serwera, w przeciwnym razie false.
+ */
+    public boolean applyDelta(String delta) {
+        if (!inSync) {
+            return false;
+        }
+        if (!parse(delta)) {
+            inSync = false;
+            return false;
+        }
+        int from = BoardGeometry.cellIndex((int) fields[2], (int) fields[3]);
+        int to = BoardGeometry.cellIndex((int) fields[4], (int) fields[5]);
+        if (from < 0 || to < 0) {
+            inSync = false;
+            return false;
+        }
+        return applyMove(fields[0], (int) fields[1], PackedMove.of(from, to), parseHash(delta));
+    }
+/**
+ * Metoda applyMove stosuje w miejscu przyjęty ruch przekazany bez zapisu tekstowego (GameEvent).
+ * Ruch, który odbiorca już wykonał lokalnie, jest rozpoznawany po haszu.
+ * @param next - numer kolejny ruchu
+ * @param playerId - numer gracza
+ * @param move - ruch zakodowany przez PackedMove
+ * @param hash - hasz planszy po ruchu
+ * @return true, jeśli plansza jest zgodna ze stanem serwera, w przeciwnym razie false.
+ */
+    public boolean applyMove(long next, int playerId, int move, long hash) {
+        if (!inSync) {
+            return false;
+        }
+        if (sequence >= 0 && next != sequence + 1) {
+            inSync = false;
+            return false;
+        }
+        if (board.getHash() != hash) {
+            int from = PackedMove.from(move);
+            int to = PackedMove.to(move);
+            if (board.cellValue(from) != playerId || board.cellValue(to) != 0) {
+                inSync = false;
+                return false;
+            }
+            board.loadCell(from, 0);
+            board.loadCell(to, playerId);
+            board.commit();
+            if (board.getHash() != hash) {
+                inSync = false;
+                return false;
+            }
+        }
+        sequence = next;
+        lastPlayerId = playerId;
+        return true;
+    }
+/**
+ * Metoda isInSync sprawdza, czy plansza odbiorcy jest zgodna ze stanem serwera.
+ * @return true, jeśli plansza jest zsynchronizowana, w przeciwnym razie false.
+ */
+    public boolean isInSync() {
+        return inSync;
+    }
+/**
+ * Metoda getSequence zwraca numer ostatniej zastosowanej różnicy.
+ * @return numer kolejny albo -1, jeśli od ostatniego pełnego stanu nie było różnic
+ */
+    public long getSequence() {
+        return sequence;
+    }
+/**
+ * Metoda getLastPlayerId zwraca numer gracza, którego ruch opisywała ostatnia zastosowana różnica.
+ * @return numer gracza albo 0, jeśli od ostatniego pełnego stanu nie było różnic
+ */
+    public int getLastPlayerId() {
+        return lastPlayerId;
+    }
+/**
+ * Metoda parse odczytuje pola liczbowe różnicy (sekwencja, gracz, współrzędne) bez dzielenia tekstu.
+ * @param delta - treść wiadomości bez prefiksu
+ * @return true, jeśli odczytano wszystkie pola, w przeciwnym razie false.
+ */
+    private boolean parse(String delta) {
+        int field = 0;
+        long value = -1;
+        for (int i = 0; i < delta.length() && field < FIELDS; i++) {
+            char c = delta.charAt(i);
+            if (c >= '0' && c <= '9') {
+                value = (value < 0 ? 0 : value * 10) + (c - '0');
+            } else if ((c == ':' || c == ',') && value >= 0) {
+                fields[field++] = value;
+                value = -1;
+            } else {
+                return false;
+            }
+        }
+        return field == FIELDS;
+    }
+/**
+ * Metoda parseHash odczytuje hasz zapisany szesnastkowo po ostatnim dwukropku.
+ * @param delta - treść wiadomości bez prefiksu
+ * @return hasz planszy
+ */
+    private static long parseHash(String delta) {
+        long hash = 0L;
+        for (int i = delta.lastIndexOf(':') + 1; i < delta.length(); i++) {
+            hash = (hash << 4) | Character.digit(delta.charAt(i), 16);
+        }
+        return hash;
+    }
+}
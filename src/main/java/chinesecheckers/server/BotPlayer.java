@@ -1,31 +1,68 @@
 package chinesecheckers.server;
 
-import java.io.IOException;
-import java.net.Socket;
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
-
-public class BotPlayer extends ClientHandler {
+/**
+ * Klasa BotPlayer to gracz komputerowy zajmujący miejsce (Seat) w procesie serwera, bez gniazda.
+ * Wybiera ruchy przez BotStrategy na własnej kopii planszy synchronizowanej przez BoardSync ze zdarzeń gry.
+ * W trybie namysłu (setPondering) bot po każdym ruchu przewiduje ruchy przeciwników do swojej tury (strategią zachłanną)
+ * i w osobnym wątku wybiera odpowiedź na przewidzianą pozycję. Ruch przeciwnika inny niż przewidziany przerywa namysł,
+ * który zaczyna się od nowa od bieżącej pozycji. Jeśli w swojej turze bot ma na planszy pozycję, nad którą myśli,
+ * czeka na ten wynik zamiast zaczynać wybór ruchu od nowa. Przerwanie namysłu w obsłudze zdarzenia nie czeka na jego wątek;
+ * na zakończenie przerwanego wątku czeka dopiero kolejny namysł albo wybór ruchu strategią.
+ * Z ustawioną księgą otwarć (setOpeningBook) bot gra ruchy z księgi bez przeszukiwania, dopóki pozycja jest w księdze.
+ * W końcówce bez kontaktu z przeciwnikami ruch wybiera RaceSolver (najkrótszy wyścig do bazy docelowej),
+ * a strategia jest używana tylko wtedy, gdy rozwiązania nie znaleziono w limicie węzłów.
+ * Opóźnienie ruchu (PACING_MILLIS) liczy się od początku tury i obejmuje czas wyboru ruchu.
+ */
+public class BotPlayer implements Seat {
+    /**
+     * Najkrótszy czas od początku tury do zwrócenia ruchu przez getMove w milisekundach.
+     */
+    public static final long PACING_MILLIS = 500;
+    private final GreedyStrategy predictor = new GreedyStrategy();
+    private final RaceSolver raceSolver = new RaceSolver();
     private Board board;
+    private final BoardSync boardSync;
     private int playerId;
     private int maxPlayers;
     private String variant;
-    private int BotPiecesInEndZone;
+    private final BotStrategy strategy;
+    private int[] turnOrder;
+    private boolean pondering;
+    private Thread ponderThread;
+    private Thread stoppedThread;
+    private long ponderHash;
+    private final long[] ponderLine = new long[BoardGeometry.BASES];
+    private int ponderLength;
+    private int ponderStep;
+    private int ponderMove;
+    private int ponderHits;
+    private int ponderMisses;
+    private OpeningBook openingBook;
+    private boolean inBook;
 /**
  * Konstruktor klasy BotPlayer.
- * @param socket Socket klienta.
  * @param playerId Identyfikator gracza.
  * @param maxPlayers Maksymalna liczba graczy.
  * @param variant Wariant gry.
- * @throws IOException Wyjątek wejścia/wyjścia.
  */
-    public BotPlayer(Socket socket, int playerId, int maxPlayers, String variant) throws IOException {
-        super(socket, playerId, maxPlayers, variant, true);
+    public BotPlayer(int playerId, int maxPlayers, String variant) {
+        this(playerId, maxPlayers, variant, new GreedyStrategy());
+    }
+/**
+ * Konstruktor klasy BotPlayer z wybraną strategią.
+ * @param playerId Identyfikator gracza.
+ * @param maxPlayers Maksymalna liczba graczy.
+ * @param variant Wariant gry.
+ * @param strategy Strategia wyboru ruchu.
+ */
+    public BotPlayer(int playerId, int maxPlayers, String variant, BotStrategy strategy) {
+        this.strategy = strategy;
         this.board = new Board();
+        this.boardSync = new BoardSync(board);
         this.playerId = playerId;
         this.maxPlayers = maxPlayers;
         this.variant = variant;
+        board.setVariant(variant);
         initializeEnemyBase(maxPlayers);
     }
     /**
@@ -40,201 +77,355 @@ public class BotPlayer extends ClientHandler {
      * @return bestMove - Najlepszy ruch bota.
      */
     private int[] makeMove() {
-        List<int[]> pieces = board.getPlayerPieces(playerId);
-        int[] bestMove = null;
-        int minDistance = Integer.MAX_VALUE;
-        int maxDistance = Integer.MIN_VALUE;
-        if(variant.equals("Order Out Of Chaos")){
-            List<int[]> homeBasePositions = getFirstHomeBasePositions(BotPiecesInEndZone);
-            pieces.removeIf(piece -> isPieceInPositions(piece, homeBasePositions));
+        int move = bookMove();
+        if (move == PackedMove.NONE) {
+            move = raceSolver.solve(board, playerId);
+        }
+        if (move != PackedMove.NONE) {
+            stopPondering();
+        } else {
+            move = finishPondering() ? ponderMove : selectWithStrategy();
         }
-        else{
-            List<int[]> opponentBasePositions = getFirstOpponentBasePositions(BotPiecesInEndZone);
-            pieces.removeIf(piece -> isPieceInPositions(piece, opponentBasePositions));
+        if (move == PackedMove.NONE) {
+            return null;
         }
-        
-        for (int[] piece : pieces) {
-            List<int[]> destinations = getAllPossibleMoves(piece[0], piece[1]);
-            for (int[] destination : destinations) {
-                int dStart = calculateDistance(piece);
-                int dDest = calculateDistance(destination);
-                int destLength = dDest - dStart;
-                if (destLength < minDistance) {
-                    minDistance = destLength;
-                    bestMove = new int[]{piece[0], piece[1], destination[0], destination[1]};
-                    maxDistance = dStart;
-                } else if (destLength == minDistance && dStart > maxDistance) {
-                    bestMove = new int[]{piece[0], piece[1], destination[0], destination[1]};
-                    maxDistance = dStart;
-                }
+        int from = PackedMove.from(move);
+        int to = PackedMove.to(move);
+        return new int[]{BoardGeometry.row(from), BoardGeometry.column(from), BoardGeometry.row(to), BoardGeometry.column(to)};
+    }
+    /**
+     * Metoda getStrategy zwraca strategię wyboru ruchu bota.
+     * @return Strategia bota.
+     */
+    public BotStrategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Metoda isConnected zwraca informację o połączeniu bot zawsze true.
+     */
+    @Override
+    public boolean isConnected() {
+        return true;
+    }
+    /**
+     * Metoda isBot zwraca informację, czy gracz jest botem, zawsze true.
+     * @return true.
+     */
+    @Override
+    public boolean isBot() {
+        return true;
+    }
+    /**
+     * Metoda getPlayerId zwraca identyfikator gracza.
+     * @return Identyfikator gracza.
+     */
+    @Override
+    public int getPlayerId() {
+        return playerId;
+    }
+    /**
+     * Metoda requestMove zwraca ruch bota w jego turze (z opóźnieniem getMove).
+     * @return Ruch bota albo null, jeśli bot nie ma ruchu.
+     */
+    @Override
+    public String requestMove() {
+        return getMove();
+    }
+    /**
+     * Metoda close kończy namysł bota, czeka na zakończenie jego wątku i zamyka strategię.
+     */
+    @Override
+    public void close() {
+        stopPondering();
+        awaitStoppedThread();
+        strategy.close();
+    }
+    /**
+     * Metoda getMove zwraca ruch bota nie wcześniej niż PACING_MILLIS milisekund od wywołania.
+     * Czas wyboru ruchu wlicza się w opóźnienie, więc bot myślący dłużej nie czeka dodatkowo.
+     * @return Ruch bota.
+     */
+    public String getMove() {
+        long start = System.nanoTime();
+        String move = selectMove();
+        long remaining = PACING_MILLIS - (System.nanoTime() - start) / 1_000_000;
+        if (remaining > 0) {
+            try {
+                Thread.sleep(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
             }
-        }    
-        return bestMove;
+        }
+        return move;
     }
     /**
-     * Metoda getFirstOpponentBasePositions zwraca pierwsze n pozycje w OpponentBase.
-     * @param n Liczba pozycji.
-     * @return Lista pierwszych n pozycji w OpponentBase.
+     * Metoda selectMove wybiera ruch bota bez opóźnienia.
+     * @return Ruch bota w formacie "Ruch-x,y:x,y" albo null, jeśli bot nie ma ruchu.
      */
-    private List<int[]> getFirstOpponentBasePositions(int n) {
-        List<int[]> positions = new ArrayList<>();
-        Iterator<int[]> targetPositions = board.getOpponentBasePositions(playerId).iterator();
-        int count = 0;
-        while (targetPositions.hasNext() && count < n) {
-            positions.add(targetPositions.next());
-            count++;
+    public String selectMove() {
+        int[] bestMove = makeMove();
+        if (bestMove != null) {
+            return "Ruch-" + bestMove[0] + "," + bestMove[1] + ":" + bestMove[2] + "," + bestMove[3];
         }
-        return positions;
+        return null;
     }
     /**
-     * Metoda getFirstHomeBasePositions zwraca pierwsze n pozycje w HomeBase.
-     * @param n Liczba pozycji.
-     * @return Lista pierwszych n pozycji w HomeBase.
+     * Metoda updateBoard aktualizuje planszę. Okresowa kontrola zgodna z planszą bota nie przerywa namysłu.
+     * @param gameState Stan gry.
      */
-    private List<int[]> getFirstHomeBasePositions(int n) {
-        List<int[]> positions = new ArrayList<>();
-        Iterator<int[]> targetPositions = board.getHomeBasePositions(playerId).iterator();
-        int count = 0;
-        while (targetPositions.hasNext() && count < n) {
-            positions.add(targetPositions.next());
-            count++;
+    public void updateBoard(String gameState) {
+        if (boardSync.applySnapshot(gameState)) {
+            ponder(0);
         }
-        return positions;
     }
     /**
-     * Metoda isPieceInPositions sprawdza, czy pionek znajduje się na jednej z podanych pozycji.
-     * @param piece Pionek.
-     * @param positions Lista pozycji.
-     * @return true, jeśli pionek znajduje się na jednej z podanych pozycji, w przeciwnym razie false.
+     * Metoda updateBoardMove stosuje w miejscu przyjęty ruch ze zdarzenia gry.
+     * @param event Zdarzenie MOVE.
      */
-    private boolean isPieceInPositions(int[] piece, List<int[]> positions) {
-        for (int[] position : positions) {
-            if (position[0] == piece[0] && position[1] == piece[1]) {
-                return true;
-            }
+    public void updateBoardMove(GameEvent event) {
+        if (boardSync.applyMove(event.getSequence(), event.getPlayerId(), event.getMove(), event.getHash())) {
+            ponder(boardSync.getLastPlayerId());
+        } else {
+            stopPondering();
+        }
+    }
+    /**
+     * Metoda updateTurnOrder przekazuje strategii kolejność ruchów wysłaną przez serwer.
+     * @param turnOrder Numery graczy w kolejności ruchów.
+     */
+    public void updateTurnOrder(int[] turnOrder) {
+        this.turnOrder = turnOrder;
+        strategy.setTurnOrder(turnOrder);
+    }
+    /**
+     * Metoda setPondering włącza albo wyłącza namysł w czasie tur przeciwników.
+     * @param pondering true, aby bot myślał w tle w czasie tur przeciwników.
+     */
+    public void setPondering(boolean pondering) {
+        this.pondering = pondering;
+        if (!pondering) {
+            stopPondering();
         }
-        return false;
     }
     /**
-     * Metoda getAllPossibleMoves zwraca wszystkie możliwe ruchy.
-     * @param x Współrzędna x.
-     * @param y Współrzędna y.
-     * @return allMoves - Lista wszystkich możliwych ruchów.
+     * Metoda isPondering sprawdza, czy bot myśli w czasie tur przeciwników.
+     * @return true, jeśli namysł jest włączony.
+     */
+    public boolean isPondering() {
+        return pondering;
+    }
+    /**
+     * Metoda getPonderHits zwraca liczbę tur, w których bot użył wyniku namysłu.
+     * @return Liczba trafionych przewidywań.
+     */
+    public int getPonderHits() {
+        return ponderHits;
+    }
+    /**
+     * Metoda getPonderMisses zwraca liczbę przerwanych namysłów (przeciwnik zagrał inaczej, niż przewidział bot).
+     * @return Liczba nietrafionych przewidywań.
+     */
+    public int getPonderMisses() {
+        return ponderMisses;
+    }
+    /**
+     * Metoda setOpeningBook ustawia księgę otwarć, z której bot bierze ruchy na początku gry.
+     * @param openingBook Księga otwarć albo null, aby zawsze wybierać ruch strategią.
      */
-    private List<int[]> getAllPossibleMoves(int x, int y) {
-        List<int[]> allMoves = new ArrayList<>();
-        List<int[]> directMoves = board.getPossibleMoves(x, y);
-        for (int[] move : directMoves) {
-            if (board.isValidMove(x, y, move[0], move[1], playerId)) {
-                allMoves.add(move);
+    public void setOpeningBook(OpeningBook openingBook) {
+        this.openingBook = openingBook;
+        this.inBook = openingBook != null;
+    }
+    /**
+     * Metoda bookMove zwraca ruch z księgi otwarć dla bieżącej pozycji. Po pierwszej pozycji spoza księgi
+     * bot przestaje do niej zaglądać, bo gra już do niej nie wróci.
+     * @return Ruch zakodowany przez PackedMove albo PackedMove.NONE.
+     */
+    private int bookMove() {
+        if (!inBook) {
+            return PackedMove.NONE;
+        }
+        int move = openingBook.lookup(board, playerId);
+        if (move == PackedMove.NONE) {
+            inBook = false;
+        }
+        return move;
+    }
+    /**
+     * Metoda ponder obsługuje zmianę planszy w trybie namysłu. Jeśli ruch przeciwnika był przewidziany,
+     * trwający namysł jest kontynuowany; w przeciwnym razie jest przerywany i zaczyna się od nowa od bieżącej pozycji.
+     * @param lastPlayerId Numer gracza, który wykonał ostatni ruch, albo 0, jeśli nie jest znany.
+     */
+    private void ponder(int lastPlayerId) {
+        if (ponderThread != null) {
+            if (ponderStep < ponderLength && ponderLine[ponderStep] == board.getHash()) {
+                ponderStep++;
+                return;
             }
+            stopPondering();
+            ponderMisses++;
         }
-
-        for (int[] move : directMoves) {
-            List<int[]> jumpMoves = getJumpMovesRecursive(move, new ArrayList<>());
-            for (int[] jumpMove : jumpMoves) {
-                if (board.isValidMove(x, y, jumpMove[0], jumpMove[1], playerId)) {
-                    allMoves.add(jumpMove);
-                }
+        if (!pondering || lastPlayerId == 0 || !boardSync.isInSync()) {
+            return;
+        }
+        Board predicted = board.copy();
+        if (!predictOpponents(predicted, lastPlayerId) || RaceSolver.isRace(predicted, playerId)
+                || inBook && openingBook.lookup(predicted, playerId) != PackedMove.NONE) {
+            return;
+        }
+        ponderHash = predicted.getHash();
+        Thread previous = stoppedThread;
+        stoppedThread = null;
+        ponderThread = new Thread(() -> {
+            join(previous);
+            if (!Thread.currentThread().isInterrupted()) {
+                ponderMove = strategy.selectMove(predicted, playerId);
             }
+        }, "Namysł bota " + playerId);
+        ponderThread.setDaemon(true);
+        ponderThread.start();
+    }
+    /**
+     * Metoda predictOpponents wykonuje na planszy przewidywane ruchy przeciwników od gracza po lastPlayerId do tury bota
+     * i zapamiętuje hasze kolejnych przewidzianych pozycji.
+     * @param predicted Kopia planszy bota.
+     * @param lastPlayerId Numer gracza, który wykonał ostatni ruch.
+     * @return true, jeśli udało się ustalić kolejność ruchów.
+     */
+    private boolean predictOpponents(Board predicted, int lastPlayerId) {
+        int[] order = turnOrder;
+        if (order == null) {
+            order = new int[predicted.getPlayerCount()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i + 1;
+            }
+        }
+        int seat = indexOf(order, lastPlayerId);
+        if (seat < 0 || indexOf(order, playerId) < 0) {
+            return false;
         }
-        return allMoves;
-    }
-    /**
-     * Metoda getJumpMovesRecursive zwraca możliwe ruchy skoku.
-     * @param position Pozycja.
-     * @param visited Lista odwiedzonych.
-     * @return jumpMoves - Lista możliwych ruchów skoku.
-     */
-    private List<int[]> getJumpMovesRecursive(int[] position, List<int[]> visited) {
-        List<int[]> jumpMoves = new ArrayList<>();
-        List<int[]> possibleJumps = board.getPossibleJumps(position[0], position[1], playerId);
-    
-        for (int[] jump : possibleJumps) {
-            boolean alreadyVisited = false;
-            for (int[] visitedPos : visited) {
-                if (visitedPos[0] == jump[0] && visitedPos[1] == jump[1]) {
-                    alreadyVisited = true;
-                    break;
-                }
+        ponderLength = 0;
+        ponderStep = 0;
+        for (int i = 1; i < order.length; i++) {
+            int opponent = order[(seat + i) % order.length];
+            if (opponent == playerId) {
+                break;
+            }
+            if (Evaluation.hasFinished(predicted, opponent)) {
+                continue;
             }
-            if (!alreadyVisited) {
-                jumpMoves.add(jump);
-                visited.add(new int[]{jump[0], jump[1]});
-                jumpMoves.addAll(getJumpMovesRecursive(jump, visited));
+            int move = predictor.selectMove(predicted, opponent);
+            if (move != PackedMove.NONE) {
+                predicted.makeMove(move);
+                ponderLine[ponderLength++] = predicted.getHash();
             }
         }
-        return jumpMoves;
+        return true;
     }
     /**
-     * Metoda calculateDistance oblicza odległość.
-     * @param position Pozycja.
-     * @return Odległość.
+     * Metoda finishPondering kończy namysł przed wyborem ruchu.
+     * @return true, jeśli namysł dotyczył bieżącej pozycji, a jego wynik jest w ponderMove.
      */
-    private int calculateDistance(int[] position) {
-        int targetX=0;
-        int targetY=0;
-        Iterator<int[]> targetPositions;
-        if (variant.equals("Order Out Of Chaos")) {
-            targetPositions = board.getHomeBasePositions(playerId).iterator();
+    private boolean finishPondering() {
+        if (ponderThread == null) {
+            return false;
+        }
+        boolean hit = ponderHash == board.getHash();
+        if (hit) {
+            join(ponderThread);
+            ponderThread = null;
+            ponderHits++;
         } else {
-            targetPositions = board.getOpponentBasePositions(playerId).iterator();
+            stopPondering();
+            ponderMisses++;
         }
-        BotPiecesInEndZone= 0;
-        while (targetPositions.hasNext()) {
-            int[] targetPosition = targetPositions.next();
-            targetX = targetPosition[0];
-            targetY = targetPosition[1];
-            BotPiecesInEndZone++; 
-            if (!board.hasPlayerPiece(targetX, targetY,playerId)) {
-                break;
-            }
+        return hit;
+    }
+    /**
+     * Metoda stopPondering przerywa namysł bez czekania na jego wątek, więc obsługa zdarzeń gry nie blokuje tury.
+     * Przerwany wątek kończy się po najbliższym sprawdzeniu przerwania przez strategię; kolejny namysł albo wybór
+     * ruchu strategią czeka na niego, zanim jej użyje.
+     */
+    private void stopPondering() {
+        if (ponderThread != null) {
+            ponderThread.interrupt();
+            stoppedThread = ponderThread;
+            ponderThread = null;
         }
-        int dx = Math.abs(position[0] - targetX);
-        int dy = Math.abs(position[1] - targetY);
-        int dz = Math.abs(position[0] + position[1] - targetX - targetY);
-        int distance = dx + dy + dz;
-    
-        return distance;
     }
-
     /**
-     * Metoda isConnected zwraca informację o połączeniu bot zawsze true.
+     * Metoda selectWithStrategy wybiera ruch strategią po zakończeniu przerwanego namysłu.
+     * @return Ruch zakodowany przez PackedMove albo PackedMove.NONE.
      */
-    public boolean isConnected() {
-        return true;
+    private int selectWithStrategy() {
+        awaitStoppedThread();
+        return strategy.selectMove(board, playerId);
     }
     /**
-     * Metoda getMove zwraca ruch bota opozniony o 500 milisekund.
-     * @return Ruch bota.
+     * Metoda awaitStoppedThread czeka na zakończenie przerwanego wątku namysłu, aby strategia była wolna.
      */
-    public String getMove() {
-        try {
-            Thread.sleep(500);
-        } catch (InterruptedException e) {
-            e.printStackTrace();
+    private void awaitStoppedThread() {
+        if (stoppedThread != null) {
+            join(stoppedThread);
+            stoppedThread = null;
         }
-        int[] bestMove = makeMove();
-        if (bestMove != null) {
-            return "Ruch-" + bestMove[0] + "," + bestMove[1] + ":" + bestMove[2] + "," + bestMove[3];
+    }
+    /**
+     * Metoda join czeka na zakończenie wątku, także gdy czekający wątek zostanie przerwany;
+     * przerwanie jest wtedy przywracane po zakończeniu czekania.
+     * @param thread Wątek albo null.
+     */
+    private static void join(Thread thread) {
+        if (thread == null) {
+            return;
+        }
+        boolean interrupted = false;
+        while (true) {
+            try {
+                thread.join();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
         }
-        return null;
     }
     /**
-     * Metoda updateBoard aktualizuje planszę.
-     * @param gameState Stan gry.
+     * Metoda indexOf zwraca pozycję gracza w kolejności ruchów.
+     * @param order Kolejność ruchów.
+     * @param id Numer gracza.
+     * @return Pozycja albo -1.
      */
-    public void updateBoard(String gameState) {
-        board.update(gameState);
+    private static int indexOf(int[] order, int id) {
+        for (int i = 0; i < order.length; i++) {
+            if (order[i] == id) {
+                return i;
+            }
+        }
+        return -1;
     }
     /**
-     * Metoda sendMessage wysyła wiadomość.
+     * Metoda onEvent obsługuje zdarzenie gry: aktualizuje planszę bota albo kolejność ruchów.
+     * Pozostałe zdarzenia są pomijane.
+     * @param event Zdarzenie gry.
      */
     @Override
-    public void sendMessage(String message) {
-        if (message.startsWith("Stan planszy:")) {
-            String gameState = message.substring("Stan planszy:".length()).trim();
-            updateBoard(gameState);
+    public void onEvent(GameEvent event) {
+        switch (event.getType()) {
+            case BOARD_STATE:
+                updateBoard(event.getText());
+                break;
+            case MOVE:
+                updateBoardMove(event);
+                break;
+            case TURN_ORDER:
+                updateTurnOrder(event.getTurnOrder());
+                break;
+            default:
+                break;
         }
     }
     /**
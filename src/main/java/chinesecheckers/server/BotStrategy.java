@@ -0,0 +1,118 @@
+package chinesecheckers.server;
+/**
+ * Interfejs BotStrategy opisuje sposób wybierania ruchu przez bota.
+ * Strategia dostaje prywatną planszę bota i może ją dowolnie modyfikować przez makeMove/unmakeMove,
+ * o ile przed zwróceniem wyniku przywróci jej stan.
+ */
+public interface BotStrategy {
+    /**
+     * Nazwa strategii zachłannej (domyślnej).
+     */
+    String GREEDY = "Zachłanny";
+    /**
+     * Nazwa strategii alfa-beta.
+     */
+    String ALPHA_BETA = "Alfa-beta";
+    /**
+     * Nazwa strategii paranoidalnej dla gier wieloosobowych.
+     */
+    String PARANOID = "Paranoidalny";
+    /**
+     * Nazwa strategii najlepszej odpowiedzi dla gier wieloosobowych.
+     */
+    String BEST_REPLY = "Najlepsza odpowiedź";
+    /**
+     * Nazwa strategii Monte Carlo Tree Search.
+     */
+    String MCTS = "Monte Carlo";
+    /**
+     * Metoda selectMove wybiera ruch gracza.
+     * @param board Plansza bota.
+     * @param playerId Identyfikator gracza.
+     * @return Ruch zakodowany przez PackedMove albo PackedMove.NONE, jeśli gracz nie ma ruchu.
+     */
+    int selectMove(Board board, int playerId);
+    /**
+     * Metoda getName zwraca nazwę strategii wyświetlaną w interfejsie serwera.
+     * @return Nazwa strategii.
+     */
+    String getName();
+    /**
+     * Metoda setTurnOrder przekazuje strategii kolejność ruchów graczy. Domyślnie kolejność jest ignorowana.
+     * @param order Numery graczy w kolejności ruchów.
+     */
+    default void setTurnOrder(int[] order) {
+    }
+    /**
+     * Metoda setTranspositionTable przekazuje strategii tablicę transpozycji współdzieloną przez boty serwera.
+     * Domyślnie tablica jest ignorowana.
+     * @param table Tablica transpozycji albo null, aby przeszukiwać bez niej.
+     */
+    default void setTranspositionTable(TranspositionTable table) {
+    }
+    /**
+     * Metoda setThreads ustawia liczbę wątków, których strategia może używać do wyboru ruchu.
+     * Domyślnie liczba wątków jest ignorowana.
+     * @param threads Liczba wątków.
+     */
+    default void setThreads(int threads) {
+    }
+    /**
+     * Metoda close zwalnia zasoby strategii (np. pulę wątków przeszukiwania). Domyślnie nic nie robi.
+     * Po zamknięciu strategia może wybierać ruchy dalej, odtwarzając zasoby przy pierwszym użyciu.
+     */
+    default void close() {
+    }
+    /**
+     * Metoda names zwraca nazwy dostępnych strategii.
+     * @return Nazwy strategii.
+     */
+    static String[] names() {
+        return new String[]{GREEDY, ALPHA_BETA, PARANOID, BEST_REPLY, MCTS};
+    }
+    /**
+     * Metoda create tworzy strategię o podanej nazwie.
+     * @param name Nazwa strategii.
+     * @return Nowa strategia; dla nieznanej nazwy strategia zachłanna.
+     */
+    static BotStrategy create(String name) {
+        if (ALPHA_BETA.equals(name)) {
+            return new AlphaBetaStrategy();
+        }
+        if (PARANOID.equals(name)) {
+            return new MultiPlayerStrategy(MultiPlayerStrategy.Mode.PARANOID);
+        }
+        if (BEST_REPLY.equals(name)) {
+            return new MultiPlayerStrategy(MultiPlayerStrategy.Mode.BEST_REPLY);
+        }
+        if (MCTS.equals(name)) {
+            return new MctsStrategy();
+        }
+        return new GreedyStrategy();
+    }
+    /**
+     * Metoda create tworzy strategię o podanej nazwie z limitami wyboru ruchu.
+     * @param name Nazwa strategii.
+     * @param timeLimitMillis Limit czasu na ruch w milisekundach.
+     * @param budget Limit węzłów na ruch (dla Monte Carlo liczba rozgrywek).
+     * @param seed Ziarno generatora liczb losowych strategii Monte Carlo.
+     * @return Nowa strategia; dla nieznanej nazwy strategia zachłanna.
+     */
+    static BotStrategy create(String name, long timeLimitMillis, long budget, long seed) {
+        if (ALPHA_BETA.equals(name)) {
+            return new AlphaBetaStrategy(timeLimitMillis, budget, AlphaBetaStrategy.MAX_DEPTH);
+        }
+        if (PARANOID.equals(name)) {
+            return new MultiPlayerStrategy(MultiPlayerStrategy.Mode.PARANOID, timeLimitMillis, budget,
+                    MultiPlayerStrategy.MAX_DEPTH);
+        }
+        if (BEST_REPLY.equals(name)) {
+            return new MultiPlayerStrategy(MultiPlayerStrategy.Mode.BEST_REPLY, timeLimitMillis, budget,
+                    MultiPlayerStrategy.MAX_DEPTH);
+        }
+        if (MCTS.equals(name)) {
+            return new MctsStrategy((int) Math.min(budget, Integer.MAX_VALUE), timeLimitMillis, seed);
+        }
+        return new GreedyStrategy();
+    }
+}
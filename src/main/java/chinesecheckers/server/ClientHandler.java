@@ -4,9 +4,10 @@ import java.net.*;
 
 import chinesecheckers.patterns.Observer;
 /**
- * Klasa ClientHandler reprezentuje obsługę klienta serwera.
+ * Klasa ClientHandler reprezentuje obsługę klienta serwera podłączonego przez gniazdo.
+ * Zdarzenia gry są wysyłane klientowi jako wiadomości protokołu tekstowego.
  */
-public class ClientHandler implements Observer {
+public class ClientHandler implements Seat, Observer {
     private final Socket socket;
     private PrintWriter out;
     private BufferedReader in;
@@ -40,6 +41,22 @@ public class ClientHandler implements Observer {
     public void update(String message) {
         sendMessage(message);
     }
+/**
+ * Metoda onEvent wysyła klientowi zdarzenie gry w postaci wiadomości protokołu.
+ * @param event Zdarzenie gry.
+ */
+    @Override
+    public void onEvent(GameEvent event) {
+        sendMessage(event.toWireFormat());
+    }
+/**
+ * Metoda requestMove odbiera od klienta ruch w jego turze.
+ * @return Wiadomość z ruchem albo null, jeśli klient się rozłączył.
+ */
+    @Override
+    public String requestMove() {
+        return receiveMessage();
+    }
     /**
      * Metoda sendMessage wysyła wiadomość do klienta.
      * @param message Wiadomość do wysłania.
@@ -73,6 +90,7 @@ public class ClientHandler implements Observer {
  * Metoda isConnected sprawdza, czy klient jest połączony.
  * @return true, jeśli klient jest połączony, w przeciwnym razie false.
  */
+    @Override
     public boolean isConnected() {
         try {
             socket.sendUrgentData(0xFF);
@@ -85,12 +103,14 @@ public class ClientHandler implements Observer {
  * Metoda isBot zwraca informację, czy klient jest botem.
  * @return isBot - Informacja, czy klient jest botem.
  */
+    @Override
     public boolean isBot() {
         return isBot;
     }
 /**
  * Metoda close zamyka połączenie z klientem.
  */
+    @Override
     public void close() {
         try {
             if (socket != null && !socket.isClosed()) {
@@ -110,6 +130,7 @@ public class ClientHandler implements Observer {
  * Metoda getPlayerId zwraca identyfikator gracza.
  * @return playerId - Identyfikator gracza.
 */
+    @Override
     public int getPlayerId() {
         return playerId;
     }
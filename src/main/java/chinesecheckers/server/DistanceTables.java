@@ -0,0 +1,89 @@
+package chinesecheckers.server;
+
+import java.util.Arrays;
+/**
+ * Klasa DistanceTables zawiera odległości na grafie pól gry, liczone przeszukiwaniem wszerz po ruchach
+ * o jedno pole w kierunkach z BoardGeometry (jedynych dopuszczanych przez zasady tej gry), z każdego pola
+ * do każdego pola oraz do najbliższego pola każdej bazy. Dla tej planszy odległość na grafie równa się
+ * max(|dx|, |dy|) we współrzędnych tablicy 17x25 (ramiona gwiazdy nie wydłużają żadnej drogi), ale tablica
+ * zastępuje obliczenia i pętle po polach bazy jednym odczytem. Tablice są liczone raz przy ładowaniu klasy
+ * i współdzielone przez wszystkie boty. Odległości zależą tylko od bazy docelowej, a ta od liczby graczy
+ * i wariantu (Board.getTargetBase), więc tablica na bazę obsługuje każde połączenie liczby graczy i wariantu.
+ */
+public final class DistanceTables {
+
+    private static final byte[] DISTANCE = new byte[BoardGeometry.CELLS * BoardGeometry.CELLS];
+    private static final byte[] TO_BASE = new byte[BoardGeometry.BASES * BoardGeometry.CELLS];
+    /**
+     * Największa odległość pola od najbliższego pola bazy.
+     */
+    static final int MAX_DISTANCE_TO_BASE;
+
+    static {
+        int[] queue = new int[BoardGeometry.CELLS];
+        for (int source = 0; source < BoardGeometry.CELLS; source++) {
+            int offset = source * BoardGeometry.CELLS;
+            Arrays.fill(DISTANCE, offset, offset + BoardGeometry.CELLS, (byte) -1);
+            DISTANCE[offset + source] = 0;
+            queue[0] = source;
+            int head = 0;
+            int tail = 1;
+            while (head < tail) {
+                int cell = queue[head++];
+                for (int d = 0; d < BoardGeometry.DIRECTIONS; d++) {
+                    int neighbour = BoardGeometry.neighbour(cell, d);
+                    if (neighbour >= 0 && DISTANCE[offset + neighbour] < 0) {
+                        DISTANCE[offset + neighbour] = (byte) (DISTANCE[offset + cell] + 1);
+                        queue[tail++] = neighbour;
+                    }
+                }
+            }
+            if (tail != BoardGeometry.CELLS) {
+                throw new IllegalStateException("Pole " + source + " nie łączy się ze wszystkimi polami planszy.");
+            }
+        }
+        int farthest = 0;
+        for (int base = 0; base < BoardGeometry.BASES; base++) {
+            for (int cell = 0; cell < BoardGeometry.CELLS; cell++) {
+                int nearest = Integer.MAX_VALUE;
+                for (int i = 0; i < BoardGeometry.BASE_SIZE; i++) {
+                    nearest = Math.min(nearest, distance(cell, BoardGeometry.baseCell(base, i)));
+                }
+                TO_BASE[base * BoardGeometry.CELLS + cell] = (byte) nearest;
+                farthest = Math.max(farthest, nearest);
+            }
+        }
+        MAX_DISTANCE_TO_BASE = farthest;
+    }
+
+    private DistanceTables() {
+    }
+/**
+ * Metoda distance zwraca najmniejszą liczbę ruchów o jedno pole między polami (bez skoków i bez pionków na drodze).
+ * @param from - indeks pola
+ * @param to - indeks pola
+ * @return odległość
+ */
+    public static int distance(int from, int to) {
+        return DISTANCE[from * BoardGeometry.CELLS + to];
+    }
+/**
+ * Metoda distanceToGoal zwraca odległość od pola do i-tego pola bazy (w kolejności wypełniania bazy).
+ * @param base - indeks bazy
+ * @param i - numer pola w bazie (0 to wierzchołek)
+ * @param cell - indeks pola
+ * @return odległość
+ */
+    public static int distanceToGoal(int base, int i, int cell) {
+        return distance(cell, BoardGeometry.baseCell(base, i));
+    }
+/**
+ * Metoda distanceToBase zwraca odległość od pola do najbliższego pola bazy.
+ * @param base - indeks bazy
+ * @param cell - indeks pola
+ * @return odległość (0 dla pól bazy)
+ */
+    public static int distanceToBase(int base, int cell) {
+        return TO_BASE[base * BoardGeometry.CELLS + cell];
+    }
+}
@@ -0,0 +1,99 @@
+package chinesecheckers.server;
+/**
+ * Klasa Evaluation zawiera wspólną ocenę pozycji używaną przez strategie przeszukujące.
+ * Postęp gracza mierzony jest sumą odległości jego pionków od wierzchołka bazy docelowej
+ * (bazy przeciwnika z opponentBaseMapping albo bazy domowej w Order Out Of Chaos),
+ * którą plansza aktualizuje przy każdym ruchu.
+ */
+final class Evaluation {
+
+    private Evaluation() {
+    }
+/**
+ * Metoda tip zwraca wierzchołek (najdalsze pole) bazy docelowej gracza.
+ * @param board - plansza
+ * @param playerId - numer gracza
+ * @return indeks pola
+ */
+    static int tip(Board board, int playerId) {
+        return BoardGeometry.baseCell(board.getTargetBase(playerId), 0);
+    }
+/**
+ * Metoda distance zwraca odległość między polami na grafie pól gry (tablica z DistanceTables).
+ * @param from - indeks pola
+ * @param to - indeks pola
+ * @return liczba kroków
+ */
+    static int distance(int from, int to) {
+        return DistanceTables.distance(from, to);
+    }
+/**
+ * Metoda distanceSum zwraca sumę odległości pionków gracza od wierzchołka bazy docelowej.
+ * Suma jest utrzymywana przyrostowo przez planszę (EvaluationState), więc ocena pozycji to odczyt z tablicy.
+ * @param board - plansza
+ * @param playerId - numer gracza
+ * @return suma odległości
+ */
+    static int distanceSum(Board board, int playerId) {
+        return board.getDistanceSum(playerId);
+    }
+/**
+ * Metoda progress zwraca, o ile ruch zbliża pionek do wierzchołka bazy docelowej.
+ * @param move - ruch zakodowany przez PackedMove
+ * @param tip - wierzchołek bazy docelowej
+ * @return zmiana odległości (dodatnia, gdy ruch zbliża pionek)
+ */
+    static int progress(int move, int tip) {
+        return distance(PackedMove.from(move), tip) - distance(PackedMove.to(move), tip);
+    }
+/**
+ * Metoda hasFinished sprawdza, czy gracz ma wszystkie pionki w bazie docelowej.
+ * @param board - plansza
+ * @param playerId - numer gracza
+ * @return true, jeśli gracz skończył grę, w przeciwnym razie false.
+ */
+    static boolean hasFinished(Board board, int playerId) {
+        return board.getPiecesInTarget(playerId) == BoardGeometry.BASE_SIZE;
+    }
+/**
+ * Metoda orderMoves porządkuje ruchy malejąco według postępu wykonującego je gracza w stronę jego bazy docelowej,
+ * z ruchem zabójcą na początku.
+ * @param board - plansza
+ * @param moves - ruchy
+ * @param scores - bufor ocen ruchów
+ * @param count - liczba ruchów
+ * @param killer - ruch zabójca albo PackedMove.NONE
+ */
+    static void orderMoves(Board board, int[] moves, int[] scores, int count, int killer) {
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            int score = move == killer ? Integer.MAX_VALUE
+                    : progress(move, tip(board, board.cellValue(PackedMove.from(move))));
+            int j = i;
+            while (j > 0 && scores[j - 1] < score) {
+                scores[j] = scores[j - 1];
+                moves[j] = moves[j - 1];
+                j--;
+            }
+            scores[j] = score;
+            moves[j] = move;
+        }
+    }
+/**
+ * Metoda moveToFront przesuwa ruch na początek listy, zachowując kolejność pozostałych; ruch spoza listy jest pomijany.
+ * @param moves - ruchy
+ * @param count - liczba ruchów
+ * @param move - ruch
+ */
+    static void moveToFront(int[] moves, int count, int move) {
+        int i = 0;
+        while (i < count && moves[i] != move) {
+            i++;
+        }
+        if (i == count) {
+            return;
+        }
+        System.arraycopy(moves, 0, moves, 1, i);
+        moves[0] = move;
+    }
+}
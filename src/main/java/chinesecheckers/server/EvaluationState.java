@@ -0,0 +1,96 @@
+package chinesecheckers.server;
+
+import java.util.Arrays;
+/**
+ * Klasa EvaluationState przechowuje składniki oceny pozycji aktualizowane przyrostowo przez Board
+ * przy każdej zmianie pola (także w makeMove/unmakeMove), więc ich odczyt nie przegląda planszy.
+ * Dla każdego gracza i każdej bazy trzyma sumę odległości pionków od wierzchołka bazy oraz histogram
+ * odległości pionków od najbliższego pola bazy, z którego odczytywane są odległości najdalszego
+ * (maruder) i najbliższego pionka. Wartości są trzymane dla wszystkich baz, bo baza docelowa zależy
+ * od liczby graczy i wariantu ustawianych po rozstawieniu pionków; zmiana pola kosztuje stałą liczbę
+ * operacji (po dwie na bazę). Liczby pionków w bazach trzyma sam Board.
+ */
+final class EvaluationState {
+    private static final int PLAYERS = BoardGeometry.BASES + 1;
+    private static final int DISTANCES = DistanceTables.MAX_DISTANCE_TO_BASE + 1;
+    private static final int[] TIPS = new int[BoardGeometry.BASES];
+
+    static {
+        for (int base = 0; base < BoardGeometry.BASES; base++) {
+            TIPS[base] = BoardGeometry.baseCell(base, 0);
+        }
+    }
+
+    private final int[] tipDistanceSums = new int[PLAYERS * BoardGeometry.BASES];
+    private final int[] histogram = new int[PLAYERS * BoardGeometry.BASES * DISTANCES];
+/**
+ * Metoda clear zeruje stan (pusta plansza).
+ */
+    void clear() {
+        Arrays.fill(tipDistanceSums, 0);
+        Arrays.fill(histogram, 0);
+    }
+/**
+ * Metoda add dolicza pionek gracza stojący na polu.
+ * @param playerId - numer gracza
+ * @param cell - indeks pola
+ */
+    void add(int playerId, int cell) {
+        int offset = playerId * BoardGeometry.BASES;
+        for (int base = 0; base < BoardGeometry.BASES; base++) {
+            tipDistanceSums[offset + base] += DistanceTables.distance(cell, TIPS[base]);
+            histogram[(offset + base) * DISTANCES + DistanceTables.distanceToBase(base, cell)]++;
+        }
+    }
+/**
+ * Metoda remove odlicza pionek gracza zdjęty z pola.
+ * @param playerId - numer gracza
+ * @param cell - indeks pola
+ */
+    void remove(int playerId, int cell) {
+        int offset = playerId * BoardGeometry.BASES;
+        for (int base = 0; base < BoardGeometry.BASES; base++) {
+            tipDistanceSums[offset + base] -= DistanceTables.distance(cell, TIPS[base]);
+            histogram[(offset + base) * DISTANCES + DistanceTables.distanceToBase(base, cell)]--;
+        }
+    }
+/**
+ * Metoda tipDistanceSum zwraca sumę odległości pionków gracza od wierzchołka bazy.
+ * @param playerId - numer gracza
+ * @param base - indeks bazy
+ * @return suma odległości
+ */
+    int tipDistanceSum(int playerId, int base) {
+        return tipDistanceSums[playerId * BoardGeometry.BASES + base];
+    }
+/**
+ * Metoda rearDistance zwraca odległość najdalszego pionka gracza od bazy.
+ * @param playerId - numer gracza
+ * @param base - indeks bazy
+ * @return odległość (0, jeśli wszystkie pionki są w bazie albo gracz nie ma pionków)
+ */
+    int rearDistance(int playerId, int base) {
+        int offset = (playerId * BoardGeometry.BASES + base) * DISTANCES;
+        for (int distance = DISTANCES - 1; distance > 0; distance--) {
+            if (histogram[offset + distance] != 0) {
+                return distance;
+            }
+        }
+        return 0;
+    }
+/**
+ * Metoda frontDistance zwraca odległość najbliższego pionka gracza od bazy.
+ * @param playerId - numer gracza
+ * @param base - indeks bazy
+ * @return odległość albo Integer.MAX_VALUE, jeśli gracz nie ma pionków
+ */
+    int frontDistance(int playerId, int base) {
+        int offset = (playerId * BoardGeometry.BASES + base) * DISTANCES;
+        for (int distance = 0; distance < DISTANCES; distance++) {
+            if (histogram[offset + distance] != 0) {
+                return distance;
+            }
+        }
+        return Integer.MAX_VALUE;
+    }
+}
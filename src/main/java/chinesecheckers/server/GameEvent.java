@@ -0,0 +1,167 @@
+package chinesecheckers.server;
+
+import java.util.Arrays;
+import java.util.List;
+/**
+ * Klasa GameEvent to niezmienne zdarzenie gry wysyłane przez GameServer do miejsc graczy (Seat).
+ * Miejsca w procesie serwera czytają pola zdarzenia, a ClientHandler wysyła klientowi jego zapis
+ * tekstowy (toWireFormat), taki sam jak dotychczasowe wiadomości protokołu.
+ */
+public final class GameEvent {
+    /**
+     * Rodzaj zdarzenia gry: wiadomość, kolejność ruchów, pełny stan planszy, przyjęty ruch albo początek tury.
+     */
+    public enum Type {
+        MESSAGE,
+        TURN_ORDER,
+        BOARD_STATE,
+        MOVE,
+        YOUR_TURN
+    }
+    /**
+     * Prefiks wiadomości z kolejnością ruchów.
+     */
+    public static final String TURN_ORDER_PREFIX = "Kolejność gry: ";
+    /**
+     * Wiadomość o początku tury gracza.
+     */
+    public static final String YOUR_TURN_MESSAGE = "Twoja tura!";
+
+    private static final GameEvent YOUR_TURN_EVENT = new GameEvent(Type.YOUR_TURN, YOUR_TURN_MESSAGE, null, 0, 0, PackedMove.NONE, 0);
+
+    private final Type type;
+    private final String text;
+    private final int[] order;
+    private final long sequence;
+    private final int playerId;
+    private final int move;
+    private final long hash;
+
+    private GameEvent(Type type, String text, int[] order, long sequence, int playerId, int move, long hash) {
+        this.type = type;
+        this.text = text;
+        this.order = order;
+        this.sequence = sequence;
+        this.playerId = playerId;
+        this.move = move;
+        this.hash = hash;
+    }
+/**
+ * Metoda message tworzy zdarzenie z wiadomością tekstową.
+ * @param text - treść wiadomości
+ * @return zdarzenie
+ */
+    public static GameEvent message(String text) {
+        return new GameEvent(Type.MESSAGE, text, null, 0, 0, PackedMove.NONE, 0);
+    }
+/**
+ * Metoda turnOrder tworzy zdarzenie z kolejnością ruchów graczy.
+ * @param order - numery graczy w kolejności ruchów
+ * @return zdarzenie
+ */
+    public static GameEvent turnOrder(List<Integer> order) {
+        return turnOrder(order.stream().mapToInt(Integer::intValue).toArray());
+    }
+/**
+ * Metoda turnOrder tworzy zdarzenie z kolejnością ruchów graczy.
+ * @param order - numery graczy w kolejności ruchów
+ * @return zdarzenie
+ */
+    public static GameEvent turnOrder(int[] order) {
+        return new GameEvent(Type.TURN_ORDER, null, order.clone(), 0, 0, PackedMove.NONE, 0);
+    }
+/**
+ * Metoda boardState tworzy zdarzenie z pełnym stanem planszy.
+ * @param state - stan planszy (zwarty zapis)
+ * @return zdarzenie
+ */
+    public static GameEvent boardState(String state) {
+        return new GameEvent(Type.BOARD_STATE, state, null, 0, 0, PackedMove.NONE, 0);
+    }
+/**
+ * Metoda move tworzy zdarzenie z przyjętym ruchem.
+ * @param sequence - numer kolejny ruchu
+ * @param playerId - numer gracza
+ * @param move - ruch zakodowany przez PackedMove
+ * @param hash - hasz planszy po ruchu
+ * @return zdarzenie
+ */
+    public static GameEvent move(long sequence, int playerId, int move, long hash) {
+        return new GameEvent(Type.MOVE, null, null, sequence, playerId, move, hash);
+    }
+/**
+ * Metoda yourTurn zwraca zdarzenie początku tury gracza.
+ * @return zdarzenie
+ */
+    public static GameEvent yourTurn() {
+        return YOUR_TURN_EVENT;
+    }
+/**
+ * Metoda getType zwraca rodzaj zdarzenia.
+ * @return rodzaj zdarzenia
+ */
+    public Type getType() {
+        return type;
+    }
+/**
+ * Metoda getText zwraca treść wiadomości (MESSAGE, YOUR_TURN) albo stan planszy (BOARD_STATE).
+ * @return tekst albo null
+ */
+    public String getText() {
+        return text;
+    }
+/**
+ * Metoda getTurnOrder zwraca kolejność ruchów graczy (TURN_ORDER).
+ * @return kopia kolejności albo null
+ */
+    public int[] getTurnOrder() {
+        return order == null ? null : order.clone();
+    }
+/**
+ * Metoda getSequence zwraca numer kolejny ruchu (MOVE).
+ * @return numer kolejny
+ */
+    public long getSequence() {
+        return sequence;
+    }
+/**
+ * Metoda getPlayerId zwraca numer gracza, który wykonał ruch (MOVE).
+ * @return numer gracza
+ */
+    public int getPlayerId() {
+        return playerId;
+    }
+/**
+ * Metoda getMove zwraca ruch zakodowany przez PackedMove (MOVE).
+ * @return ruch albo PackedMove.NONE
+ */
+    public int getMove() {
+        return move;
+    }
+/**
+ * Metoda getHash zwraca hasz planszy po ruchu (MOVE).
+ * @return hasz planszy
+ */
+    public long getHash() {
+        return hash;
+    }
+/**
+ * Metoda toWireFormat zwraca wiadomość protokołu tekstowego odpowiadającą zdarzeniu.
+ * @return wiadomość dla klienta podłączonego przez gniazdo
+ */
+    public String toWireFormat() {
+        switch (type) {
+            case TURN_ORDER:
+                return TURN_ORDER_PREFIX + Arrays.toString(order);
+            case BOARD_STATE:
+                return BoardSync.SNAPSHOT_PREFIX + text;
+            case MOVE:
+                int from = PackedMove.from(move);
+                int to = PackedMove.to(move);
+                return BoardSync.formatDelta(sequence, playerId, BoardGeometry.row(from), BoardGeometry.column(from),
+                        BoardGeometry.row(to), BoardGeometry.column(to), hash);
+            default:
+                return text;
+        }
+    }
+}
@@ -1,11 +1,13 @@
 package chinesecheckers.server;
 import java.io.*;
 import java.net.*;
+import java.nio.file.*;
 import java.util.*;
 
 import javax.annotation.PostConstruct;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import chinesecheckers.model.Game;
@@ -26,7 +28,7 @@ public class GameServer implements Observable {
     private ServerGUI gui;
  
     private int port;
-    private final List<ClientHandler> players = new ArrayList<>();
+    private final List<Seat> players = new ArrayList<>();
     private List<Integer> playerOrder = new ArrayList<>();
         private final Set<Integer> disconnectedPlayers = new HashSet<>();
         private final List<Integer> standings = new ArrayList<>();
@@ -35,15 +37,30 @@ public class GameServer implements Observable {
         private int maxPlayers;
         private int nextPlayerId = 1;
         private final Board board = new Board();
+        private long stateSequence = 0;
         private boolean running;
         private boolean gameStarted = false;
         private String variant;
         private int botCount = 0;
+        private String botStrategy = BotStrategy.GREEDY;
+        @Value("${bot.transposition-table-mb:16}")
+        private int transpositionTableMegabytes;
+        private TranspositionTable transpositionTable;
+        @Value("${bot.threads:1}")
+        private int botThreads = 1;
+        @Value("${bot.ponder:false}")
+        private boolean botPonder;
+        @Value("${bot.opening-book:}")
+        private String openingBookPath = "";
+        @Value("${bot.opening-book-plies:12}")
+        private int openingBookPlies = 12;
+        private OpeningBook openingBook;
         private Game currentGame;
     
         @PostConstruct
         public void init() {
             this.port = 12345;
+            board.enableSnapshots();
             new Thread(this::start).start();
         }
     
@@ -112,7 +129,7 @@ public class GameServer implements Observable {
             
                 gameService.saveGame(currentGame);
                 chinesecheckers.model.Board boardModel = new chinesecheckers.model.Board();
-                boardModel.setState(board.toString());
+                boardModel.setState(board.getSnapshot().toCompactString());
                 boardModel.setGame(currentGame);
                 gameService.saveBoard(boardModel);
             }
@@ -134,21 +151,28 @@ public class GameServer implements Observable {
                 }
             }
     
+            if (botCount > 0 && transpositionTableMegabytes > 0) {
+                transpositionTable = new TranspositionTable(transpositionTableMegabytes);
+            }
+            if (botCount > 0) {
+                openingBook = loadOpeningBook();
+            }
             for (int i = 0; i < botCount; i++) {
-                try {
-                    Socket socket = new Socket("localhost", port);
-                    BotPlayer bot = new BotPlayer(socket, nextPlayerId++, maxPlayers, variant);
+                BotStrategy strategy = BotStrategy.create(botStrategy);
+                strategy.setTranspositionTable(transpositionTable);
+                strategy.setThreads(Math.max(1, botThreads));
+                BotPlayer bot = new BotPlayer(nextPlayerId++, maxPlayers, variant, strategy);
+                bot.setPondering(botPonder);
+                bot.setOpeningBook(openingBook);
+                synchronized (players) {
                     players.add(bot);
-                    addObserver(bot);
-                    System.out.println("Bot " + bot.getPlayerId() + " dołączył do gry.");
-                } catch (IOException e) {
-                    e.printStackTrace();
                 }
+                System.out.println("Bot " + bot.getPlayerId() + " (" + bot.getStrategy().getName() + ") dołączył do gry.");
             }
         
            
             if(!gameLoaded){
-                for (ClientHandler player : players) {
+                for (Seat player : players) {
                     playerOrder.add(player.getPlayerId());
                 }
                 System.out.println("Wszyscy gracze dołączyli. Losowanie kolejności...");
@@ -162,12 +186,17 @@ public class GameServer implements Observable {
             }
             
             board.initializeOpponentBaseMapping(maxPlayers);
-            for (ClientHandler player : players) {
-                player.sendMessage("Kolejność gry: " + playerOrder.toString());
-            }
+            publish(GameEvent.turnOrder(playerOrder), 0);
             broadcastGameState();
             gameStarted = true;
         }
+        /**
+         * Metoda getTranspositionTable zwraca tablicę transpozycji współdzieloną przez boty serwera.
+         * @return Tablica transpozycji albo null, jeśli w grze nie ma botów lub tablica jest wyłączona.
+         */
+        public TranspositionTable getTranspositionTable() {
+            return transpositionTable;
+        }
         /**
          * Metoda initializeNewGameSettings inicjalizuje ustawienia nowej gry.
          */
@@ -175,14 +204,15 @@ public class GameServer implements Observable {
             maxPlayers = gui.getSelectedPlayers();
             variant = gui.getSelectedVariant();
             botCount = gui.getSelectedBots();
+            botStrategy = gui.getSelectedStrategy();
         }
         /**
          * Metoda removeDisconnectedPlayersBeforeStart usuwa rozłączonych graczy przed rozpoczęciem gry.
          */
         private void removeDisconnectedPlayersBeforeStart() {
-            Iterator<ClientHandler> iterator = players.iterator();
+            Iterator<Seat> iterator = players.iterator();
             while (iterator.hasNext()) {
-                ClientHandler player = iterator.next();
+                Seat player = iterator.next();
                 if (!player.isConnected()) {
                     System.out.println("Gracz " + player.getPlayerId() + " rozłączył się.");
                     iterator.remove();
@@ -209,9 +239,9 @@ public class GameServer implements Observable {
          */
         private synchronized void processTurn() {
             int playerId = playerOrder.get(currentPlayerIndex);
-            ClientHandler currentPlayer = null;
+            Seat currentPlayer = null;
     
-            for (ClientHandler player : players) {
+            for (Seat player : players) {
                 if (player.getPlayerId() == playerId) {
                     currentPlayer = player;
                     break;
@@ -231,14 +261,9 @@ public class GameServer implements Observable {
                 return;
             }
     
-            currentPlayer.sendMessage("Twoja tura!");
+            currentPlayer.onEvent(GameEvent.yourTurn());
             broadcastMessage("Gracz " + playerId + " wykonuje ruch.", playerId);
-            String move =null;
-            if (currentPlayer instanceof BotPlayer) {
-                move = ((BotPlayer) currentPlayer).getMove();
-            } else {
-                move = currentPlayer.receiveMessage();
-            }
+            String move = currentPlayer.requestMove();
             if (move == null) {
                 System.out.println("Gracz " + playerId + " rozłączył się w trakcie swojej tury.");
                 broadcastMessage("Gracz " + playerId + " rozłączył się w trakcie swojej tury!");
@@ -259,12 +284,12 @@ public class GameServer implements Observable {
                             int endY = Integer.parseInt(endCoords[1]);
         
                             String result = board.movePiece(startX, startY, endX, endY, playerId);
-                            currentPlayer.sendMessage(result);
+                            currentPlayer.onEvent(GameEvent.message(result));
         
                             if (result.startsWith("Ruch wykonany")) {
                                 System.out.println("Gracz " + playerId + " wykonał ruch: " + move);
                                 broadcastMessage("Gracz " + playerId + " wykonał ruch: " + move, playerId);
-                                broadcastGameState();
+                                broadcastMove(playerId, startX, startY, endX, endY);
     
                                 Move moveEntity = new Move();
                                 moveEntity.setStartX(startX);
@@ -276,7 +301,7 @@ public class GameServer implements Observable {
                                 gameService.saveMove(moveEntity);
     
                                 chinesecheckers.model.Board boardModel = gameService.getBoardByGame(currentGame);
-                                boardModel.setState(board.toString());
+                                boardModel.setState(board.getSnapshot().toCompactString());
                                 gameService.saveBoard(boardModel);
     
                                 if ("Order Out Of Chaos".equals(variant) && board.allPiecesInHomeBase(playerId) && !standings.contains(playerId)) {
@@ -287,13 +312,14 @@ public class GameServer implements Observable {
                                     broadcastMessage("Gracz " + playerId + " zajął miejsce " + standings.size() + "!");
                                 }
                             } else if (result.startsWith("Nieprawidłowy ruch")) {
-                                currentPlayer.sendMessage("Nieprawidłowy ruch. Spróbuj ponownie.");
+                                currentPlayer.onEvent(GameEvent.message("Nieprawidłowy ruch. Spróbuj ponownie."));
+                                currentPlayer.onEvent(GameEvent.boardState(board.toCompactString()));
                             } else {
-                                currentPlayer.sendMessage("Błąd: " + result);
+                                currentPlayer.onEvent(GameEvent.message("Błąd: " + result));
                                 System.out.println("Błąd: " + result);
                             }
                         } catch (NumberFormatException e) {
-                            currentPlayer.sendMessage("Nieprawidłowe współrzędne. Spróbuj ponownie.");
+                            currentPlayer.onEvent(GameEvent.message("Nieprawidłowe współrzędne. Spróbuj ponownie."));
                         }
                     }
                 }
@@ -341,22 +367,30 @@ public class GameServer implements Observable {
             }
         }
         /**
-         * Metoda broadcastMessage wysyła wiadomość do wszystkich obserwatorów.
+         * Metoda broadcastMessage wysyła wiadomość do wszystkich graczy i obserwatorów.
          * @param message Wiadomość do wysłania.
          */
         public void broadcastMessage(String message) {
+            publish(GameEvent.message(message), 0);
             notifyObservers(message);
         }
         /**
-         * Metoda broadcastMessage wysyła wiadomość do wszystkich obserwatorów z wyłączeniem określonego gracza.
+         * Metoda broadcastMessage wysyła wiadomość do wszystkich graczy z wyłączeniem określonego gracza.
          * @param message Wiadomość do wysłania.
          * @param excludePlayerId Identyfikator gracza, który ma zostać wykluczony.
          */
         private void broadcastMessage(String message, int excludePlayerId) {
-            for (Observer observer : observers) {
-                if (observer instanceof ClientHandler && 
-                    ((ClientHandler) observer).getPlayerId() != excludePlayerId) {
-                    observer.update(message);
+            publish(GameEvent.message(message), excludePlayerId);
+        }
+        /**
+         * Metoda publish przekazuje zdarzenie gry miejscom graczy.
+         * @param event Zdarzenie gry.
+         * @param excludePlayerId Identyfikator gracza, który ma zostać wykluczony, albo 0.
+         */
+        private void publish(GameEvent event, int excludePlayerId) {
+            for (Seat player : players) {
+                if (player.getPlayerId() != excludePlayerId) {
+                    player.onEvent(event);
                 }
             }
         }
@@ -364,7 +398,7 @@ public class GameServer implements Observable {
          *  Metoda cleanupDisconnectedPlayers usuwa rozłączonych graczy.
          */
         private void cleanupDisconnectedPlayers() {
-            for (ClientHandler player : players) {
+            for (Seat player : players) {
                 if (!player.isConnected()) {
                     player.close();
                 }
@@ -385,6 +419,41 @@ public class GameServer implements Observable {
                 System.out.println("Gracz " + playerId + " rozłączył się przed zakończeniem gry");
                 broadcastMessage("Gracz " + playerId + " rozłączył się przed zakończeniem gry");
             }
+            if (transpositionTable != null) {
+                System.out.println(transpositionTable);
+            }
+            for (Seat player : players) {
+                if (player instanceof BotPlayer && ((BotPlayer) player).isPondering()) {
+                    BotPlayer bot = (BotPlayer) player;
+                    System.out.println("Bot " + bot.getPlayerId() + ": trafione przewidywania " + bot.getPonderHits()
+                            + ", nietrafione " + bot.getPonderMisses());
+                }
+            }
+        }
+        /**
+         * Metoda loadOpeningBook otwiera księgę otwarć botów z pliku bot.opening-book.
+         * Jeśli pliku nie ma, księga jest najpierw budowana z ruchów zapisanych w bazie.
+         * @return Księga otwarć albo null, jeśli ścieżka nie jest ustawiona lub księgi nie udało się otworzyć.
+         */
+        private OpeningBook loadOpeningBook() {
+            if (openingBookPath == null || openingBookPath.isEmpty()) {
+                return null;
+            }
+            Path path = Paths.get(openingBookPath);
+            try {
+                if (!Files.exists(path)) {
+                    OpeningBookBuilder builder = new OpeningBookBuilder(openingBookPlies);
+                    gameService.forEachMove(builder);
+                    int positions = builder.write(path);
+                    System.out.println("Zbudowano księgę otwarć: " + positions + " pozycji z " + builder.getGames() + " gier.");
+                }
+                OpeningBook book = OpeningBook.open(path);
+                System.out.println("Księga otwarć: " + book.size() + " pozycji, " + book.getPlies() + " półruchów.");
+                return book;
+            } catch (IOException e) {
+                System.out.println("Nie udało się wczytać księgi otwarć: " + e.getMessage());
+                return null;
+            }
         }
         /**
          * Metoda handleNewConnections obsługuje nowe połączenia.
@@ -405,7 +474,6 @@ public class GameServer implements Observable {
                             ClientHandler player = new ClientHandler(clientSocket, nextPlayerId++, maxPlayers, variant, false);
                             if (player.isConnected()) {
                                 players.add(player);
-                                addObserver(player);
                                 System.out.println("Gracz " + player.getPlayerId() + " dołączył do gry.");
                                 players.notifyAll();
                             } else {
@@ -429,12 +497,24 @@ public class GameServer implements Observable {
          * Metoda broadcastGameState wysyła stan gry do wszystkich graczy.
          */
         public synchronized void broadcastGameState() {
-            String gameState = board.toString();
-            for (ClientHandler client : players) {
-                client.sendMessage("Stan planszy:" + gameState);
-                if (client instanceof BotPlayer) {
-                    ((BotPlayer) client).updateBoard(gameState);
-                }
+            publish(GameEvent.boardState(board.getSnapshot().toCompactString()), 0);
+        }
+        /**
+         * Metoda broadcastMove wysyła wszystkim graczom różnicę stanu planszy po przyjętym ruchu.
+         * Co BoardSync.SNAPSHOT_INTERVAL ruchów po różnicy wysyłany jest także pełny stan planszy jako kontrola,
+         * więc odbiorcy zawsze dostają numer kolejny i gracza ruchu.
+         * @param playerId Identyfikator gracza.
+         * @param startX Współrzędna x początku ruchu.
+         * @param startY Współrzędna y początku ruchu.
+         * @param endX Współrzędna x końca ruchu.
+         * @param endY Współrzędna y końca ruchu.
+         */
+        public synchronized void broadcastMove(int playerId, int startX, int startY, int endX, int endY) {
+            stateSequence++;
+            int move = PackedMove.of(BoardGeometry.cellIndex(startX, startY), BoardGeometry.cellIndex(endX, endY));
+            publish(GameEvent.move(stateSequence, playerId, move, board.getHash()), 0);
+            if (stateSequence % BoardSync.SNAPSHOT_INTERVAL == 0) {
+                broadcastGameState();
             }
         }
         /**
@@ -518,7 +598,7 @@ public class GameServer implements Observable {
     public void saveBoardState() {
         chinesecheckers.model.Board boardModel = gameService.getBoardByGame(currentGame);
         if (boardModel != null) {
-            boardModel.setState(board.toString());
+            boardModel.setState(board.getSnapshot().toCompactString());
             gameService.saveBoard(boardModel);
         }
     }
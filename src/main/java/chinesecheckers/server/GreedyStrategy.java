@@ -0,0 +1,84 @@
+package chinesecheckers.server;
+/**
+ * Klasa GreedyStrategy wybiera ruch zachłannie, na jeden półruch w przód: ruch, który najbardziej
+ * zbliża pionek do pierwszego niezajętego pola bazy docelowej. Pionki stojące już na kolejnych
+ * polach bazy docelowej (od wierzchołka) nie są ruszane. Odległości pochodzą z DistanceTables.
+ */
+public class GreedyStrategy implements BotStrategy {
+    private final int[] moves = new int[Board.MAX_MOVES];
+/**
+ * Metoda selectMove wybiera ruch gracza.
+ * @param board - plansza bota
+ * @param playerId - numer gracza
+ * @return ruch zakodowany przez PackedMove albo PackedMove.NONE
+ */
+    @Override
+    public int selectMove(Board board, int playerId) {
+        int count = board.generateMoves(playerId, moves);
+        int targetBase = board.getTargetBase(playerId);
+        int settled = settledCount(board, playerId, targetBase);
+        int target = BoardGeometry.baseCell(targetBase, Math.min(settled, BoardGeometry.BASE_SIZE - 1));
+        int bestMove = PackedMove.NONE;
+        int minDistance = Integer.MAX_VALUE;
+        int maxDistance = Integer.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            int from = PackedMove.from(moves[i]);
+            int to = PackedMove.to(moves[i]);
+            if (isSettled(from, targetBase, settled)) {
+                continue;
+            }
+            int dStart = DistanceTables.distance(from, target);
+            int destLength = DistanceTables.distance(to, target) - dStart;
+            if (destLength < minDistance) {
+                minDistance = destLength;
+                bestMove = moves[i];
+                maxDistance = dStart;
+            } else if (destLength == minDistance && dStart > maxDistance) {
+                bestMove = moves[i];
+                maxDistance = dStart;
+            }
+        }
+        return bestMove;
+    }
+/**
+ * Metoda getName zwraca nazwę strategii.
+ * @return nazwa strategii
+ */
+    @Override
+    public String getName() {
+        return GREEDY;
+    }
+/**
+ * Metoda settledCount zwraca liczbę kolejnych pól bazy docelowej (od wierzchołka) zajętych przez pionki gracza.
+ * @param board - plansza bota
+ * @param playerId - numer gracza
+ * @param targetBase - baza docelowa
+ * @return liczba pól
+ */
+    private static int settledCount(Board board, int playerId, int targetBase) {
+        int settled = 0;
+        while (settled < BoardGeometry.BASE_SIZE) {
+            int cell = BoardGeometry.baseCell(targetBase, settled);
+            if (!board.hasPlayerPiece(BoardGeometry.row(cell), BoardGeometry.column(cell), playerId)) {
+                break;
+            }
+            settled++;
+        }
+        return settled;
+    }
+/**
+ * Metoda isSettled sprawdza, czy pole jest jednym z pierwszych n pól bazy docelowej.
+ * @param cell - indeks pola
+ * @param targetBase - baza docelowa
+ * @param n - liczba pól
+ * @return true, jeśli pole jest wśród pierwszych n pól bazy, w przeciwnym razie false.
+ */
+    private static boolean isSettled(int cell, int targetBase, int n) {
+        for (int i = 0; i < n; i++) {
+            if (BoardGeometry.baseCell(targetBase, i) == cell) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
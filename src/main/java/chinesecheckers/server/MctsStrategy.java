@@ -0,0 +1,418 @@
+package chinesecheckers.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+/**
+ * Klasa MctsStrategy wybiera ruch metodą Monte Carlo Tree Search (UCT) dla 2-6 graczy.
+ * Każdy węzeł drzewa przechowuje sumę nagród gracza, który wykonał prowadzący do niego ruch, więc w każdym węźle
+ * gracz na ruchu wybiera ruch najlepszy dla siebie. Rozgrywka losowa trwa PLAYOUT_ROUNDS kolejek; w każdym ruchu
+ * z dwóch losowych ruchów wybierany jest ten, który bardziej zbliża pionek do bazy docelowej.
+ * Nagroda gracza (0..1) rośnie z przewagą nad średnią przeciwników w sumie odległości od baz docelowych po rozgrywce.
+ * Przy kilku wątkach każdy wątek buduje własne drzewo na własnej kopii planszy, a liczby odwiedzin ruchów z korzenia
+ * są sumowane; wybierany jest ruch najczęściej odwiedzany. Siłę gry ustala budżet rozgrywek na ruch.
+ * Przerwanie wątku wywołującego (Thread.interrupt) kończy wybór ruchu tak jak upływ limitu czasu.
+ */
+public class MctsStrategy implements BotStrategy {
+    /**
+     * Domyślny budżet rozgrywek na ruch.
+     */
+    public static final int DEFAULT_PLAYOUTS = 2000;
+    /**
+     * Domyślny limit czasu na ruch w milisekundach.
+     */
+    public static final long DEFAULT_TIME_MILLIS = 1000;
+    /**
+     * Liczba kolejek (ruchów każdego gracza) w rozgrywce losowej.
+     */
+    static final int PLAYOUT_ROUNDS = 8;
+
+    private static final double EXPLORATION = 0.7;
+    private static final int MAX_NODES = 1 << 20;
+    private static final double REWARD_SCALE = 8.0;
+
+    private final int playouts;
+    private final long timeLimitNanos;
+    private final long seed;
+    private int[] turnOrder;
+    private int threads = 1;
+    private ForkJoinPool pool;
+    private Tree[] trees = new Tree[0];
+    private long lastPlayouts;
+    private long lastNanos;
+/**
+ * Konstruktor klasy MctsStrategy z domyślnym budżetem.
+ */
+    public MctsStrategy() {
+        this(DEFAULT_PLAYOUTS, DEFAULT_TIME_MILLIS, System.nanoTime());
+    }
+/**
+ * Konstruktor klasy MctsStrategy.
+ * @param playouts - budżet rozgrywek na ruch (łącznie dla wszystkich wątków)
+ * @param timeLimitMillis - limit czasu na ruch w milisekundach
+ * @param seed - ziarno generatora liczb losowych
+ */
+    public MctsStrategy(int playouts, long timeLimitMillis, long seed) {
+        if (playouts < 1) {
+            throw new IllegalArgumentException("Nieprawidłowy budżet rozgrywek: " + playouts);
+        }
+        this.playouts = playouts;
+        this.timeLimitNanos = timeLimitMillis * 1_000_000L;
+        this.seed = seed;
+    }
+/**
+ * Metoda setTurnOrder ustawia kolejność ruchów graczy.
+ * @param order - numery graczy w kolejności ruchów albo null dla kolejności numerów
+ */
+    @Override
+    public void setTurnOrder(int[] order) {
+        turnOrder = order == null ? null : order.clone();
+    }
+/**
+ * Metoda setThreads ustawia liczbę wątków (i drzew).
+ * @param threads - liczba wątków
+ */
+    @Override
+    public synchronized void setThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Nieprawidłowa liczba wątków: " + threads);
+        }
+        if (threads != this.threads && pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+        this.threads = threads;
+    }
+/**
+ * Metoda close zamyka pulę wątków strategii; kolejne wywołanie selectMove utworzy nową.
+ */
+    @Override
+    public synchronized void close() {
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+    }
+/**
+ * Metoda selectMove wybiera ruch gracza.
+ * @param board - plansza bota (po zakończeniu ma ten sam stan)
+ * @param playerId - numer gracza
+ * @return ruch zakodowany przez PackedMove albo PackedMove.NONE
+ */
+    @Override
+    public int selectMove(Board board, int playerId) {
+        long start = System.nanoTime();
+        long deadline = start + timeLimitNanos;
+        Thread caller = Thread.currentThread();
+        int[] seats = seats(board.getPlayerCount(), playerId);
+        if (trees.length != threads) {
+            trees = new Tree[threads];
+            for (int i = 0; i < threads; i++) {
+                trees[i] = new Tree();
+            }
+        }
+        for (int i = 0; i < threads; i++) {
+            int budget = playouts / threads + (i < playouts % threads ? 1 : 0);
+            trees[i].reset(threads == 1 ? board : board.copy(), seats, playerId, budget, deadline, caller, seed + i);
+        }
+        if (threads == 1) {
+            trees[0].run();
+        } else {
+            List<Callable<Void>> tasks = new ArrayList<>(threads);
+            for (Tree tree : trees) {
+                tasks.add(() -> {
+                    tree.run();
+                    return null;
+                });
+            }
+            pool().invokeAll(tasks);
+        }
+        int best = trees[0].bestRootMove(trees);
+        lastPlayouts = 0;
+        for (Tree tree : trees) {
+            lastPlayouts += tree.completed;
+            tree.board = null;
+        }
+        lastNanos = System.nanoTime() - start;
+        return best;
+    }
+/**
+ * Metoda getName zwraca nazwę strategii.
+ * @return nazwa strategii
+ */
+    @Override
+    public String getName() {
+        return MCTS;
+    }
+/**
+ * Metoda getPlayouts zwraca liczbę rozgrywek wykonanych przy ostatnim wyborze ruchu.
+ * @return liczba rozgrywek
+ */
+    public long getPlayouts() {
+        return lastPlayouts;
+    }
+/**
+ * Metoda getPlayoutsPerSecond zwraca liczbę rozgrywek na sekundę przy ostatnim wyborze ruchu.
+ * @return rozgrywki na sekundę
+ */
+    public double getPlayoutsPerSecond() {
+        return lastNanos == 0 ? 0.0 : lastPlayouts * 1e9 / lastNanos;
+    }
+/**
+ * Metoda seats ustala kolejność graczy.
+ * @param players - liczba graczy
+ * @param playerId - numer gracza bota
+ * @return numery graczy w kolejności ruchów
+ */
+    private int[] seats(int players, int playerId) {
+        int[] seats = turnOrder;
+        if (seats == null || seats.length != players) {
+            seats = new int[players];
+            for (int i = 0; i < players; i++) {
+                seats[i] = i + 1;
+            }
+        }
+        for (int seat : seats) {
+            if (seat == playerId) {
+                return seats;
+            }
+        }
+        throw new IllegalArgumentException("Gracz " + playerId + " nie występuje w kolejności gry.");
+    }
+/**
+ * Metoda pool zwraca pulę wątków, tworząc ją przy pierwszym użyciu.
+ * @return pula wątków
+ */
+    private synchronized ForkJoinPool pool() {
+        if (pool == null) {
+            pool = new ForkJoinPool(threads);
+        }
+        return pool;
+    }
+/**
+ * Klasa Tree jest drzewem jednego wątku zapisanym w tablicach typów prostych.
+ * Dzieci węzła zajmują kolejne indeksy od firstChild.
+ */
+    private static final class Tree {
+        private int[] move = new int[0];
+        private int[] moverSeat = new int[0];
+        private int[] firstChild = new int[0];
+        private int[] childCount = new int[0];
+        private int[] visits = new int[0];
+        private double[] reward = new double[0];
+        private int size;
+
+        private final int[] moves = new int[Board.MAX_MOVES];
+        private final int[] scores = new int[Board.MAX_MOVES];
+        private final int[] path = new int[1024];
+        private double[] results = new double[0];
+        private int[] distances = new int[0];
+        private int[] tips = new int[0];
+
+        private Board board;
+        private int[] seats;
+        private int rootSeat;
+        private int budget;
+        private long deadline;
+        private Thread caller;
+        private SplittableRandom random;
+        private int completed;
+
+        void reset(Board board, int[] seats, int playerId, int budget, long deadline, Thread caller, long seed) {
+            this.board = board;
+            this.seats = seats;
+            this.budget = budget;
+            this.deadline = deadline;
+            this.caller = caller;
+            this.random = new SplittableRandom(seed);
+            this.completed = 0;
+            rootSeat = 0;
+            while (seats[rootSeat] != playerId) {
+                rootSeat++;
+            }
+            if (results.length != seats.length) {
+                results = new double[seats.length];
+                distances = new int[seats.length];
+                tips = new int[seats.length];
+            }
+            for (int seat = 0; seat < seats.length; seat++) {
+                tips[seat] = Evaluation.tip(board, seats[seat]);
+            }
+            int capacity = (int) Math.min(MAX_NODES, (long) budget * 64 + Board.MAX_MOVES + 1);
+            if (move.length < capacity) {
+                move = new int[capacity];
+                moverSeat = new int[capacity];
+                firstChild = new int[capacity];
+                childCount = new int[capacity];
+                visits = new int[capacity];
+                reward = new double[capacity];
+            }
+            size = 1;
+            move[0] = PackedMove.NONE;
+            moverSeat[0] = (rootSeat + seats.length - 1) % seats.length;
+            childCount[0] = 0;
+            visits[0] = 0;
+            reward[0] = 0;
+        }
+
+        void run() {
+            while (completed < budget && ((completed & 15) != 0 || System.nanoTime() < deadline && !caller.isInterrupted())) {
+                iterate();
+                completed++;
+                if (completed == 1 && childCount[0] <= 1) {
+                    break;
+                }
+            }
+        }
+/**
+ * Metoda iterate wykonuje jedną iterację: wybór, rozwinięcie, rozgrywkę losową i propagację nagród.
+ */
+        private void iterate() {
+            int node = 0;
+            int depth = 0;
+            path[depth++] = node;
+            while (childCount[node] > 0) {
+                node = select(node);
+                board.makeMove(move[node]);
+                path[depth++] = node;
+            }
+            if ((node == 0 || visits[node] > 0) && depth < path.length && expand(node)) {
+                node = firstChild[node];
+                board.makeMove(move[node]);
+                path[depth++] = node;
+            }
+            int playoutMoves = playout(nextSeat(moverSeat[node]));
+            for (int i = 0; i < playoutMoves; i++) {
+                board.unmakeMove();
+            }
+            for (int i = depth - 1; i >= 0; i--) {
+                int current = path[i];
+                visits[current]++;
+                if (current != 0) {
+                    reward[current] += results[moverSeat[current]];
+                    board.unmakeMove();
+                }
+            }
+        }
+/**
+ * Metoda select wybiera dziecko węzła według UCT z punktu widzenia gracza na ruchu.
+ * @param node - węzeł
+ * @return wybrane dziecko
+ */
+        private int select(int node) {
+            double logVisits = Math.log(visits[node] + 1);
+            int best = firstChild[node];
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int child = firstChild[node], end = child + childCount[node]; child < end; child++) {
+                if (visits[child] == 0) {
+                    return child;
+                }
+                double value = reward[child] / visits[child] + EXPLORATION * Math.sqrt(logVisits / visits[child]);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = child;
+                }
+            }
+            return best;
+        }
+/**
+ * Metoda expand dodaje dzieci węzła dla wszystkich ruchów gracza na ruchu, uporządkowane według postępu.
+ * @param node - węzeł
+ * @return true, jeśli dodano dzieci
+ */
+        private boolean expand(int node) {
+            int seat = nextSeat(moverSeat[node]);
+            if (seat < 0) {
+                return false;
+            }
+            int count = board.generateMoves(seats[seat], moves);
+            if (count == 0 || size + count > move.length) {
+                return false;
+            }
+            Evaluation.orderMoves(board, moves, scores, count, PackedMove.NONE);
+            firstChild[node] = size;
+            for (int i = 0; i < count; i++) {
+                int child = size++;
+                move[child] = moves[i];
+                moverSeat[child] = seat;
+                childCount[child] = 0;
+                visits[child] = 0;
+                reward[child] = 0;
+            }
+            childCount[node] = count;
+            return true;
+        }
+/**
+ * Metoda playout wykonuje rozgrywkę losową i zapisuje nagrody graczy w tablicy results.
+ * @param seat - pozycja gracza na ruchu albo -1, jeśli wszyscy skończyli
+ * @return liczba wykonanych ruchów (do cofnięcia)
+ */
+        private int playout(int seat) {
+            int made = 0;
+            for (int ply = 0; ply < PLAYOUT_ROUNDS * seats.length && seat >= 0; ply++) {
+                int count = board.generateMoves(seats[seat], moves);
+                if (count > 0) {
+                    int chosen = moves[random.nextInt(count)];
+                    int other = moves[random.nextInt(count)];
+                    if (Evaluation.progress(other, tips[seat]) > Evaluation.progress(chosen, tips[seat])) {
+                        chosen = other;
+                    }
+                    board.makeMove(chosen);
+                    made++;
+                }
+                seat = nextSeat(seat);
+            }
+            for (int i = 0; i < seats.length; i++) {
+                distances[i] = Evaluation.distanceSum(board, seats[i]);
+            }
+            int total = 0;
+            for (int i = 0; i < seats.length; i++) {
+                total += distances[i];
+            }
+            for (int i = 0; i < seats.length; i++) {
+                double lead = seats.length == 1 ? 0 : (double) (total - distances[i]) / (seats.length - 1) - distances[i];
+                results[i] = 1 / (1 + Math.exp(-lead / REWARD_SCALE));
+            }
+            return made;
+        }
+/**
+ * Metoda nextSeat zwraca pozycję kolejnego gracza, który nie ukończył gry.
+ * @param seat - pozycja gracza
+ * @return pozycja kolejnego gracza albo -1, jeśli wszyscy skończyli
+ */
+        private int nextSeat(int seat) {
+            for (int i = 1; i <= seats.length; i++) {
+                int next = (seat + i) % seats.length;
+                if (!Evaluation.hasFinished(board, seats[next])) {
+                    return next;
+                }
+            }
+            return -1;
+        }
+/**
+ * Metoda bestRootMove sumuje odwiedziny ruchów z korzenia we wszystkich drzewach i zwraca najczęściej odwiedzany.
+ * Wszystkie drzewa mają te same ruchy z korzenia w tej samej kolejności.
+ * @param trees - drzewa wszystkich wątków
+ * @return ruch albo PackedMove.NONE
+ */
+        int bestRootMove(Tree[] trees) {
+            int best = PackedMove.NONE;
+            long bestVisits = -1;
+            for (int i = 0; i < childCount[0]; i++) {
+                long total = 0;
+                for (Tree tree : trees) {
+                    if (tree.childCount[0] == childCount[0]) {
+                        total += tree.visits[tree.firstChild[0] + i];
+                    }
+                }
+                if (total > bestVisits) {
+                    bestVisits = total;
+                    best = move[firstChild[0] + i];
+                }
+            }
+            return best;
+        }
+    }
+}
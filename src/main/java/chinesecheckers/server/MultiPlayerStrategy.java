@@ -0,0 +1,357 @@
+package chinesecheckers.server;
+
+/**
+ * Klasa MultiPlayerStrategy wybiera ruch w grach 3-6 osobowych przeszukiwaniem z iteracyjnym pogłębianiem
+ * i cięciami alfa-beta, sprowadzając grę wieloosobową do dwuosobowej na jeden z dwóch sposobów:
+ * PARANOID - wszyscy przeciwnicy ruszają się po kolei i grają przeciwko botowi,
+ * BEST_REPLY - po każdym ruchu bota wykonywany jest tylko jeden, najgroźniejszy ruch spośród wszystkich
+ * przeciwników, dzięki czemu bot widzi więcej własnych ruchów przy sześciu graczach.
+ * Ocena porównuje postęp bota z postępem wszystkich przeciwników, których bazy docelowe wyznacza opponentBaseMapping.
+ * Gracze, którzy już ukończyli grę, są pomijani, tak jak w pętli tur serwera.
+ * Z ustawioną tablicą transpozycji klucz pozycji uwzględnia tryb, gracza bota i gracza na ruchu.
+ */
+public class MultiPlayerStrategy extends SearchStrategy {
+    /**
+     * Sposób sprowadzenia gry wieloosobowej do dwuosobowej.
+     */
+    public enum Mode {
+        PARANOID,
+        BEST_REPLY
+    }
+    /**
+     * Domyślny limit czasu na ruch w milisekundach.
+     */
+    public static final long DEFAULT_TIME_MILLIS = 300;
+    /**
+     * Maksymalna głębokość przeszukiwania.
+     */
+    public static final int MAX_DEPTH = 16;
+
+    private static final int MAX_PLAYERS = 6;
+    private static final int NO_CUTOFF = Integer.MIN_VALUE;
+    private static final int ROOT_SALT = 8;
+    private static final int MODE_SALT = 16;
+
+    private final Mode mode;
+    private final long timeLimitMillis;
+    private final long nodeLimit;
+    private final int maxDepth;
+    private final int[] scratch = new int[Board.MAX_MOVES];
+    private int[] turnOrder;
+
+    private long searchKey;
+    private int tableMove;
+    private int rootPlayer;
+    private int rootSeat;
+    private int[] seats;
+/**
+ * Konstruktor klasy MultiPlayerStrategy z domyślnym limitem czasu.
+ * @param mode - sposób sprowadzenia gry do dwuosobowej
+ */
+    public MultiPlayerStrategy(Mode mode) {
+        this(mode, DEFAULT_TIME_MILLIS, Long.MAX_VALUE, MAX_DEPTH);
+    }
+/**
+ * Konstruktor klasy MultiPlayerStrategy.
+ * @param mode - sposób sprowadzenia gry do dwuosobowej
+ * @param timeLimitMillis - limit czasu na ruch w milisekundach
+ * @param nodeLimit - limit liczby odwiedzonych węzłów na ruch
+ * @param maxDepth - maksymalna głębokość (1..MAX_DEPTH)
+ */
+    public MultiPlayerStrategy(Mode mode, long timeLimitMillis, long nodeLimit, int maxDepth) {
+        super(timeLimitMillis, nodeLimit, checkDepth(maxDepth), (MAX_PLAYERS - 1) * Board.MAX_MOVES);
+        this.mode = mode;
+        this.timeLimitMillis = timeLimitMillis;
+        this.nodeLimit = nodeLimit;
+        this.maxDepth = maxDepth;
+    }
+/**
+ * Metoda setTurnOrder ustawia kolejność ruchów graczy (np. z wiadomości "Kolejność gry").
+ * @param order - numery graczy w kolejności ruchów albo null dla kolejności numerów
+ */
+    @Override
+    public void setTurnOrder(int[] order) {
+        turnOrder = order == null ? null : order.clone();
+    }
+/**
+ * Metoda selectMove wybiera ruch gracza.
+ * @param board - plansza bota (po zakończeniu ma ten sam stan)
+ * @param playerId - numer gracza
+ * @return ruch zakodowany przez PackedMove albo PackedMove.NONE
+ */
+    @Override
+    public int selectMove(Board board, int playerId) {
+        return search(board, playerId);
+    }
+/**
+ * Metoda getName zwraca nazwę strategii.
+ * @return nazwa strategii
+ */
+    @Override
+    public String getName() {
+        return mode == Mode.PARANOID ? PARANOID : BEST_REPLY;
+    }
+
+    @Override
+    void prepare(Board board, int playerId) {
+        rootPlayer = playerId;
+        prepareSeats(board.getPlayerCount());
+        searchKey = TranspositionTable.salt(MODE_SALT + mode.ordinal()) ^ TranspositionTable.salt(ROOT_SALT + playerId);
+    }
+
+    @Override
+    int searchRootMove(int depth, int alpha) {
+        return mode == Mode.PARANOID
+                ? paranoid(depth - 1, 1, nextSeat(rootSeat), alpha, INFINITY)
+                : bestReply(depth - 1, 1, false, alpha, INFINITY);
+    }
+
+    @Override
+    SearchStrategy newWorker() {
+        MultiPlayerStrategy worker = new MultiPlayerStrategy(mode, timeLimitMillis, nodeLimit, maxDepth);
+        worker.turnOrder = turnOrder;
+        return worker;
+    }
+/**
+ * Metoda paranoid przeszukuje poddrzewo, w którym wszyscy przeciwnicy ruszają się po kolei i minimalizują ocenę bota.
+ * @param depth - pozostała głębokość
+ * @param ply - odległość od korzenia
+ * @param seat - pozycja w kolejce gracza na ruchu
+ * @param alpha - dolne ograniczenie
+ * @param beta - górne ograniczenie
+ * @return ocena pozycji z punktu widzenia bota
+ */
+    private int paranoid(int depth, int ply, int seat, int alpha, int beta) {
+        if (tick()) {
+            return 0;
+        }
+        if (Evaluation.hasFinished(board, rootPlayer)) {
+            return WIN - ply;
+        }
+        if (depth == 0) {
+            return evaluate();
+        }
+        while (seats[seat] != rootPlayer && Evaluation.hasFinished(board, seats[seat])) {
+            seat = nextSeat(seat);
+        }
+        int playerId = seats[seat];
+        boolean maximizing = playerId == rootPlayer;
+        long key = board.getHash() ^ searchKey ^ TranspositionTable.salt(playerId);
+        int cutoff = probe(key, depth, ply, alpha, beta);
+        if (cutoff != NO_CUTOFF) {
+            return cutoff;
+        }
+        int firstMove = tableMove;
+        int[] moves = moves(ply);
+        int count = board.generateMoves(playerId, moves);
+        if (count == 0) {
+            return paranoid(depth - 1, ply + 1, nextSeat(seat), alpha, beta);
+        }
+        Evaluation.orderMoves(board, moves, scores(ply), count, killers[ply]);
+        Evaluation.moveToFront(moves, count, firstMove);
+        int originalAlpha = alpha;
+        int originalBeta = beta;
+        int best = maximizing ? -INFINITY : INFINITY;
+        int bestMove = PackedMove.NONE;
+        for (int i = 0; i < count; i++) {
+            board.makeMove(moves[i]);
+            int score = paranoid(depth - 1, ply + 1, nextSeat(seat), alpha, beta);
+            board.unmakeMove();
+            if (aborted) {
+                return 0;
+            }
+            if (maximizing ? score > best : score < best) {
+                best = score;
+                bestMove = moves[i];
+                if (maximizing) {
+                    alpha = Math.max(alpha, score);
+                } else {
+                    beta = Math.min(beta, score);
+                }
+                if (alpha >= beta) {
+                    killers[ply] = moves[i];
+                    break;
+                }
+            }
+        }
+        store(key, depth, ply, best, bestMove, originalAlpha, originalBeta);
+        return best;
+    }
+/**
+ * Metoda bestReply przeszukuje poddrzewo, w którym ruchy bota przeplatają się z jednym ruchem
+ * wybranym spośród ruchów wszystkich przeciwników.
+ * @param depth - pozostała głębokość
+ * @param ply - odległość od korzenia
+ * @param rootToMove - czy na ruchu jest bot
+ * @param alpha - dolne ograniczenie
+ * @param beta - górne ograniczenie
+ * @return ocena pozycji z punktu widzenia bota
+ */
+    private int bestReply(int depth, int ply, boolean rootToMove, int alpha, int beta) {
+        if (tick()) {
+            return 0;
+        }
+        if (Evaluation.hasFinished(board, rootPlayer)) {
+            return WIN - ply;
+        }
+        if (depth == 0) {
+            return evaluate();
+        }
+        long key = board.getHash() ^ searchKey ^ (rootToMove ? TranspositionTable.salt(rootPlayer) : 0L);
+        int cutoff = probe(key, depth, ply, alpha, beta);
+        if (cutoff != NO_CUTOFF) {
+            return cutoff;
+        }
+        int firstMove = tableMove;
+        int[] moves = moves(ply);
+        int count;
+        if (rootToMove) {
+            count = board.generateMoves(rootPlayer, moves);
+        } else {
+            count = 0;
+            for (int seat = 0; seat < seats.length; seat++) {
+                int opponent = seats[seat];
+                if (opponent != rootPlayer && !Evaluation.hasFinished(board, opponent)) {
+                    int opponentMoves = board.generateMoves(opponent, scratch);
+                    System.arraycopy(scratch, 0, moves, count, opponentMoves);
+                    count += opponentMoves;
+                }
+            }
+        }
+        if (count == 0) {
+            return bestReply(depth - 1, ply + 1, !rootToMove, alpha, beta);
+        }
+        Evaluation.orderMoves(board, moves, scores(ply), count, killers[ply]);
+        Evaluation.moveToFront(moves, count, firstMove);
+        int originalAlpha = alpha;
+        int originalBeta = beta;
+        int best = rootToMove ? -INFINITY : INFINITY;
+        int bestMove = PackedMove.NONE;
+        for (int i = 0; i < count; i++) {
+            board.makeMove(moves[i]);
+            int score = bestReply(depth - 1, ply + 1, !rootToMove, alpha, beta);
+            board.unmakeMove();
+            if (aborted) {
+                return 0;
+            }
+            if (rootToMove ? score > best : score < best) {
+                best = score;
+                bestMove = moves[i];
+                if (rootToMove) {
+                    alpha = Math.max(alpha, score);
+                } else {
+                    beta = Math.min(beta, score);
+                }
+                if (alpha >= beta) {
+                    killers[ply] = moves[i];
+                    break;
+                }
+            }
+        }
+        store(key, depth, ply, best, bestMove, originalAlpha, originalBeta);
+        return best;
+    }
+/**
+ * Metoda probe szuka pozycji w tablicy transpozycji i zapamiętuje jej najlepszy ruch w polu tableMove.
+ * @param key - klucz pozycji
+ * @param depth - pozostała głębokość
+ * @param ply - odległość od korzenia
+ * @param alpha - dolne ograniczenie
+ * @param beta - górne ograniczenie
+ * @return ocena z tablicy, jeśli wystarcza do zakończenia węzła, albo NO_CUTOFF
+ */
+    private int probe(long key, int depth, int ply, int alpha, int beta) {
+        tableMove = PackedMove.NONE;
+        if (table == null) {
+            return NO_CUTOFF;
+        }
+        long entry = table.probe(key);
+        if (entry == TranspositionTable.MISS) {
+            return NO_CUTOFF;
+        }
+        tableMove = TranspositionTable.move(entry);
+        if (TranspositionTable.depth(entry) < depth) {
+            return NO_CUTOFF;
+        }
+        int score = TranspositionTable.scoreFromTable(TranspositionTable.score(entry), ply);
+        int bound = TranspositionTable.bound(entry);
+        if (bound == TranspositionTable.EXACT
+                || bound == TranspositionTable.LOWER && score >= beta
+                || bound == TranspositionTable.UPPER && score <= alpha) {
+            return score;
+        }
+        return NO_CUTOFF;
+    }
+/**
+ * Metoda store zapisuje wynik węzła w tablicy transpozycji.
+ * @param key - klucz pozycji
+ * @param depth - pozostała głębokość
+ * @param ply - odległość od korzenia
+ * @param best - ocena węzła
+ * @param bestMove - najlepszy ruch
+ * @param alpha - dolne ograniczenie przy wejściu do węzła
+ * @param beta - górne ograniczenie przy wejściu do węzła
+ */
+    private void store(long key, int depth, int ply, int best, int bestMove, int alpha, int beta) {
+        if (table == null) {
+            return;
+        }
+        int bound = best >= beta ? TranspositionTable.LOWER
+                : best > alpha ? TranspositionTable.EXACT : TranspositionTable.UPPER;
+        table.store(key, depth, bound, TranspositionTable.scoreToTable(best, ply), bestMove);
+    }
+/**
+ * Metoda evaluate ocenia pozycję z punktu widzenia bota: suma odległości przeciwników od ich baz docelowych
+ * minus odległość bota pomnożona przez liczbę przeciwników.
+ * @return ocena pozycji
+ */
+    private int evaluate() {
+        int score = 0;
+        for (int seat = 0; seat < seats.length; seat++) {
+            if (seats[seat] != rootPlayer) {
+                score += Evaluation.distanceSum(board, seats[seat]);
+            }
+        }
+        return score - (seats.length - 1) * Evaluation.distanceSum(board, rootPlayer);
+    }
+/**
+ * Metoda prepareSeats ustala kolejność graczy i pozycję bota w kolejce.
+ * @param players - liczba graczy
+ */
+    private void prepareSeats(int players) {
+        if (turnOrder != null && turnOrder.length == players) {
+            seats = turnOrder;
+        } else {
+            seats = new int[players];
+            for (int i = 0; i < players; i++) {
+                seats[i] = i + 1;
+            }
+        }
+        rootSeat = 0;
+        while (rootSeat < seats.length && seats[rootSeat] != rootPlayer) {
+            rootSeat++;
+        }
+        if (rootSeat == seats.length) {
+            throw new IllegalArgumentException("Gracz " + rootPlayer + " nie występuje w kolejności gry.");
+        }
+    }
+/**
+ * Metoda nextSeat zwraca pozycję kolejnego gracza w kolejce.
+ * @param seat - pozycja gracza
+ * @return pozycja kolejnego gracza
+ */
+    private int nextSeat(int seat) {
+        return (seat + 1) % seats.length;
+    }
+/**
+ * Metoda checkDepth sprawdza maksymalną głębokość przed utworzeniem buforów.
+ * @param maxDepth - maksymalna głębokość
+ * @return maksymalna głębokość
+ */
+    private static int checkDepth(int maxDepth) {
+        if (maxDepth < 1 || maxDepth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Nieprawidłowa głębokość: " + maxDepth);
+        }
+        return maxDepth;
+    }
+}
@@ -0,0 +1,106 @@
+package chinesecheckers.server;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+/**
+ * Klasa OpeningBook to księga otwarć zbudowana przez OpeningBookBuilder z zapisanych gier, odczytywana
+ * z pliku odwzorowanego w pamięci. Plik to nagłówek i tablica z adresowaniem otwartym (sondowanie liniowe):
+ * każde miejsce ma klucz pozycji (hasz planszy, gracz na ruchu i liczba graczy), ruch i liczbę wygranych gier,
+ * w których go zagrano. Wyszukanie ruchu to zwykle jeden odczyt, bez wczytywania całego pliku na stertę,
+ * a jeden obiekt może być współdzielony przez wszystkie boty serwera.
+ * Księga obejmuje tylko wariant klasyczny, bo tylko w nim pozycję początkową da się odtworzyć z zapisanych ruchów.
+ */
+public final class OpeningBook {
+    /**
+     * Wariant gry, którego dotyczy księga.
+     */
+    public static final String VARIANT = "Rozgrywka klasyczna";
+
+    static final int MAGIC = 0x43434F42;
+    static final int HEADER_BYTES = 16;
+    static final int SLOT_BYTES = 16;
+
+    private final ByteBuffer slots;
+    private final int plies;
+    private final int mask;
+    private final int size;
+
+    private OpeningBook(ByteBuffer buffer) throws IOException {
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Plik nie jest księgą otwarć.");
+        }
+        int capacity = buffer.getInt(8);
+        if (Integer.bitCount(capacity) != 1 || buffer.capacity() != HEADER_BYTES + (long) capacity * SLOT_BYTES) {
+            throw new IOException("Nieprawidłowy rozmiar księgi otwarć: " + capacity);
+        }
+        this.plies = buffer.getInt(4);
+        this.mask = capacity - 1;
+        this.size = buffer.getInt(12);
+        this.slots = buffer.position(HEADER_BYTES).slice();
+    }
+/**
+ * Metoda open odwzorowuje plik księgi w pamięci.
+ * @param path - ścieżka pliku zapisanego przez OpeningBookBuilder
+ * @return księga otwarć
+ * @throws IOException jeśli pliku nie da się odczytać albo nie jest księgą otwarć
+ */
+    public static OpeningBook open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new OpeningBook(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+/**
+ * Metoda lookup zwraca ruch z księgi dla pozycji i gracza na ruchu.
+ * @param board - plansza
+ * @param playerId - numer gracza na ruchu
+ * @return ruch zakodowany przez PackedMove albo PackedMove.NONE, jeśli pozycji nie ma w księdze
+ */
+    public int lookup(Board board, int playerId) {
+        if (!VARIANT.equals(board.getVariant())) {
+            return PackedMove.NONE;
+        }
+        long key = key(board.getHash(), playerId, board.getPlayerCount());
+        for (int slot = (int) key & mask; ; slot = (slot + 1) & mask) {
+            long stored = slots.getLong(slot * SLOT_BYTES);
+            if (stored == 0) {
+                return PackedMove.NONE;
+            }
+            if (stored == key) {
+                int move = slots.getInt(slot * SLOT_BYTES + 8);
+                int from = PackedMove.from(move);
+                int to = PackedMove.to(move);
+                boolean legal = board.cellValue(from) == playerId && board.isValidMove(BoardGeometry.row(from),
+                        BoardGeometry.column(from), BoardGeometry.row(to), BoardGeometry.column(to), playerId);
+                return legal ? move : PackedMove.NONE;
+            }
+        }
+    }
+/**
+ * Metoda getPlies zwraca liczbę początkowych półruchów gier, z których zbudowano księgę.
+ * @return liczba półruchów
+ */
+    public int getPlies() {
+        return plies;
+    }
+/**
+ * Metoda size zwraca liczbę pozycji w księdze.
+ * @return liczba pozycji
+ */
+    public int size() {
+        return size;
+    }
+/**
+ * Metoda key zwraca klucz pozycji w księdze (0 jest zarezerwowane dla pustego miejsca).
+ * @param hash - hasz planszy
+ * @param playerId - numer gracza na ruchu
+ * @param players - liczba graczy
+ * @return klucz
+ */
+    static long key(long hash, int playerId, int players) {
+        long key = hash ^ Zobrist.turn(playerId) ^ players * 0x9E3779B97F4A7C15L;
+        return key == 0 ? 1 : key;
+    }
+}
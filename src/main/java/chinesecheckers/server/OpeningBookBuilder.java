@@ -0,0 +1,146 @@
+package chinesecheckers.server;
+
+import chinesecheckers.model.SavedMove;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+/**
+ * Klasa OpeningBookBuilder kompiluje księgę otwarć (OpeningBook) z ruchów zapisanych w bazie.
+ * Ruchy muszą przychodzić pogrupowane według gier, w kolejności wykonania (GameService.forEachMove).
+ * Każda gra w wariancie klasycznym jest odtwarzana od pozycji początkowej; gry, w których żaden gracz
+ * nie skończył albo zapisano nieprawidłowy ruch, są pomijane. Z pierwszych półruchów gry do księgi trafiają
+ * tylko ruchy zwycięzcy, a dla każdej pozycji zapisywany jest ruch zagrany w największej liczbie wygranych gier.
+ */
+public final class OpeningBookBuilder implements Consumer<SavedMove> {
+
+    private final int plies;
+    private final Map<Long, Map<Integer, Integer>> wins = new HashMap<>();
+    private final List<long[]> line = new ArrayList<>();
+    private Long gameId;
+    private Board board;
+    private int ply;
+    private int winner;
+    private int games;
+/**
+ * Konstruktor klasy OpeningBookBuilder.
+ * @param plies - liczba początkowych półruchów każdej gry zapisywanych w księdze
+ */
+    public OpeningBookBuilder(int plies) {
+        if (plies < 1) {
+            throw new IllegalArgumentException("Nieprawidłowa liczba półruchów księgi: " + plies);
+        }
+        this.plies = plies;
+    }
+/**
+ * Metoda accept odtwarza kolejny zapisany ruch.
+ * @param move - ruch z bazy
+ */
+    @Override
+    public void accept(SavedMove move) {
+        if (!move.getGameId().equals(gameId)) {
+            finishGame();
+            gameId = move.getGameId();
+            board = OpeningBook.VARIANT.equals(move.getVariant())
+                    ? Perft.createPosition(move.getMaxPlayers(), move.getVariant(), Perft.CHAOS_SEED) : null;
+        }
+        if (board == null || winner != 0) {
+            return;
+        }
+        int playerId = move.getPlayerId();
+        int from = BoardGeometry.cellIndex(move.getStartX(), move.getStartY());
+        int to = BoardGeometry.cellIndex(move.getEndX(), move.getEndY());
+        if (from < 0 || to < 0 || board.cellValue(from) != playerId
+                || !board.isValidMove(move.getStartX(), move.getStartY(), move.getEndX(), move.getEndY(), playerId)) {
+            board = null;
+            return;
+        }
+        int packed = PackedMove.of(from, to);
+        if (ply++ < plies) {
+            line.add(new long[]{OpeningBook.key(board.getHash(), playerId, board.getPlayerCount()), packed, playerId});
+        }
+        board.makeMove(packed);
+        if (board.getPiecesInTarget(playerId) == BoardGeometry.BASE_SIZE) {
+            winner = playerId;
+        }
+    }
+/**
+ * Metoda getGames zwraca liczbę zakończonych gier dodanych do księgi (ostatnia gra jest liczona przy zapisie).
+ * @return liczba gier
+ */
+    public int getGames() {
+        return games;
+    }
+/**
+ * Metoda write zapisuje księgę do pliku (przez plik tymczasowy, więc otwarta wcześniej księga nie jest uszkadzana).
+ * @param path - ścieżka pliku
+ * @return liczba pozycji w księdze
+ * @throws IOException jeśli zapis się nie powiedzie
+ */
+    public int write(Path path) throws IOException {
+        finishGame();
+        int capacity = Integer.highestOneBit(Math.max(1, wins.size()) * 2 - 1) * 2;
+        long[] keys = new long[capacity];
+        int[] moves = new int[capacity];
+        int[] counts = new int[capacity];
+        for (Map.Entry<Long, Map<Integer, Integer>> position : wins.entrySet()) {
+            int bestMove = PackedMove.NONE;
+            int bestCount = 0;
+            for (Map.Entry<Integer, Integer> candidate : position.getValue().entrySet()) {
+                int count = candidate.getValue();
+                if (count > bestCount || count == bestCount && candidate.getKey() < bestMove) {
+                    bestMove = candidate.getKey();
+                    bestCount = count;
+                }
+            }
+            long key = position.getKey();
+            int slot = (int) key & (capacity - 1);
+            while (keys[slot] != 0) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            keys[slot] = key;
+            moves[slot] = bestMove;
+            counts[slot] = bestCount;
+        }
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            out.writeInt(OpeningBook.MAGIC);
+            out.writeInt(plies);
+            out.writeInt(capacity);
+            out.writeInt(wins.size());
+            for (int i = 0; i < capacity; i++) {
+                out.writeLong(keys[i]);
+                out.writeInt(moves[i]);
+                out.writeInt(counts[i]);
+            }
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING);
+        return wins.size();
+    }
+/**
+ * Metoda finishGame dodaje do księgi ruchy zwycięzcy odtworzonej gry i zeruje stan odtwarzania.
+ */
+    private void finishGame() {
+        if (board != null && winner != 0) {
+            for (long[] entry : line) {
+                if (entry[2] == winner) {
+                    wins.computeIfAbsent(entry[0], key -> new HashMap<>()).merge((int) entry[1], 1, Integer::sum);
+                }
+            }
+            games++;
+        }
+        line.clear();
+        board = null;
+        gameId = null;
+        ply = 0;
+        winner = 0;
+    }
+}
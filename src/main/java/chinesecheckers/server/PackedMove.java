@@ -0,0 +1,50 @@
+package chinesecheckers.server;
+/**
+ * Klasa PackedMove koduje ruch jako jedną liczbę int: indeks pola startowego
+ * w bitach 8..15 i indeks pola docelowego w bitach 0..7 (indeksy z BoardGeometry).
+ * Dzięki temu listy ruchów można trzymać w zwykłych tablicach int bez tworzenia obiektów.
+ */
+public final class PackedMove {
+    /**
+     * Wartość oznaczająca brak ruchu.
+     */
+    public static final int NONE = -1;
+
+    private PackedMove() {
+    }
+/**
+ * Metoda of koduje ruch.
+ * @param from - indeks pola startowego
+ * @param to - indeks pola docelowego
+ * @return zakodowany ruch
+ */
+    public static int of(int from, int to) {
+        return (from << 8) | to;
+    }
+/**
+ * Metoda from zwraca indeks pola startowego ruchu.
+ * @param move - zakodowany ruch
+ * @return indeks pola startowego
+ */
+    public static int from(int move) {
+        return move >>> 8;
+    }
+/**
+ * Metoda to zwraca indeks pola docelowego ruchu.
+ * @param move - zakodowany ruch
+ * @return indeks pola docelowego
+ */
+    public static int to(int move) {
+        return move & 0xFF;
+    }
+/**
+ * Metoda toString zwraca ruch w formacie protokołu gry "Ruch-x,y:x,y".
+ * @param move - zakodowany ruch
+ * @return ruch w postaci tekstowej
+ */
+    public static String toString(int move) {
+        int from = from(move);
+        int to = to(move);
+        return "Ruch-" + BoardGeometry.row(from) + "," + BoardGeometry.column(from) + ":" + BoardGeometry.row(to) + "," + BoardGeometry.column(to);
+    }
+}
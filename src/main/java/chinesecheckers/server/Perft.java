@@ -0,0 +1,318 @@
+package chinesecheckers.server;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+/**
+ * Klasa Perft liczy wszystkie sekwencje legalnych ruchów do zadanej głębokości (perft) z danej pozycji.
+ * Gracze ruszają się po kolei według numerów; gracz bez legalnego ruchu pasuje.
+ * Tryb sprawdzający porównuje w każdym węźle ruchy z generateMoves i odpowiedzi isValidMove z niezależnym wzorcem:
+ * rekurencyjnym szukaniem skoków po współrzędnych, jak w pierwotnej wersji Board, więc służy jako wyrocznia
+ * poprawności generatora ruchów i wspólnego z nim przeszukiwania skoków. Tryb równoległy dzieli pracę na ruchy z korzenia
+ * i liczy je w puli ForkJoinPool, każdy na własnej kopii planszy.
+ */
+public class Perft {
+    /**
+     * Ziarno rozstawienia dla wariantu Order Out Of Chaos w main.
+     */
+    public static final long CHAOS_SEED = 12345L;
+
+    private static final String[] VARIANTS = {"Rozgrywka klasyczna", "Order Out Of Chaos"};
+    private static final int[] PLAYER_COUNTS = {2, 3, 4, 6};
+
+    private final Board board;
+    private final int players;
+    private final boolean checked;
+    private int[][] moveBuffers = new int[0][];
+    private final boolean[] generated = new boolean[BoardGeometry.CELLS * BoardGeometry.CELLS];
+    private final boolean[] reference = new boolean[BoardGeometry.CELLS];
+    private final boolean[] visited = new boolean[BoardGeometry.CELLS];
+/**
+ * Konstruktor klasy Perft.
+ * @param board - plansza, z której liczone są ruchy (po zakończeniu liczenia ma ten sam stan)
+ * @param players - liczba graczy
+ * @param checked - czy w każdym węźle porównywać generateMoves i isValidMove z niezależnym wzorcem
+ */
+    public Perft(Board board, int players, boolean checked) {
+        this.board = board;
+        this.players = players;
+        this.checked = checked;
+    }
+/**
+ * Metoda count liczy sekwencje ruchów do zadanej głębokości.
+ * @param depth - głębokość
+ * @param playerId - numer gracza wykonującego pierwszy ruch
+ * @return liczba liści drzewa ruchów
+ * @throws IllegalStateException W trybie sprawdzającym, jeśli generator ruchów albo isValidMove nie zgadza się ze wzorcem.
+ */
+    public long count(int depth, int playerId) {
+        if (moveBuffers.length < depth + 1) {
+            moveBuffers = new int[depth + 1][Board.MAX_MOVES];
+        }
+        return search(depth, playerId);
+    }
+/**
+ * Metoda countParallel liczy sekwencje ruchów do zadanej głębokości, rozdzielając ruchy z korzenia między wątki puli.
+ * @param depth - głębokość
+ * @param playerId - numer gracza wykonującego pierwszy ruch
+ * @param pool - pula wątków
+ * @return liczba liści drzewa ruchów, taka sama jak z count
+ */
+    public long countParallel(int depth, int playerId, ForkJoinPool pool) {
+        if (depth <= 1) {
+            return count(depth, playerId);
+        }
+        int[] moves = new int[Board.MAX_MOVES];
+        int moveCount = board.generateMoves(playerId, moves);
+        if (checked) {
+            verify(playerId, moves, moveCount);
+        }
+        int next = nextPlayer(playerId);
+        if (moveCount == 0) {
+            return countParallel(depth - 1, next, pool);
+        }
+        List<RootTask> tasks = new ArrayList<>(moveCount);
+        for (int i = 0; i < moveCount; i++) {
+            tasks.add(new RootTask(board.copy(), moves[i], depth - 1, next));
+        }
+        return pool.invoke(new RecursiveTask<Long>() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected Long compute() {
+                long nodes = 0;
+                for (RootTask task : invokeAll(tasks)) {
+                    nodes += task.join();
+                }
+                return nodes;
+            }
+        });
+    }
+/**
+ * Metoda search liczy liście poddrzewa metodą make/unmake.
+ * @param depth - pozostała głębokość
+ * @param playerId - numer gracza na ruchu
+ * @return liczba liści
+ */
+    private long search(int depth, int playerId) {
+        if (depth == 0) {
+            return 1;
+        }
+        int[] moves = moveBuffers[depth];
+        int moveCount = board.generateMoves(playerId, moves);
+        if (checked) {
+            verify(playerId, moves, moveCount);
+        }
+        int next = nextPlayer(playerId);
+        if (moveCount == 0) {
+            return search(depth - 1, next);
+        }
+        if (depth == 1) {
+            return moveCount;
+        }
+        long nodes = 0;
+        for (int i = 0; i < moveCount; i++) {
+            board.makeMove(moves[i]);
+            nodes += search(depth - 1, next);
+            board.unmakeMove();
+        }
+        return nodes;
+    }
+/**
+ * Metoda verify porównuje ruchy z generateMoves i odpowiedzi isValidMove z niezależnym wzorcem (referenceReach):
+ * dla każdego pionka gracza i każdego pola zbiór ruchów generatora, isValidMove i wzorzec muszą się zgadzać.
+ * @param playerId - numer gracza
+ * @param moves - ruchy z generateMoves
+ * @param moveCount - liczba ruchów
+ * @throws IllegalStateException Jeśli generator albo isValidMove nie zgadza się ze wzorcem.
+ */
+    private void verify(int playerId, int[] moves, int moveCount) {
+        for (int i = 0; i < moveCount; i++) {
+            int from = PackedMove.from(moves[i]);
+            int key = from * BoardGeometry.CELLS + PackedMove.to(moves[i]);
+            if (generated[key] || board.cellValue(from) != playerId) {
+                clear(moves, i);
+                throw new IllegalStateException("Nieprawidłowy ruch z generatora: " + PackedMove.toString(moves[i]));
+            }
+            generated[key] = true;
+        }
+        int expected = 0;
+        for (int p = 0; p < board.getPieceCount(playerId); p++) {
+            int from = board.getPieceCell(playerId, p);
+            referenceReach(from);
+            for (int to = 0; to < BoardGeometry.CELLS; to++) {
+                boolean legal = reference[to] && isReferenceExitAllowed(from, to, playerId);
+                String move = PackedMove.toString(PackedMove.of(from, to));
+                if (legal != generated[from * BoardGeometry.CELLS + to]) {
+                    clear(moves, moveCount);
+                    throw new IllegalStateException((legal ? "Generator pominął ruch: " : "Nieprawidłowy ruch z generatora: ") + move);
+                }
+                if (to != from && legal != board.isValidMove(BoardGeometry.row(from), BoardGeometry.column(from),
+                        BoardGeometry.row(to), BoardGeometry.column(to), playerId)) {
+                    clear(moves, moveCount);
+                    throw new IllegalStateException("isValidMove różni się od wzorca dla ruchu: " + move);
+                }
+                if (legal) {
+                    expected++;
+                }
+            }
+        }
+        clear(moves, moveCount);
+        if (expected != moveCount) {
+            throw new IllegalStateException("Liczba ruchów " + moveCount + " różni się od " + expected + " ze wzorca.");
+        }
+    }
+/**
+ * Metoda referenceReach zaznacza w tablicy reference pola, na które pionek może przejść według zasad
+ * sprawdzanych przez pierwotną wersję Board (bez zasady opuszczania bazy): krok po przekątnej na wolne pole
+ * albo ciąg skoków nad dowolnym pionkiem. Skoki są szukane rekurencyjnie po współrzędnych, jak w dawnej
+ * metodzie canJump, bez tablic skoków, masek i kolejki Board; pionek przez cały ruch stoi na polu startowym.
+ * @param from - indeks pola startowego
+ */
+    private void referenceReach(int from) {
+        Arrays.fill(reference, false);
+        Arrays.fill(visited, false);
+        int x = BoardGeometry.row(from);
+        int y = BoardGeometry.column(from);
+        for (int dx = -1; dx <= 1; dx += 2) {
+            for (int dy = -1; dy <= 1; dy += 2) {
+                int step = BoardGeometry.cellIndex(x + dx, y + dy);
+                if (step >= 0 && board.cellValue(step) == 0) {
+                    reference[step] = true;
+                }
+            }
+        }
+        visited[from] = true;
+        referenceJumps(x, y);
+    }
+/**
+ * Metoda referenceJumps przeszukuje w głąb skoki z danego pola i zaznacza pola lądowania.
+ * @param x - współrzędna x pola
+ * @param y - współrzędna y pola
+ */
+    private void referenceJumps(int x, int y) {
+        for (int dx = -1; dx <= 1; dx += 2) {
+            for (int dy = -1; dy <= 1; dy += 2) {
+                int over = BoardGeometry.cellIndex(x + dx, y + dy);
+                int landing = BoardGeometry.cellIndex(x + 2 * dx, y + 2 * dy);
+                if (over >= 0 && landing >= 0 && board.cellValue(over) != 0 && board.cellValue(landing) == 0
+                        && !visited[landing]) {
+                    visited[landing] = true;
+                    reference[landing] = true;
+                    referenceJumps(x + 2 * dx, y + 2 * dy);
+                }
+            }
+        }
+    }
+/**
+ * Metoda isReferenceExitAllowed sprawdza zasadę wariantu zabraniającą opuszczenia bazy docelowej
+ * (w Order Out Of Chaos - bazy domowej), tak jak pierwotna wersja isValidMove.
+ * @param from - indeks pola startowego
+ * @param to - indeks pola docelowego
+ * @param playerId - numer gracza
+ * @return true, jeśli ruch nie narusza zasady
+ */
+    private boolean isReferenceExitAllowed(int from, int to, int playerId) {
+        int startX = BoardGeometry.row(from);
+        int startY = BoardGeometry.column(from);
+        int endX = BoardGeometry.row(to);
+        int endY = BoardGeometry.column(to);
+        if ("Order Out Of Chaos".equals(board.getVariant())) {
+            return !board.isInHomeBase(startX, startY, playerId) || board.isInHomeBase(endX, endY, playerId);
+        }
+        if ("Rozgrywka klasyczna".equals(board.getVariant())) {
+            return !board.isInOpponentBase(startX, startY, playerId) || board.isInOpponentBase(endX, endY, playerId);
+        }
+        return true;
+    }
+/**
+ * Metoda clear czyści znaczniki wygenerowanych ruchów.
+ * @param moves - ruchy z generateMoves
+ * @param moveCount - liczba oznaczonych ruchów
+ */
+    private void clear(int[] moves, int moveCount) {
+        for (int i = 0; i < moveCount; i++) {
+            generated[PackedMove.from(moves[i]) * BoardGeometry.CELLS + PackedMove.to(moves[i])] = false;
+        }
+    }
+/**
+ * Metoda nextPlayer zwraca numer kolejnego gracza.
+ * @param playerId - numer gracza
+ * @return numer kolejnego gracza
+ */
+    private int nextPlayer(int playerId) {
+        return playerId % players + 1;
+    }
+/**
+ * Klasa RootTask liczy poddrzewo jednego ruchu z korzenia na własnej kopii planszy.
+ */
+    private final class RootTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+        private final Board copy;
+        private final int move;
+        private final int depth;
+        private final int playerId;
+
+        RootTask(Board copy, int move, int depth, int playerId) {
+            this.copy = copy;
+            this.move = move;
+            this.depth = depth;
+            this.playerId = playerId;
+        }
+
+        @Override
+        protected Long compute() {
+            copy.makeMove(move);
+            return new Perft(copy, players, checked).count(depth, playerId);
+        }
+    }
+/**
+ * Metoda createPosition tworzy pozycję początkową dla liczby graczy i wariantu.
+ * @param players - liczba graczy
+ * @param variant - wariant gry
+ * @param seed - ziarno rozstawienia dla wariantu Order Out Of Chaos
+ * @return plansza w pozycji początkowej
+ */
+    public static Board createPosition(int players, String variant, long seed) {
+        Board board = new Board();
+        if ("Order Out Of Chaos".equals(variant)) {
+            board.initializeBoardForChaos(players, new Random(seed));
+        } else {
+            board.initializeBoardForPlayers(players);
+        }
+        board.initializeOpponentBaseMapping(players);
+        board.setVariant(variant);
+        return board;
+    }
+/**
+ * Metoda main uruchamia perft dla wszystkich liczb graczy i wariantów.
+ * Argumenty: głębokość (domyślnie 3), liczba wątków (domyślnie liczba procesorów), opcjonalnie "check".
+ * @param args Argumenty wywołania programu.
+ */
+    public static void main(String[] args) {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        boolean checked = args.length > 2 && "check".equals(args[2]);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        for (String variant : VARIANTS) {
+            for (int players : PLAYER_COUNTS) {
+                Board board = createPosition(players, variant, CHAOS_SEED);
+                long start = System.nanoTime();
+                long nodes = new Perft(board, players, checked).count(depth, 1);
+                long sequential = System.nanoTime() - start;
+                start = System.nanoTime();
+                long parallelNodes = new Perft(board, players, checked).countParallel(depth, 1, pool);
+                long parallel = System.nanoTime() - start;
+                if (nodes != parallelNodes) {
+                    throw new IllegalStateException("Wynik równoległy " + parallelNodes + " różni się od " + nodes + ".");
+                }
+                System.out.printf("%s, graczy %d, głębokość %d: %d węzłów, %.0f węzłów/s (1 wątek), %.0f węzłów/s (%d wątków)%n",
+                        variant, players, depth, nodes, nodes * 1e9 / sequential, nodes * 1e9 / parallel, threads);
+            }
+        }
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,238 @@
+package chinesecheckers.server;
+
+import java.util.HashMap;
+import java.util.Map;
+/**
+ * Klasa RaceSolver rozwiązuje końcówkę bez kontaktu: wyścig jednego gracza do zapełnienia bazy docelowej.
+ * Pozycja jest wyścigiem (isRace), gdy baza docelowa gracza nie ma obcych pionków, a każdy pionek przeciwnika
+ * i każde pole bazy docelowej przeciwnika leży co najmniej o 2 pola dalej od bazy docelowej gracza niż jego
+ * ostatni pionek. Ruchy, które nie oddalają pionka od bazy, nie mogą wtedy przeskoczyć ani zostać zablokowane
+ * przez pionek przeciwnika, więc wynik zależy tylko od pionków gracza.
+ * Najmniejsza liczba takich ruchów jest szukana algorytmem IDA* z oszacowaniem równym liczbie pionków poza bazą
+ * (każdy potrzebuje co najmniej jednego ruchu). Dolne ograniczenia i rozwiązania są zapamiętywane pod haszem
+ * Zobrista samych pionków gracza, więc w kolejnych turach (po ruchach przeciwników) wynik jest odczytywany z pamięci.
+ */
+public final class RaceSolver {
+    /**
+     * Domyślny limit liczby węzłów na jedno rozwiązanie.
+     */
+    public static final long DEFAULT_NODE_LIMIT = 200_000;
+    /**
+     * Największa szukana liczba ruchów.
+     */
+    public static final int MAX_MOVES = 40;
+
+    private static final int FOUND = -1;
+    private static final int MAX_CACHE = 1 << 17;
+
+    private final long nodeLimit;
+    private final Map<Long, Integer> lowerBounds = new HashMap<>();
+    private final Map<Long, Integer> solutions = new HashMap<>();
+    private final int[][] moveBuffers = new int[MAX_MOVES + 1][Board.MAX_MOVES];
+    private final int[][] scoreBuffers = new int[MAX_MOVES + 1][Board.MAX_MOVES];
+    private final int[] line = new int[MAX_MOVES + 1];
+
+    private Board board;
+    private int playerId;
+    private int target;
+    private long ownHash;
+    private long nodes;
+    private boolean aborted;
+    private int joinPly;
+    private int joinLength;
+    private int solutionLength = -1;
+/**
+ * Konstruktor klasy RaceSolver z domyślnym limitem węzłów.
+ */
+    public RaceSolver() {
+        this(DEFAULT_NODE_LIMIT);
+    }
+/**
+ * Konstruktor klasy RaceSolver.
+ * @param nodeLimit - limit liczby węzłów na jedno rozwiązanie
+ */
+    public RaceSolver(long nodeLimit) {
+        this.nodeLimit = nodeLimit;
+    }
+/**
+ * Metoda isRace sprawdza, czy żaden pionek przeciwnika nie może już wpłynąć na ruchy gracza do bazy docelowej.
+ * @param board - plansza
+ * @param playerId - numer gracza
+ * @return true, jeśli pozycja jest wyścigiem bez kontaktu
+ */
+    public static boolean isRace(Board board, int playerId) {
+        int target = board.getTargetBase(playerId);
+        int rear = board.getRearDistance(playerId, target);
+        if (rear == 0) {
+            return false;
+        }
+        for (int opponent = 1; opponent <= board.getPlayerCount(); opponent++) {
+            if (opponent == playerId) {
+                continue;
+            }
+            if (board.getFrontDistance(opponent, target) < rear + 2) {
+                return false;
+            }
+            int opponentTarget = board.getTargetBase(opponent);
+            for (int i = 0; i < BoardGeometry.BASE_SIZE; i++) {
+                if (DistanceTables.distanceToBase(target, BoardGeometry.baseCell(opponentTarget, i)) < rear + 2) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+/**
+ * Metoda solve zwraca pierwszy ruch najkrótszego wyścigu do zapełnienia bazy docelowej.
+ * @param board - plansza (po zakończeniu ma ten sam stan)
+ * @param playerId - numer gracza
+ * @return ruch zakodowany przez PackedMove albo PackedMove.NONE, jeśli pozycja nie jest wyścigiem
+ * albo rozwiązania nie znaleziono w limicie węzłów
+ */
+    public int solve(Board board, int playerId) {
+        solutionLength = -1;
+        nodes = 0;
+        if (!isRace(board, playerId)) {
+            return PackedMove.NONE;
+        }
+        this.board = board;
+        this.playerId = playerId;
+        this.target = board.getTargetBase(playerId);
+        ownHash = 0;
+        for (int i = 0; i < board.getPieceCount(playerId); i++) {
+            ownHash ^= Zobrist.piece(board.getPieceCell(playerId, i), playerId);
+        }
+        Integer known = solutions.get(ownHash);
+        if (known == null) {
+            if (lowerBounds.size() > MAX_CACHE) {
+                lowerBounds.clear();
+                solutions.clear();
+            }
+            aborted = false;
+            int bound = estimate();
+            while (bound <= MAX_MOVES && !aborted) {
+                int next = search(0, bound);
+                if (next == FOUND) {
+                    storeLine();
+                    break;
+                }
+                bound = next;
+            }
+            known = solutions.get(ownHash);
+        }
+        this.board = null;
+        if (known == null) {
+            return PackedMove.NONE;
+        }
+        solutionLength = known >>> 16;
+        return known & 0xFFFF;
+    }
+/**
+ * Metoda getSolutionLength zwraca liczbę ruchów rozwiązania znalezionego przy ostatnim wywołaniu solve.
+ * @return liczba ruchów albo -1, jeśli rozwiązania nie znaleziono
+ */
+    public int getSolutionLength() {
+        return solutionLength;
+    }
+/**
+ * Metoda getNodes zwraca liczbę węzłów odwiedzonych przy ostatnim wywołaniu solve.
+ * @return liczba węzłów
+ */
+    public long getNodes() {
+        return nodes;
+    }
+/**
+ * Metoda search przeszukuje w głąb z ograniczeniem bound na liczbę ruchów od korzenia.
+ * @param ply - liczba ruchów od korzenia
+ * @param bound - ograniczenie iteracji
+ * @return FOUND albo najmniejsze oszacowanie przekraczające ograniczenie
+ */
+    private int search(int ply, int bound) {
+        if (++nodes >= nodeLimit) {
+            aborted = true;
+            return Integer.MAX_VALUE;
+        }
+        int remaining = estimate();
+        if (remaining == 0) {
+            joinPly = ply;
+            joinLength = 0;
+            return FOUND;
+        }
+        Integer known = solutions.get(ownHash);
+        if (known != null && ply + (known >>> 16) <= bound) {
+            joinPly = ply;
+            joinLength = known >>> 16;
+            return FOUND;
+        }
+        Integer lower = lowerBounds.get(ownHash);
+        if (lower != null) {
+            remaining = Math.max(remaining, lower);
+        }
+        if (ply + remaining > bound) {
+            return ply + remaining;
+        }
+        int[] moves = moveBuffers[ply];
+        int count = board.generateMoves(playerId, moves);
+        Evaluation.orderMoves(board, moves, scoreBuffers[ply], count, PackedMove.NONE);
+        int next = Integer.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            if (DistanceTables.distanceToBase(target, PackedMove.to(move))
+                    > DistanceTables.distanceToBase(target, PackedMove.from(move))) {
+                continue;
+            }
+            play(move);
+            int result = search(ply + 1, bound);
+            undo(move);
+            if (result == FOUND) {
+                line[ply] = move;
+                return FOUND;
+            }
+            if (aborted) {
+                return Integer.MAX_VALUE;
+            }
+            next = Math.min(next, result);
+        }
+        if (next != Integer.MAX_VALUE) {
+            lowerBounds.put(ownHash, next - ply);
+        }
+        return next;
+    }
+/**
+ * Metoda storeLine zapamiętuje dokładne rozwiązania pozycji na znalezionej drodze aż do pozycji,
+ * w której droga dołączyła do rozwiązania zapamiętanego wcześniej (albo do zapełnionej bazy).
+ */
+    private void storeLine() {
+        int length = joinPly + joinLength;
+        for (int ply = 0; ply < joinPly; ply++) {
+            solutions.put(ownHash, (length - ply) << 16 | line[ply]);
+            play(line[ply]);
+        }
+        for (int ply = joinPly - 1; ply >= 0; ply--) {
+            undo(line[ply]);
+        }
+    }
+/**
+ * Metoda estimate zwraca dolne ograniczenie liczby ruchów: liczbę pionków gracza poza bazą docelową.
+ * @return oszacowanie
+ */
+    private int estimate() {
+        return BoardGeometry.BASE_SIZE - board.getPiecesInTarget(playerId);
+    }
+/**
+ * Metoda play wykonuje ruch gracza i aktualizuje hasz jego pionków.
+ * @param move - ruch zakodowany przez PackedMove
+ */
+    private void play(int move) {
+        board.makeMove(move);
+        ownHash ^= Zobrist.piece(PackedMove.from(move), playerId) ^ Zobrist.piece(PackedMove.to(move), playerId);
+    }
+/**
+ * Metoda undo cofa ruch gracza i przywraca hasz jego pionków.
+ * @param move - ruch zakodowany przez PackedMove
+ */
+    private void undo(int move) {
+        board.unmakeMove();
+        ownHash ^= Zobrist.piece(PackedMove.from(move), playerId) ^ Zobrist.piece(PackedMove.to(move), playerId);
+    }
+}
@@ -0,0 +1,370 @@
+package chinesecheckers.server;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+/**
+ * Klasa SearchStrategy jest wspólną częścią strategii przeszukujących drzewo gry: iteracyjne pogłębianie w korzeniu,
+ * limity czasu i liczby węzłów, bufory ruchów, ruchy zabójcy i tablica transpozycji.
+ * Podklasy dostarczają samo przeszukiwanie poddrzewa po ruchu z korzenia.
+ * Przy więcej niż jednym wątku każda iteracja przeszukuje najpierw pierwszy ruch z korzenia, a pozostałe ruchy
+ * rozdziela między wątki puli ForkJoinPool, z których każdy pracuje na własnej kopii planszy.
+ * Wszystkie ruchy są wtedy liczone z tym samym ograniczeniem alfa (oceną pierwszego ruchu), więc każdy ruch lepszy
+ * od pierwszego dostaje dokładną ocenę i wybrany ruch jest taki sam jak przy jednym wątku, o ile iteracja się zakończy.
+ * Wątki współdzielą tablicę transpozycji, licznik węzłów i znacznik przerwania.
+ * Przerwanie wątku wywołującego (Thread.interrupt) kończy przeszukiwanie tak jak upływ limitu czasu.
+ */
+abstract class SearchStrategy implements BotStrategy {
+    /**
+     * Ocena wygranej (pomniejszana o liczbę półruchów, by preferować szybsze wygrane).
+     */
+    static final int WIN = 1_000_000;
+    /**
+     * Najmniejsza ocena uznawana za wygraną w znanej liczbie półruchów.
+     */
+    static final int WIN_THRESHOLD = WIN - 64;
+    /**
+     * Ocena większa od każdej możliwej oceny pozycji.
+     */
+    static final int INFINITY = Integer.MAX_VALUE - 1;
+
+    private static final int CHECK_INTERVAL = 1023;
+
+    private final long timeLimitNanos;
+    private final long nodeLimit;
+    private final int maxDepth;
+    private final int moveCapacity;
+    private final int[][] moveBuffers;
+    private final int[][] scoreBuffers;
+    final int[] killers;
+    TranspositionTable table;
+
+    private int threads = 1;
+    private ForkJoinPool pool;
+    private SearchStrategy[] workers = new SearchStrategy[0];
+
+    Board board;
+    private long deadline;
+    private Thread caller;
+    private long nodes;
+    private long reportedNodes;
+    boolean aborted;
+    private int completedDepth;
+    private AtomicLong sharedNodes;
+    private AtomicBoolean sharedAbort;
+/**
+ * Konstruktor klasy SearchStrategy.
+ * @param timeLimitMillis - limit czasu na ruch w milisekundach
+ * @param nodeLimit - limit liczby odwiedzonych węzłów na ruch
+ * @param maxDepth - maksymalna głębokość
+ * @param moveCapacity - rozmiar bufora ruchów jednego poziomu
+ */
+    SearchStrategy(long timeLimitMillis, long nodeLimit, int maxDepth, int moveCapacity) {
+        this.timeLimitNanos = timeLimitMillis * 1_000_000L;
+        this.nodeLimit = nodeLimit;
+        this.maxDepth = maxDepth;
+        this.moveCapacity = moveCapacity;
+        this.moveBuffers = new int[maxDepth + 1][];
+        this.scoreBuffers = new int[maxDepth + 1][];
+        this.killers = new int[maxDepth + 1];
+    }
+/**
+ * Metoda setTranspositionTable ustawia tablicę transpozycji.
+ * @param table - tablica transpozycji albo null
+ */
+    @Override
+    public void setTranspositionTable(TranspositionTable table) {
+        this.table = table;
+    }
+/**
+ * Metoda setThreads ustawia liczbę wątków przeszukiwania.
+ * @param threads - liczba wątków (1 oznacza przeszukiwanie w wątku wywołującym)
+ */
+    @Override
+    public synchronized void setThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Nieprawidłowa liczba wątków: " + threads);
+        }
+        if (threads != this.threads && pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+        this.threads = threads;
+    }
+/**
+ * Metoda close zamyka pulę wątków strategii; kolejne wywołanie selectMove utworzy nową.
+ */
+    @Override
+    public synchronized void close() {
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+    }
+/**
+ * Metoda getThreads zwraca liczbę wątków przeszukiwania.
+ * @return liczba wątków
+ */
+    public int getThreads() {
+        return threads;
+    }
+/**
+ * Metoda getCompletedDepth zwraca głębokość ostatniej w pełni zakończonej iteracji ostatniego wyboru ruchu.
+ * @return głębokość
+ */
+    public int getCompletedDepth() {
+        return completedDepth;
+    }
+/**
+ * Metoda getNodes zwraca liczbę węzłów odwiedzonych przy ostatnim wyborze ruchu (przez wszystkie wątki).
+ * @return liczba węzłów
+ */
+    public long getNodes() {
+        return sharedNodes == null ? nodes : sharedNodes.get();
+    }
+/**
+ * Metoda prepare przygotowuje podklasę do przeszukiwania pozycji.
+ * @param board - plansza
+ * @param playerId - numer gracza bota
+ */
+    abstract void prepare(Board board, int playerId);
+/**
+ * Metoda searchRootMove przeszukuje pozycję po wykonanym ruchu z korzenia.
+ * @param depth - głębokość iteracji (łącznie z ruchem z korzenia)
+ * @param alpha - najlepsza dotychczasowa ocena w korzeniu
+ * @return ocena z punktu widzenia bota
+ */
+    abstract int searchRootMove(int depth, int alpha);
+/**
+ * Metoda newWorker tworzy strategię o tych samych ustawieniach do przeszukiwania w innym wątku.
+ * @return nowa strategia
+ */
+    abstract SearchStrategy newWorker();
+/**
+ * Metoda search wybiera ruch iteracyjnym pogłębianiem.
+ * @param board - plansza bota (po zakończeniu ma ten sam stan)
+ * @param playerId - numer gracza
+ * @return ruch zakodowany przez PackedMove albo PackedMove.NONE
+ */
+    final int search(Board board, int playerId) {
+        caller = Thread.currentThread();
+        begin(board, playerId, System.nanoTime() + timeLimitNanos, null, null);
+        if (table != null) {
+            table.newSearch();
+        }
+        completedDepth = 0;
+        int[] rootMoves = moves(0);
+        int count = board.generateMoves(playerId, rootMoves);
+        if (count == 0) {
+            this.board = null;
+            return PackedMove.NONE;
+        }
+        Evaluation.orderMoves(board, rootMoves, scores(0), count, PackedMove.NONE);
+        int best = rootMoves[0];
+        if (count == 1) {
+            this.board = null;
+            return best;
+        }
+        boolean parallel = threads > 1;
+        if (parallel) {
+            sharedNodes = new AtomicLong();
+            sharedAbort = new AtomicBoolean();
+            prepareWorkers(playerId);
+        } else {
+            sharedNodes = null;
+            sharedAbort = null;
+        }
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            int iterationBest;
+            int alpha;
+            if (parallel) {
+                int[] result = iterateParallel(rootMoves, count, depth);
+                iterationBest = result[0];
+                alpha = result[1];
+            } else {
+                iterationBest = PackedMove.NONE;
+                alpha = -INFINITY;
+                for (int i = 0; i < count; i++) {
+                    board.makeMove(rootMoves[i]);
+                    int score = searchRootMove(depth, alpha);
+                    board.unmakeMove();
+                    if (aborted) {
+                        break;
+                    }
+                    if (score > alpha) {
+                        alpha = score;
+                        iterationBest = rootMoves[i];
+                    }
+                }
+            }
+            if (iterationBest != PackedMove.NONE) {
+                best = iterationBest;
+                Evaluation.moveToFront(rootMoves, count, best);
+            }
+            if (aborted) {
+                break;
+            }
+            completedDepth = depth;
+            if (alpha >= WIN_THRESHOLD) {
+                break;
+            }
+        }
+        if (parallel) {
+            flushNodes();
+            for (SearchStrategy worker : workers) {
+                worker.board = null;
+            }
+        }
+        this.board = null;
+        return best;
+    }
+/**
+ * Metoda iterateParallel wykonuje jedną iterację: pierwszy ruch w tym wątku, pozostałe w puli.
+ * @param rootMoves - ruchy z korzenia
+ * @param count - liczba ruchów
+ * @param depth - głębokość iteracji
+ * @return najlepszy ruch iteracji (albo PackedMove.NONE) i jego ocena
+ */
+    private int[] iterateParallel(int[] rootMoves, int count, int depth) {
+        board.makeMove(rootMoves[0]);
+        int firstScore = searchRootMove(depth, -INFINITY);
+        board.unmakeMove();
+        if (aborted) {
+            return new int[]{PackedMove.NONE, -INFINITY};
+        }
+        int[] rootScores = new int[count];
+        boolean[] done = new boolean[count];
+        AtomicInteger next = new AtomicInteger(1);
+        List<Callable<Void>> tasks = new ArrayList<>(workers.length);
+        for (SearchStrategy worker : workers) {
+            tasks.add(() -> {
+                for (int i = next.getAndIncrement(); i < count; i = next.getAndIncrement()) {
+                    worker.board.makeMove(rootMoves[i]);
+                    int score = worker.searchRootMove(depth, firstScore);
+                    worker.board.unmakeMove();
+                    if (worker.aborted) {
+                        break;
+                    }
+                    rootScores[i] = score;
+                    done[i] = true;
+                }
+                worker.flushNodes();
+                return null;
+            });
+        }
+        pool().invokeAll(tasks);
+        int iterationBest = rootMoves[0];
+        int alpha = firstScore;
+        for (int i = 1; i < count; i++) {
+            if (done[i] && rootScores[i] > alpha) {
+                alpha = rootScores[i];
+                iterationBest = rootMoves[i];
+            }
+        }
+        if (sharedAbort.get()) {
+            aborted = true;
+        }
+        return new int[]{iterationBest, alpha};
+    }
+/**
+ * Metoda prepareWorkers tworzy (przy pierwszym użyciu) strategie pomocnicze i daje im kopie planszy.
+ * @param playerId - numer gracza
+ */
+    private void prepareWorkers(int playerId) {
+        if (workers.length != threads) {
+            workers = new SearchStrategy[threads];
+            for (int i = 0; i < threads; i++) {
+                workers[i] = newWorker();
+            }
+        }
+        for (SearchStrategy worker : workers) {
+            worker.table = table;
+            worker.caller = caller;
+            worker.begin(board.copy(), playerId, deadline, sharedNodes, sharedAbort);
+        }
+    }
+/**
+ * Metoda begin zeruje stan przeszukiwania.
+ * @param board - plansza
+ * @param playerId - numer gracza
+ * @param deadline - czas zakończenia (System.nanoTime)
+ * @param sharedNodes - licznik węzłów wspólny dla wątków albo null
+ * @param sharedAbort - znacznik przerwania wspólny dla wątków albo null
+ */
+    private void begin(Board board, int playerId, long deadline, AtomicLong sharedNodes, AtomicBoolean sharedAbort) {
+        this.board = board;
+        this.deadline = deadline;
+        this.sharedNodes = sharedNodes;
+        this.sharedAbort = sharedAbort;
+        nodes = 0;
+        reportedNodes = 0;
+        aborted = false;
+        Arrays.fill(killers, PackedMove.NONE);
+        prepare(board, playerId);
+    }
+/**
+ * Metoda tick zlicza węzeł i sprawdza limit czasu, liczby węzłów oraz przerwanie wątku wywołującego.
+ * @return true, jeśli przeszukiwanie zostało przerwane
+ */
+    final boolean tick() {
+        nodes++;
+        if (sharedNodes == null) {
+            if ((nodes & CHECK_INTERVAL) == 0 && (System.nanoTime() > deadline || caller.isInterrupted())
+                    || nodes >= nodeLimit) {
+                aborted = true;
+            }
+        } else if ((nodes & CHECK_INTERVAL) == 0) {
+            if (flushNodes() >= nodeLimit || System.nanoTime() > deadline || sharedAbort.get() || caller.isInterrupted()) {
+                aborted = true;
+                sharedAbort.set(true);
+            }
+        }
+        return aborted;
+    }
+/**
+ * Metoda flushNodes dodaje węzły policzone od ostatniego wywołania do wspólnego licznika.
+ * @return łączna liczba węzłów wszystkich wątków
+ */
+    private long flushNodes() {
+        long total = sharedNodes.addAndGet(nodes - reportedNodes);
+        reportedNodes = nodes;
+        return total;
+    }
+/**
+ * Metoda pool zwraca pulę wątków, tworząc ją przy pierwszym użyciu.
+ * @return pula wątków
+ */
+    private synchronized ForkJoinPool pool() {
+        if (pool == null) {
+            pool = new ForkJoinPool(threads);
+        }
+        return pool;
+    }
+/**
+ * Metoda moves zwraca bufor ruchów dla danego poziomu, tworząc go przy pierwszym użyciu.
+ * @param ply - odległość od korzenia
+ * @return bufor ruchów
+ */
+    final int[] moves(int ply) {
+        if (moveBuffers[ply] == null) {
+            moveBuffers[ply] = new int[moveCapacity];
+        }
+        return moveBuffers[ply];
+    }
+/**
+ * Metoda scores zwraca bufor ocen ruchów dla danego poziomu, tworząc go przy pierwszym użyciu.
+ * @param ply - odległość od korzenia
+ * @return bufor ocen
+ */
+    final int[] scores(int ply) {
+        if (scoreBuffers[ply] == null) {
+            scoreBuffers[ply] = new int[moveCapacity];
+        }
+        return scoreBuffers[ply];
+    }
+}
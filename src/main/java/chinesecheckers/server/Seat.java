@@ -0,0 +1,38 @@
+package chinesecheckers.server;
+/**
+ * Interfejs Seat opisuje miejsce przy stole gry: gracza podłączonego do GameServer.
+ * Serwer wysyła do miejsca zdarzenia gry (GameEvent) i w turze gracza prosi je o ruch.
+ * ClientHandler zamienia zdarzenia na tekst protokołu i wysyła je przez gniazdo, a BotPlayer
+ * działa w procesie serwera i obsługuje zdarzenia bezpośrednio, bez gniazda i bez parsowania tekstu.
+ */
+public interface Seat {
+    /**
+     * Metoda getPlayerId zwraca identyfikator gracza.
+     * @return Identyfikator gracza.
+     */
+    int getPlayerId();
+    /**
+     * Metoda isBot sprawdza, czy miejsce zajmuje bot.
+     * @return true, jeśli miejsce zajmuje bot.
+     */
+    boolean isBot();
+    /**
+     * Metoda isConnected sprawdza, czy gracz jest nadal podłączony.
+     * @return true, jeśli gracz jest podłączony.
+     */
+    boolean isConnected();
+    /**
+     * Metoda onEvent przekazuje graczowi zdarzenie gry. Wywoływana przez wątek serwera.
+     * @param event Zdarzenie gry.
+     */
+    void onEvent(GameEvent event);
+    /**
+     * Metoda requestMove czeka na ruch gracza w jego turze.
+     * @return Ruch w formacie "Ruch-x,y:x,y", "WYGRANA", "SKIP TURN" albo null, jeśli gracz się rozłączył lub nie ma ruchu.
+     */
+    String requestMove();
+    /**
+     * Metoda close zwalnia zasoby miejsca.
+     */
+    void close();
+}
@@ -17,6 +17,7 @@ public class ServerGUI {
     private int selectedPlayers;
     private String selectedVariant;
     private int selectedBots;
+    private String selectedStrategy = BotStrategy.GREEDY;
     private String gameChoice;
     private Long selectedGameId;
     private final JFrame frame;
@@ -208,6 +209,17 @@ public class ServerGUI {
         }
 
         botSelectionPanel.add(buttonPanel, BorderLayout.CENTER);
+
+        JPanel strategyPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 10));
+        JLabel strategyLabel = new JLabel("Strategia botów:");
+        strategyLabel.setFont(new Font("Serif", Font.BOLD, 20));
+        JComboBox<String> strategyBox = new JComboBox<>(BotStrategy.names());
+        strategyBox.setFont(new Font("Serif", Font.PLAIN, 20));
+        strategyBox.setSelectedItem(selectedStrategy);
+        strategyBox.addActionListener(e -> selectedStrategy = (String) strategyBox.getSelectedItem());
+        strategyPanel.add(strategyLabel);
+        strategyPanel.add(strategyBox);
+        botSelectionPanel.add(strategyPanel, BorderLayout.SOUTH);
         return botSelectionPanel;
     }
 /**
@@ -291,6 +303,13 @@ public class ServerGUI {
     public int getSelectedBots() {
         return selectedBots;
     }
+/**
+ * Metoda getSelectedStrategy zwraca nazwę wybranej strategii botów.
+ * @return selectedStrategy - nazwa wybranej strategii
+ */
+    public String getSelectedStrategy() {
+        return selectedStrategy;
+    }
 
 /**
  * Metoda getGameChoice zwraca czy chemy wczytać grę czy rozpocząć nową.
@@ -0,0 +1,363 @@
+package chinesecheckers.server;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+/**
+ * Klasa Tournament rozgrywa partie botów między sobą w pamięci, bez gniazd, interfejsu graficznego i bazy danych.
+ * Każda partia ma własną planszę i własne obiekty strategii, więc partie są rozgrywane równolegle w puli wątków.
+ * Partia numer i używa ziarna seed + i: od niego zależą rozstawienie w wariancie Order Out Of Chaos, losowa
+ * kolejność ruchów (jak w GameServer) i ziarna strategii Monte Carlo. Strategie są przydzielane miejscom
+ * cyklicznie z przesunięciem o numer partii, więc każda strategia gra z każdego miejsca. Boty korzystają
+ * z RaceSolver tak jak BotPlayer. Partia kończy się, gdy skończą wszyscy gracze poza jednym, albo zostaje
+ * przerwana po maxRounds kolejkach lub kolejce, w której nikt nie mógł się ruszyć.
+ * Przy limitach węzłów (a nie czasu) wyniki nie zależą od liczby wątków.
+ */
+public final class Tournament {
+    /**
+     * Domyślny limit czasu na ruch w milisekundach (duży, aby o ruchu decydował limit węzłów).
+     */
+    public static final long DEFAULT_TIME_LIMIT_MILLIS = 60_000;
+    /**
+     * Domyślny limit węzłów (dla Monte Carlo rozgrywek) na ruch.
+     */
+    public static final long DEFAULT_BUDGET = 2_000;
+    /**
+     * Domyślna największa liczba kolejek partii.
+     */
+    public static final int DEFAULT_MAX_ROUNDS = 300;
+
+    private static final int[] PLAYER_COUNTS = {2, 3, 4, 6};
+
+    private final String[] strategies;
+    private final int players;
+    private final String variant;
+    private final long seed;
+    private final long timeLimitMillis;
+    private final long budget;
+    private final int maxRounds;
+/**
+ * Konstruktor klasy Tournament.
+ * @param strategies - nazwy strategii (BotStrategy.names()) przydzielane kolejnym miejscom
+ * @param players - liczba graczy w partii
+ * @param variant - wariant gry
+ * @param seed - ziarno pierwszej partii
+ * @param timeLimitMillis - limit czasu na ruch w milisekundach
+ * @param budget - limit węzłów (dla Monte Carlo rozgrywek) na ruch
+ * @param maxRounds - największa liczba kolejek partii
+ * @throws IllegalArgumentException Jeśli nazwa strategii, liczba graczy albo wariant są nieprawidłowe.
+ */
+    public Tournament(String[] strategies, int players, String variant, long seed,
+                      long timeLimitMillis, long budget, int maxRounds) {
+        if (strategies.length == 0) {
+            throw new IllegalArgumentException("Nie podano strategii.");
+        }
+        for (String name : strategies) {
+            if (!Arrays.asList(BotStrategy.names()).contains(name)) {
+                throw new IllegalArgumentException("Nieznana strategia: " + name);
+            }
+        }
+        if (Arrays.stream(PLAYER_COUNTS).noneMatch(count -> count == players)) {
+            throw new IllegalArgumentException("Nieprawidłowa liczba graczy: " + players);
+        }
+        if (!"Rozgrywka klasyczna".equals(variant) && !"Order Out Of Chaos".equals(variant)) {
+            throw new IllegalArgumentException("Nieznany wariant: " + variant);
+        }
+        this.strategies = strategies.clone();
+        this.players = players;
+        this.variant = variant;
+        this.seed = seed;
+        this.timeLimitMillis = timeLimitMillis;
+        this.budget = budget;
+        this.maxRounds = maxRounds;
+    }
+/**
+ * Metoda play rozgrywa jedną partię.
+ * @param game - numer partii
+ * @return wynik partii
+ */
+    public GameResult play(int game) {
+        long gameSeed = seed + game;
+        Board board = Perft.createPosition(players, variant, gameSeed);
+        List<Integer> order = new ArrayList<>();
+        for (int id = 1; id <= players; id++) {
+            order.add(id);
+        }
+        Collections.shuffle(order, new Random(gameSeed));
+        int[] turnOrder = order.stream().mapToInt(Integer::intValue).toArray();
+        String[] seats = new String[players + 1];
+        BotStrategy[] bots = new BotStrategy[players + 1];
+        RaceSolver[] solvers = new RaceSolver[players + 1];
+        for (int id = 1; id <= players; id++) {
+            seats[id] = strategies[(id - 1 + game) % strategies.length];
+            bots[id] = BotStrategy.create(seats[id], timeLimitMillis, budget, gameSeed * 31 + id);
+            bots[id].setTurnOrder(turnOrder);
+            solvers[id] = new RaceSolver();
+        }
+        int[] places = new int[players + 1];
+        int finished = 0;
+        int moves = 0;
+        for (int round = 0; round < maxRounds && finished < players - 1; round++) {
+            boolean moved = false;
+            for (int id : turnOrder) {
+                if (places[id] != 0) {
+                    continue;
+                }
+                int move = solvers[id].solve(board, id);
+                if (move == PackedMove.NONE) {
+                    move = bots[id].selectMove(board, id);
+                }
+                if (move == PackedMove.NONE) {
+                    continue;
+                }
+                board.makeMove(move);
+                moves++;
+                moved = true;
+                if (board.getPiecesInTarget(id) == BoardGeometry.BASE_SIZE) {
+                    places[id] = ++finished;
+                    if (finished == players - 1) {
+                        break;
+                    }
+                }
+            }
+            if (!moved) {
+                break;
+            }
+        }
+        if (finished == players - 1) {
+            for (int id = 1; id <= players; id++) {
+                if (places[id] == 0) {
+                    places[id] = players;
+                }
+            }
+        }
+        for (int id = 1; id <= players; id++) {
+            bots[id].close();
+        }
+        return new GameResult(seats, places, moves);
+    }
+/**
+ * Metoda run rozgrywa partie 0..games-1 w puli wątków.
+ * @param games - liczba partii
+ * @param threads - liczba wątków
+ * @return podsumowanie turnieju
+ * @throws InterruptedException Jeśli wątek wywołujący zostanie przerwany.
+ */
+    public Summary run(int games, int threads) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        try {
+            List<Callable<GameResult>> tasks = new ArrayList<>(games);
+            for (int i = 0; i < games; i++) {
+                int game = i;
+                tasks.add(() -> play(game));
+            }
+            Summary summary = new Summary(strategies);
+            for (Future<GameResult> result : pool.invokeAll(tasks)) {
+                summary.add(result.get());
+            }
+            summary.elapsedNanos = System.nanoTime() - start;
+            return summary;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Partia zakończyła się błędem.", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+/**
+ * Klasa GameResult przechowuje wynik jednej partii.
+ */
+    public static final class GameResult {
+        private final String[] seats;
+        private final int[] places;
+        private final int moves;
+
+        GameResult(String[] seats, int[] places, int moves) {
+            this.seats = seats;
+            this.places = places;
+            this.moves = moves;
+        }
+/**
+ * Metoda getStrategy zwraca nazwę strategii gracza.
+ * @param playerId - numer gracza
+ * @return nazwa strategii
+ */
+        public String getStrategy(int playerId) {
+            return seats[playerId];
+        }
+/**
+ * Metoda getPlace zwraca miejsce gracza.
+ * @param playerId - numer gracza
+ * @return miejsce (od 1) albo 0, jeśli partia została przerwana, zanim gracz skończył
+ */
+        public int getPlace(int playerId) {
+            return places[playerId];
+        }
+/**
+ * Metoda getMoves zwraca liczbę wykonanych ruchów (bez pasów).
+ * @return liczba ruchów
+ */
+        public int getMoves() {
+            return moves;
+        }
+/**
+ * Metoda isFinished sprawdza, czy partia została rozstrzygnięta.
+ * @return true, jeśli wszyscy gracze mają miejsca
+ */
+        public boolean isFinished() {
+            for (int id = 1; id < places.length; id++) {
+                if (places[id] == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+/**
+ * Klasa Summary zbiera wyniki partii turnieju: liczbę partii i ruchów, tempo oraz wygrane i średnie miejsca strategii.
+ */
+    public static final class Summary {
+        private final Map<String, long[]> stats = new LinkedHashMap<>();
+        private int games;
+        private int unfinished;
+        private long moves;
+        private long elapsedNanos;
+
+        Summary(String[] strategies) {
+            for (String name : strategies) {
+                stats.putIfAbsent(name, new long[4]);
+            }
+        }
+
+        void add(GameResult result) {
+            games++;
+            moves += result.getMoves();
+            boolean finished = result.isFinished();
+            if (!finished) {
+                unfinished++;
+            }
+            for (int id = 1; id < result.places.length; id++) {
+                long[] entry = stats.get(result.getStrategy(id));
+                entry[0]++;
+                if (finished) {
+                    entry[2] += result.getPlace(id);
+                    entry[3]++;
+                }
+                if (result.getPlace(id) == 1) {
+                    entry[1]++;
+                }
+            }
+        }
+/**
+ * Metoda getGames zwraca liczbę rozegranych partii.
+ * @return liczba partii
+ */
+        public int getGames() {
+            return games;
+        }
+/**
+ * Metoda getUnfinished zwraca liczbę partii przerwanych przed rozstrzygnięciem.
+ * @return liczba partii
+ */
+        public int getUnfinished() {
+            return unfinished;
+        }
+/**
+ * Metoda getMoves zwraca łączną liczbę ruchów we wszystkich partiach.
+ * @return liczba ruchów
+ */
+        public long getMoves() {
+            return moves;
+        }
+/**
+ * Metoda getSeats zwraca, ile razy strategia zajmowała miejsce przy planszy.
+ * @param strategy - nazwa strategii
+ * @return liczba miejsc
+ */
+        public long getSeats(String strategy) {
+            return stats.getOrDefault(strategy, new long[4])[0];
+        }
+/**
+ * Metoda getWins zwraca liczbę pierwszych miejsc strategii.
+ * @param strategy - nazwa strategii
+ * @return liczba wygranych
+ */
+        public long getWins(String strategy) {
+            return stats.getOrDefault(strategy, new long[4])[1];
+        }
+/**
+ * Metoda getAveragePlace zwraca średnie miejsce strategii w rozstrzygniętych partiach.
+ * @param strategy - nazwa strategii
+ * @return średnie miejsce albo NaN, jeśli żadna partia nie została rozstrzygnięta
+ */
+        public double getAveragePlace(String strategy) {
+            long[] entry = stats.getOrDefault(strategy, new long[4]);
+            return entry[3] == 0 ? Double.NaN : (double) entry[2] / entry[3];
+        }
+/**
+ * Metoda getElapsedNanos zwraca czas trwania turnieju.
+ * @return czas w nanosekundach
+ */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            double seconds = elapsedNanos / 1e9;
+            StringBuilder sb = new StringBuilder(String.format(
+                    "Partii: %d (nierozstrzygniętych %d), ruchów: %d, %.1f ruchów/partię, %.2f partii/s, %.0f ruchów/s%n",
+                    games, unfinished, moves, games == 0 ? 0.0 : (double) moves / games, games / seconds, moves / seconds));
+            for (String name : stats.keySet()) {
+                long seats = getSeats(name);
+                sb.append(String.format("%s: miejsc %d, wygranych %d (%.1f%%), średnie miejsce %.2f%n",
+                        name, seats, getWins(name), seats == 0 ? 0.0 : 100.0 * getWins(name) / seats, getAveragePlace(name)));
+            }
+            return sb.toString();
+        }
+    }
+/**
+ * Metoda main uruchamia turniej. Argumenty w postaci klucz=wartość: games (domyślnie 100), players (2),
+ * variant (klasyczna, chaos albo pełna nazwa), strategies (nazwy oddzielone przecinkami, domyślnie wszystkie),
+ * seed (1), threads (liczba procesorów), millis, budget, rounds.
+ * @param args Argumenty wywołania programu.
+ * @throws InterruptedException Jeśli wątek główny zostanie przerwany.
+ */
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Argument nie ma postaci klucz=wartość: " + arg);
+            }
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        String variant = options.getOrDefault("variant", "klasyczna");
+        if ("klasyczna".equals(variant)) {
+            variant = "Rozgrywka klasyczna";
+        } else if ("chaos".equals(variant)) {
+            variant = "Order Out Of Chaos";
+        }
+        String[] strategies = options.containsKey("strategies")
+                ? options.get("strategies").split(",") : BotStrategy.names();
+        Tournament tournament = new Tournament(strategies,
+                Integer.parseInt(options.getOrDefault("players", "2")), variant,
+                Long.parseLong(options.getOrDefault("seed", "1")),
+                Long.parseLong(options.getOrDefault("millis", String.valueOf(DEFAULT_TIME_LIMIT_MILLIS))),
+                Long.parseLong(options.getOrDefault("budget", String.valueOf(DEFAULT_BUDGET))),
+                Integer.parseInt(options.getOrDefault("rounds", String.valueOf(DEFAULT_MAX_ROUNDS))));
+        int threads = Integer.parseInt(options.getOrDefault("threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        System.out.print(tournament.run(Integer.parseInt(options.getOrDefault("games", "100")), threads));
+    }
+}
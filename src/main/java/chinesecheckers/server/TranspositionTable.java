@@ -0,0 +1,268 @@
+package chinesecheckers.server;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.LongAdder;
+/**
+ * Klasa TranspositionTable przechowuje wyniki przeszukiwania pozycji w tablicy o stałym rozmiarze.
+ * Wpis składa się z dwóch liczb long: klucza (64-bitowy skrót pozycji) i danych, w których zakodowane są
+ * ocena, najlepszy ruch, głębokość, rodzaj ograniczenia i numer przeszukiwania, w którym wpis zapisano.
+ * Wpisy są pogrupowane w kubełki po dwa; przy zapisie nowej pozycji zastępowany jest wpis z wcześniejszego
+ * przeszukiwania, a jeśli oba są aktualne, płytszy z nich. Klucz jest zapisywany jako XOR z danymi, więc wpis
+ * uszkodzony przez równoległy zapis z innego wątku nie przejdzie weryfikacji przy odczycie.
+ * Jedna tablica może być współdzielona przez wszystkie boty serwera.
+ */
+public final class TranspositionTable {
+    /**
+     * Wynik probe, gdy pozycji nie ma w tablicy.
+     */
+    public static final long MISS = 0L;
+    /**
+     * Ocena jest dolnym ograniczeniem (nastąpiło cięcie beta).
+     */
+    public static final int LOWER = 1;
+    /**
+     * Ocena jest górnym ograniczeniem (żaden ruch nie poprawił alfa).
+     */
+    public static final int UPPER = 2;
+    /**
+     * Ocena jest dokładna.
+     */
+    public static final int EXACT = 3;
+
+    private static final int BYTES_PER_ENTRY = 16;
+    private static final int BUCKET_SIZE = 2;
+    private static final int MOVE_SHIFT = 32;
+    private static final int DEPTH_SHIFT = 48;
+    private static final int BOUND_SHIFT = 56;
+    private static final int GENERATION_SHIFT = 58;
+    private static final int GENERATION_MASK = 0x3F;
+    private static final int NO_MOVE = 0xFFFF;
+    private static final long[] SALTS = new long[32];
+
+    static {
+        Random random = new Random(0x5EEDL);
+        for (int i = 0; i < SALTS.length; i++) {
+            SALTS[i] = random.nextLong();
+        }
+    }
+
+    private final long[] entries;
+    private final int bucketMask;
+    private int generation;
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+/**
+ * Konstruktor klasy TranspositionTable.
+ * @param megabytes - budżet pamięci w megabajtach; liczba wpisów to największa potęga dwójki mieszcząca się w budżecie
+ */
+    public TranspositionTable(int megabytes) {
+        if (megabytes < 1) {
+            throw new IllegalArgumentException("Nieprawidłowy rozmiar tablicy transpozycji: " + megabytes + " MB");
+        }
+        long buckets = Long.highestOneBit((long) megabytes * 1024 * 1024 / (BYTES_PER_ENTRY * BUCKET_SIZE));
+        buckets = Math.min(buckets, 1L << 26);
+        this.entries = new long[(int) buckets * BUCKET_SIZE * 2];
+        this.bucketMask = (int) buckets - 1;
+    }
+/**
+ * Metoda salt zwraca stałą losową wartość, którą strategie łączą (XOR) ze skrótem planszy,
+ * aby rozróżnić np. gracza na ruchu.
+ * @param index - numer wartości (0..31)
+ * @return losowa wartość 64-bitowa
+ */
+    public static long salt(int index) {
+        return SALTS[index];
+    }
+/**
+ * Metoda newSearch rozpoczyna nowe przeszukiwanie; wpisy z poprzednich przeszukiwań są zastępowane w pierwszej kolejności.
+ */
+    public synchronized void newSearch() {
+        generation = (generation + 1) & GENERATION_MASK;
+    }
+/**
+ * Metoda probe szuka pozycji w tablicy.
+ * @param key - klucz pozycji
+ * @return dane wpisu (do odczytu metodami score, move, depth i bound) albo MISS
+ */
+    public long probe(long key) {
+        probes.increment();
+        int index = bucketIndex(key);
+        for (int slot = 0; slot < BUCKET_SIZE; slot++, index += 2) {
+            long data = entries[index + 1];
+            if ((entries[index] ^ data) == key && data != MISS) {
+                hits.increment();
+                return data;
+            }
+        }
+        return MISS;
+    }
+/**
+ * Metoda store zapisuje wynik przeszukiwania pozycji.
+ * @param key - klucz pozycji
+ * @param depth - głębokość przeszukiwania (0..255)
+ * @param bound - rodzaj ograniczenia (LOWER, UPPER albo EXACT)
+ * @param score - ocena (po scoreToTable)
+ * @param move - najlepszy ruch albo PackedMove.NONE
+ */
+    public void store(long key, int depth, int bound, int score, int move) {
+        stores.increment();
+        int current = generation;
+        long data = (score & 0xFFFFFFFFL)
+                | (long) (move == PackedMove.NONE ? NO_MOVE : move) << MOVE_SHIFT
+                | (long) depth << DEPTH_SHIFT
+                | (long) bound << BOUND_SHIFT
+                | (long) current << GENERATION_SHIFT;
+        int bucket = bucketIndex(key);
+        int victim = bucket;
+        int victimValue = Integer.MAX_VALUE;
+        for (int slot = 0, index = bucket; slot < BUCKET_SIZE; slot++, index += 2) {
+            long old = entries[index + 1];
+            if ((entries[index] ^ old) == key) {
+                victim = index;
+                break;
+            }
+            int value = old == MISS ? -512 : generation(old) != current ? depth(old) - 256 : depth(old);
+            if (value < victimValue) {
+                victimValue = value;
+                victim = index;
+            }
+        }
+        entries[victim] = key ^ data;
+        entries[victim + 1] = data;
+    }
+/**
+ * Metoda clear usuwa wszystkie wpisy i zeruje statystyki.
+ */
+    public synchronized void clear() {
+        Arrays.fill(entries, 0L);
+        probes.reset();
+        hits.reset();
+        stores.reset();
+    }
+/**
+ * Metoda getCapacity zwraca liczbę wpisów tablicy.
+ * @return liczba wpisów
+ */
+    public int getCapacity() {
+        return entries.length / 2;
+    }
+/**
+ * Metoda getProbes zwraca liczbę odczytów od utworzenia tablicy albo ostatniego clear.
+ * @return liczba odczytów
+ */
+    public long getProbes() {
+        return probes.sum();
+    }
+/**
+ * Metoda getHits zwraca liczbę udanych odczytów.
+ * @return liczba trafień
+ */
+    public long getHits() {
+        return hits.sum();
+    }
+/**
+ * Metoda getStores zwraca liczbę zapisów.
+ * @return liczba zapisów
+ */
+    public long getStores() {
+        return stores.sum();
+    }
+/**
+ * Metoda getHitRate zwraca odsetek udanych odczytów.
+ * @return odsetek trafień (0..1)
+ */
+    public double getHitRate() {
+        long total = probes.sum();
+        return total == 0 ? 0.0 : (double) hits.sum() / total;
+    }
+/**
+ * Metoda toString zwraca statystyki tablicy.
+ * @return opis rozmiaru i trafień
+ */
+    @Override
+    public String toString() {
+        return String.format("Tablica transpozycji: %d wpisów, %d odczytów, %.1f%% trafień, %d zapisów",
+                getCapacity(), getProbes(), 100 * getHitRate(), getStores());
+    }
+/**
+ * Metoda score zwraca ocenę zapisaną we wpisie.
+ * @param data - dane wpisu
+ * @return ocena (do przeliczenia przez scoreFromTable)
+ */
+    public static int score(long data) {
+        return (int) data;
+    }
+/**
+ * Metoda move zwraca najlepszy ruch zapisany we wpisie.
+ * @param data - dane wpisu
+ * @return ruch albo PackedMove.NONE
+ */
+    public static int move(long data) {
+        int move = (int) (data >>> MOVE_SHIFT) & 0xFFFF;
+        return move == NO_MOVE ? PackedMove.NONE : move;
+    }
+/**
+ * Metoda depth zwraca głębokość zapisaną we wpisie.
+ * @param data - dane wpisu
+ * @return głębokość
+ */
+    public static int depth(long data) {
+        return (int) (data >>> DEPTH_SHIFT) & 0xFF;
+    }
+/**
+ * Metoda bound zwraca rodzaj ograniczenia zapisany we wpisie.
+ * @param data - dane wpisu
+ * @return LOWER, UPPER albo EXACT
+ */
+    public static int bound(long data) {
+        return (int) (data >>> BOUND_SHIFT) & 0x3;
+    }
+/**
+ * Metoda scoreToTable zamienia ocenę wygranej liczoną od korzenia na liczoną od zapisywanej pozycji.
+ * @param score - ocena
+ * @param ply - odległość pozycji od korzenia
+ * @return ocena do zapisania
+ */
+    public static int scoreToTable(int score, int ply) {
+        if (score >= SearchStrategy.WIN_THRESHOLD) {
+            return score + ply;
+        }
+        if (score <= -SearchStrategy.WIN_THRESHOLD) {
+            return score - ply;
+        }
+        return score;
+    }
+/**
+ * Metoda scoreFromTable zamienia ocenę zapisaną we wpisie z powrotem na liczoną od korzenia.
+ * @param score - ocena z wpisu
+ * @param ply - odległość pozycji od korzenia
+ * @return ocena
+ */
+    public static int scoreFromTable(int score, int ply) {
+        if (score >= SearchStrategy.WIN_THRESHOLD) {
+            return score - ply;
+        }
+        if (score <= -SearchStrategy.WIN_THRESHOLD) {
+            return score + ply;
+        }
+        return score;
+    }
+/**
+ * Metoda generation zwraca numer przeszukiwania zapisany we wpisie.
+ * @param data - dane wpisu
+ * @return numer przeszukiwania
+ */
+    private static int generation(long data) {
+        return (int) (data >>> GENERATION_SHIFT) & GENERATION_MASK;
+    }
+/**
+ * Metoda bucketIndex zwraca indeks pierwszego wpisu kubełka dla klucza.
+ * @param key - klucz pozycji
+ * @return indeks w tablicy entries
+ */
+    private int bucketIndex(long key) {
+        return ((int) (key ^ key >>> 32) & bucketMask) * BUCKET_SIZE * 2;
+    }
+}
@@ -0,0 +1,45 @@
+package chinesecheckers.server;
+
+import java.util.SplittableRandom;
+/**
+ * Klasa Zobrist przechowuje losowe klucze do 64-bitowego haszowania pozycji metodą Zobrista.
+ * Hasz pozycji to XOR kluczy wszystkich par (pole, gracz), więc przesunięcie pionka
+ * zmienia go dwiema operacjami XOR. Klucze są generowane ze stałego ziarna,
+ * dzięki czemu hasze są takie same w każdej maszynie wirtualnej.
+ */
+public final class Zobrist {
+    private static final int SLOTS = 7;
+    private static final long[] PIECE_KEYS = new long[BoardGeometry.CELLS * SLOTS];
+    private static final long[] TURN_KEYS = new long[SLOTS];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x43484543L);
+        for (int i = 0; i < PIECE_KEYS.length; i++) {
+            PIECE_KEYS[i] = random.nextLong();
+        }
+        for (int i = 0; i < TURN_KEYS.length; i++) {
+            TURN_KEYS[i] = random.nextLong();
+        }
+    }
+
+    private Zobrist() {
+    }
+/**
+ * Metoda piece zwraca klucz pionka gracza na danym polu.
+ * @param cell - indeks pola
+ * @param playerId - numer gracza (1..6)
+ * @return klucz Zobrista
+ */
+    public static long piece(int cell, int playerId) {
+        return PIECE_KEYS[cell * SLOTS + playerId];
+    }
+/**
+ * Metoda turn zwraca klucz gracza wykonującego ruch. Hasz planszy go nie zawiera;
+ * wyszukiwanie może go dołożyć, gdy pozycję z różnymi graczami na ruchu trzeba rozróżnić.
+ * @param playerId - numer gracza (1..6)
+ * @return klucz Zobrista
+ */
+    public static long turn(int playerId) {
+        return TURN_KEYS[playerId];
+    }
+}
@@ -3,6 +3,7 @@ package chinesecheckers.service;
 import chinesecheckers.model.Board;
 import chinesecheckers.model.Game;
 import chinesecheckers.model.Move;
+import chinesecheckers.model.SavedMove;
 import chinesecheckers.repository.BoardRepository;
 import chinesecheckers.repository.GameRepository;
 import chinesecheckers.repository.MoveRepository;
@@ -11,6 +12,8 @@ import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class GameService {
@@ -31,6 +34,13 @@ public class GameService {
         return moveRepository.save(move);
     }
 
+    @Transactional(readOnly = true)
+    public void forEachMove(Consumer<SavedMove> consumer) {
+        try (Stream<SavedMove> moves = moveRepository.streamAllOrderedByGame()) {
+            moves.forEach(consumer);
+        }
+    }
+
     public Game getGame(Long gameId) {
         return gameRepository.findById(gameId).orElse(null);
     }
@@ -28,6 +28,20 @@ class BoardTest {
 
     }
     @Test
+    void testGetBoardReturnsCopyAndSetCellUpdatesState() {
+        long hash = board.getHash();
+        board.getBoard()[4][8] = 1;
+        assertEquals(0, board.getBoard()[4][8]);
+        assertEquals(hash, board.getHash());
+
+        board.setCell(4, 8, 1);
+        assertEquals(1, board.getBoard()[4][8]);
+        assertEquals(11, board.getPieceCount(1));
+        assertNotEquals(hash, board.getHash());
+        assertThrows(IllegalArgumentException.class, () -> board.setCell(4, 9, 1));
+        assertThrows(IllegalArgumentException.class, () -> board.setCell(4, 8, 7));
+    }
+    @Test
     void testInitializeBoardFor2Players() {
         board.initializeBoardForPlayers(2);
         board.initializeOpponentBaseMapping(2);
@@ -113,22 +127,22 @@ class BoardTest {
     @Test
     void TestValidMoves() {
         assertTrue(board.isValidMove(3, 9, 4, 8,1));
-        board.getBoard()[3][9] = 1; 
+        board.setCell(3, 9, 1); 
         String result = board.movePiece(3, 9, 4, 8, 1);
         assertEquals("Ruch wykonany z (3,9) na (4,8).", result);
         assertEquals(1, board.getBoard()[4][8]);
         assertEquals(0, board.getBoard()[3][9]);
 
-        board.getBoard()[4][8] = 1; 
-        board.getBoard()[5][7] = 2; 
+        board.setCell(4, 8, 1); 
+        board.setCell(5, 7, 2); 
         result = board.movePiece(4, 8, 6, 6, 1);
         assertEquals("Ruch wykonany z (4,8) na (6,6).", result);
         assertEquals(1, board.getBoard()[6][6]);
         assertEquals(0, board.getBoard()[4][8]);
 
-        board.getBoard()[6][6] = 1; 
-        board.getBoard()[7][5] = 2; 
-        board.getBoard()[9][3] = 2; 
+        board.setCell(6, 6, 1); 
+        board.setCell(7, 5, 2); 
+        board.setCell(9, 3, 2); 
         result = board.movePiece(6, 6, 10, 2, 1);
         assertEquals("Ruch wykonany z (6,6) na (10,2).", result);
         assertEquals(1, board.getBoard()[10][2]);
@@ -153,54 +167,319 @@ class BoardTest {
 
         assertFalse(board.isValidMove(4, 8, 5, 7, 1));
 
-        board.getBoard()[3][9] = 1; 
-        board.getBoard()[4][8] = 2; 
+        board.setCell(3, 9, 1); 
+        board.setCell(4, 8, 2); 
         assertFalse(board.isValidMove(3, 9, 4, 8, 1));
 
-        board.getBoard()[16][12] = 1; 
+        board.setCell(16, 12, 1); 
         assertFalse(board.isValidMove(16, 12, 15, 11, 1));
-        board.getBoard()[16][12] = 1; 
-        board.getBoard()[15][11] = 0; 
+        board.setCell(16, 12, 1); 
+        board.setCell(15, 11, 0); 
         assertTrue(board.isValidMove(16, 12, 15, 11, 1));
-        board.getBoard()[3][9] = 1;
-        board.getBoard()[4][8] = 0; 
+        board.setCell(3, 9, 1);
+        board.setCell(4, 8, 0); 
         assertTrue(board.isValidMove(3, 9, 4, 8, 1));
     }
 
     @Test
     void testIsPlayerInOpponentBase() {
-        board.getBoard()[16][12] = 1;
-        board.getBoard()[15][11] = 1;
-        board.getBoard()[15][13] = 1;
-        board.getBoard()[14][10] = 1;
-        board.getBoard()[14][12] = 1;
-        board.getBoard()[14][14] = 1;
-        board.getBoard()[13][9] = 1;
-        board.getBoard()[13][11] = 1;
-        board.getBoard()[13][13] = 1;
-        board.getBoard()[13][15] = 1;
+        board.setCell(16, 12, 1);
+        board.setCell(15, 11, 1);
+        board.setCell(15, 13, 1);
+        board.setCell(14, 10, 1);
+        board.setCell(14, 12, 1);
+        board.setCell(14, 14, 1);
+        board.setCell(13, 9, 1);
+        board.setCell(13, 11, 1);
+        board.setCell(13, 13, 1);
+        board.setCell(13, 15, 1);
 
         assertTrue(board.isPlayerInOpponentBase(1));
 
-        board.getBoard()[13][15] = 0;
+        board.setCell(13, 15, 0);
 
         assertFalse(board.isPlayerInOpponentBase(1));
 
-        board.getBoard()[0][12] = 2;
-        board.getBoard()[1][11] = 2;
-        board.getBoard()[1][13] = 2;
-        board.getBoard()[2][10] = 2;
-        board.getBoard()[2][12] = 2;
-        board.getBoard()[2][14] = 2;
-        board.getBoard()[3][9] = 2;
-        board.getBoard()[3][11] = 2;
-        board.getBoard()[3][13] = 2;
-        board.getBoard()[3][15] = 2;
+        board.setCell(0, 12, 2);
+        board.setCell(1, 11, 2);
+        board.setCell(1, 13, 2);
+        board.setCell(2, 10, 2);
+        board.setCell(2, 12, 2);
+        board.setCell(2, 14, 2);
+        board.setCell(3, 9, 2);
+        board.setCell(3, 11, 2);
+        board.setCell(3, 13, 2);
+        board.setCell(3, 15, 2);
 
         assertTrue(board.isPlayerInOpponentBase(2));
 
-        board.getBoard()[3][15] = 0;
+        board.setCell(3, 15, 0);
 
         assertFalse(board.isPlayerInOpponentBase(2));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetPlayerPiecesFollowsMoves() {
+        Board board = new Board();
+        board.initializeBoardForPlayers(2);
+        board.initializeOpponentBaseMapping(2);
+        assertEquals(10, board.getPlayerPieces(1).size());
+        assertArrayEquals(new int[]{0, 12}, board.getPlayerPieces(1).get(0));
+
+        board.movePiece(3, 9, 4, 8, 1);
+        assertTrue(board.hasPlayerPiece(4, 8, 1));
+        assertFalse(board.hasPiece(3, 9));
+        assertTrue(board.isEmpty(3, 9));
+        assertArrayEquals(new int[]{4, 8}, board.getPlayerPieces(1).get(9));
+    }
+
+    @Test
+    void testPossibleMovesBufferMatchesList() {
+        board.setCell(4, 8, 2);
+        int[] targets = new int[2 * BoardGeometry.DIRECTIONS];
+        int count = board.getPossibleMoves(BoardGeometry.cellIndex(3, 9), targets);
+        java.util.List<int[]> moves = board.getPossibleMoves(3, 9);
+        assertEquals(moves.size(), count);
+        for (int i = 0; i < count; i++) {
+            assertEquals(BoardGeometry.cellIndex(moves.get(i)[0], moves.get(i)[1]), targets[i]);
+        }
+        assertEquals(1, board.getPossibleJumps(BoardGeometry.cellIndex(3, 9), targets));
+        assertEquals(BoardGeometry.cellIndex(5, 7), targets[0]);
+    }
+
+    @Test
+    void testJumpReachCoversMultiJumps() {
+        board.setCell(7, 5, 2);
+        board.setCell(9, 3, 2);
+        board.setCell(6, 6, 1);
+        int[] targets = new int[BoardGeometry.CELLS];
+        assertEquals(2, board.getJumpReach(BoardGeometry.cellIndex(6, 6), targets));
+        assertEquals(BoardGeometry.cellIndex(8, 4), targets[0]);
+        assertEquals(BoardGeometry.cellIndex(10, 2), targets[1]);
+        assertTrue(board.isValidMultiJump(6, 6, 10, 2, 1));
+        assertFalse(board.isValidMultiJump(6, 6, 12, 0, 1));
+
+        int legal = board.getLegalDestinations(6, 6, 1, targets);
+        assertEquals(5, legal);
+    }
+
+    @Test
+    void testGenerateMovesMatchesIsValidMove() {
+        board.setVariant("Rozgrywka klasyczna");
+        board.movePiece(3, 9, 4, 8, 1);
+        board.movePiece(13, 9, 12, 8, 2);
+        int[] moves = new int[Board.MAX_MOVES];
+        int count = board.generateMoves(1, moves);
+        int valid = 0;
+        for (int[] piece : board.getPlayerPieces(1)) {
+            for (int cell = 0; cell < BoardGeometry.CELLS; cell++) {
+                if (board.isValidMove(piece[0], piece[1], BoardGeometry.row(cell), BoardGeometry.column(cell), 1)) {
+                    valid++;
+                }
+            }
+        }
+        assertEquals(valid, count);
+        for (int i = 0; i < count; i++) {
+            int from = PackedMove.from(moves[i]);
+            int to = PackedMove.to(moves[i]);
+            assertTrue(board.hasPlayerPiece(BoardGeometry.row(from), BoardGeometry.column(from), 1));
+            assertTrue(board.isValidMove(BoardGeometry.row(from), BoardGeometry.column(from), BoardGeometry.row(to), BoardGeometry.column(to), 1));
+        }
+    }
+
+    @Test
+    void testHashFollowsMovesAndLoadState() {
+        long initial = board.getHash();
+        board.movePiece(3, 9, 4, 8, 1);
+        long moved = board.getHash();
+        assertNotEquals(initial, moved);
+
+        Board copy = new Board();
+        copy.loadState(board.toString());
+        assertEquals(moved, copy.getHash());
+
+        board.movePiece(4, 8, 3, 9, 1);
+        assertEquals(initial, board.getHash());
+    }
+
+    @Test
+    void testTargetCountersFollowMoves() {
+        assertEquals(10, board.getPiecesInHomeBase(1));
+        assertEquals(0, board.getPiecesInOpponentBase(1));
+        board.movePiece(3, 9, 4, 8, 1);
+        assertEquals(9, board.getPiecesInHomeBase(1));
+        assertFalse(board.allPiecesInHomeBase(1));
+        board.setVariant("Order Out Of Chaos");
+        assertEquals(9, board.getPiecesInTarget(1));
+        board.setVariant("Rozgrywka klasyczna");
+        assertEquals(0, board.getPiecesInTarget(1));
+        assertEquals(1, board.getTargetBase(1));
+    }
+
+    @Test
+    void testPieceListStaysSorted() {
+        board.movePiece(3, 15, 4, 16, 1);
+        board.movePiece(3, 9, 4, 8, 1);
+        assertEquals(10, board.getPieceCount(1));
+        for (int i = 1; i < board.getPieceCount(1); i++) {
+            assertTrue(board.getPieceCell(1, i - 1) < board.getPieceCell(1, i));
+        }
+        assertEquals(BoardGeometry.cellIndex(4, 16), board.getPieceCell(1, 9));
+    }
+
+    @Test
+    void testMakeUnmakeRestoresPosition() {
+        String state = board.toString();
+        long hash = board.getHash();
+        int[] moves = new int[Board.MAX_MOVES];
+        int count = board.generateMoves(1, moves);
+        for (int i = 0; i < count; i++) {
+            board.makeMove(moves[i]);
+            int replies = board.generateMoves(2, new int[Board.MAX_MOVES]);
+            assertTrue(replies > 0);
+            board.unmakeMove();
+        }
+        board.makeMove(moves[0]);
+        int[] replies = new int[Board.MAX_MOVES];
+        board.generateMoves(2, replies);
+        board.makeMove(replies[0]);
+        board.unmakeMove();
+        board.unmakeMove();
+        assertEquals(0, board.getUndoDepth());
+        assertEquals(state, board.toString());
+        assertEquals(hash, board.getHash());
+        assertEquals(10, board.getPiecesInHomeBase(1));
+        assertEquals(BoardGeometry.cellIndex(0, 12), board.getPieceCell(1, 0));
+        assertThrows(IllegalStateException.class, () -> board.unmakeMove());
+    }
+
+    private static void assertEvaluationState(Board board, int players) {
+        for (int playerId = 1; playerId <= players; playerId++) {
+            int tip = BoardGeometry.baseCell(board.getTargetBase(playerId), 0);
+            int sum = 0;
+            for (int i = 0; i < board.getPieceCount(playerId); i++) {
+                sum += DistanceTables.distance(board.getPieceCell(playerId, i), tip);
+            }
+            assertEquals(sum, board.getDistanceSum(playerId));
+            for (int base = 0; base < BoardGeometry.BASES; base++) {
+                int rear = 0;
+                int front = Integer.MAX_VALUE;
+                for (int i = 0; i < board.getPieceCount(playerId); i++) {
+                    int distance = DistanceTables.distanceToBase(base, board.getPieceCell(playerId, i));
+                    rear = Math.max(rear, distance);
+                    front = Math.min(front, distance);
+                }
+                assertEquals(rear, board.getRearDistance(playerId, base));
+                assertEquals(front, board.getFrontDistance(playerId, base));
+            }
+        }
+    }
+
+    @Test
+    void testEvaluationStateFollowsMakeUnmake() {
+        java.util.Random random = new java.util.Random(5);
+        int[] moves = new int[Board.MAX_MOVES];
+        for (String variant : new String[]{"Rozgrywka klasyczna", "Order Out Of Chaos"}) {
+            Board position = Perft.createPosition(6, variant, Perft.CHAOS_SEED);
+            int initial = position.getDistanceSum(1);
+            for (int ply = 0; ply < 200; ply++) {
+                int count = position.generateMoves(ply % 6 + 1, moves);
+                if (count > 0) {
+                    position.makeMove(moves[random.nextInt(count)]);
+                }
+                assertEvaluationState(position, 6);
+            }
+            assertEvaluationState(position.copy(), 6);
+            while (position.getUndoDepth() > 0) {
+                position.unmakeMove();
+            }
+            assertEquals(initial, position.getDistanceSum(1));
+            assertEvaluationState(position, 6);
+        }
+        board.setCell(3, 9, 0);
+        board.setCell(4, 8, 1);
+        assertEquals(10, board.getPieceCount(1));
+        assertEvaluationState(board, 2);
+    }
+
+    @Test
+    void testCodecRoundTrip() {
+        board.movePiece(3, 9, 4, 8, 1);
+        board.movePiece(13, 9, 12, 8, 2);
+        String legacy = board.toString();
+
+        byte[] buffer = new byte[BoardCodec.ENCODED_BYTES + 3];
+        assertEquals(BoardCodec.ENCODED_BYTES, BoardCodec.encode(board, buffer, 3));
+        Board decoded = new Board();
+        BoardCodec.decode(buffer, 3, decoded);
+        assertEquals(legacy, decoded.toString());
+        assertEquals(board.getHash(), decoded.getHash());
+
+        String compact = board.toCompactString();
+        assertEquals(BoardCodec.COMPACT_LENGTH, compact.length());
+        Board fromCompact = new Board();
+        fromCompact.update(compact);
+        assertEquals(legacy, fromCompact.toString());
+
+        Board fromLegacy = new Board();
+        fromLegacy.loadState(legacy);
+        assertEquals(compact, fromLegacy.toCompactString());
+        assertThrows(IllegalArgumentException.class, () -> fromLegacy.update("#!"));
+    }
+
+    @Test
+    void testBoardSyncAppliesDeltas() {
+        Board replica = new Board();
+        BoardSync sync = new BoardSync(replica);
+        assertFalse(sync.applyDelta("1:1:3,9:4,8:0"));
+        sync.applySnapshot(board.toCompactString());
+
+        board.movePiece(3, 9, 4, 8, 1);
+        assertTrue(sync.applyDelta(BoardSync.formatDelta(1, 1, 3, 9, 4, 8, board.getHash())
+                .substring(BoardSync.DELTA_PREFIX.length())));
+        assertEquals(board.toString(), replica.toString());
+
+        replica.movePiece(13, 9, 12, 8, 2);
+        board.movePiece(13, 9, 12, 8, 2);
+        assertTrue(sync.applyDelta("2:2:13,9:12,8:" + Long.toHexString(board.getHash())));
+        assertEquals(2, sync.getSequence());
+        assertFalse(sync.applySnapshot(board.toCompactString()));
+        assertEquals(2, sync.getSequence());
+        assertEquals(2, sync.getLastPlayerId());
+
+        assertFalse(sync.applyDelta("4:1:4,8:5,9:" + Long.toHexString(board.getHash())));
+        assertFalse(sync.isInSync());
+        assertTrue(sync.applySnapshot(board.toCompactString()));
+        assertTrue(sync.isInSync());
+        assertEquals(-1, sync.getSequence());
+        assertEquals(board.getHash(), replica.getHash());
+    }
+
+    @Test
+    void testSnapshotsArePublishedPerCommittedMove() {
+        board.enableSnapshots();
+        BoardSnapshot before = board.getSnapshot();
+        assertSame(before, board.getSnapshot());
+        assertEquals(1, before.getCell(3, 9));
+
+        board.movePiece(3, 9, 4, 8, 1);
+        BoardSnapshot after = board.getSnapshot();
+        assertEquals(before.getVersion() + 1, after.getVersion());
+        assertEquals(1, before.getCell(3, 9));
+        assertEquals(0, after.getCell(3, 9));
+        assertEquals(1, after.getCell(4, 8));
+        assertEquals(7, after.getCell(0, 0));
+        assertEquals(board.getHash(), after.getHash());
+        assertEquals(board.toCompactString(), after.toCompactString());
+
+        int[] moves = new int[Board.MAX_MOVES];
+        board.generateMoves(2, moves);
+        board.makeMove(moves[0]);
+        assertSame(after, board.getSnapshot());
+        board.unmakeMove();
+
+        Board copy = new Board();
+        copy.loadSnapshot(after);
+        assertEquals(board.toString(), copy.toString());
+    }
+}
@@ -0,0 +1,161 @@
+package chinesecheckers.server;
+
+import chinesecheckers.model.Game;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BotPlayerTest {
+    private static final String VARIANT = "Rozgrywka klasyczna";
+
+    private Board server;
+    private long sequence;
+
+    private BotPlayer newBot(BotStrategy strategy) {
+        return newBot(strategy, 1);
+    }
+
+    private BotPlayer newBot(BotStrategy strategy, int playerId) {
+        server = Perft.createPosition(2, VARIANT, Perft.CHAOS_SEED);
+        sequence = 0;
+        BotPlayer bot = new BotPlayer(playerId, 2, VARIANT, strategy);
+        bot.onEvent(GameEvent.turnOrder(new int[]{1, 2}));
+        bot.onEvent(GameEvent.boardState(server.toCompactString()));
+        return bot;
+    }
+
+    private void play(BotPlayer bot, int playerId, int move) {
+        server.makeMove(move);
+        bot.onEvent(GameEvent.move(++sequence, playerId, move, server.getHash()));
+    }
+
+    private static int parse(String move) {
+        String[] parts = move.substring(5).split("[,:]");
+        return PackedMove.of(BoardGeometry.cellIndex(Integer.parseInt(parts[0]), Integer.parseInt(parts[1])),
+                BoardGeometry.cellIndex(Integer.parseInt(parts[2]), Integer.parseInt(parts[3])));
+    }
+
+    @Test
+    void testPonderingReusesPredictedPosition() {
+        BotPlayer bot = newBot(new AlphaBetaStrategy(60_000, 20_000, 3));
+        bot.setPondering(true);
+        play(bot, 1, parse(bot.selectMove()));
+        play(bot, 2, new GreedyStrategy().selectMove(server, 2));
+
+        int move = parse(bot.selectMove());
+        assertEquals(1, bot.getPonderHits());
+        assertEquals(0, bot.getPonderMisses());
+        assertEquals(new AlphaBetaStrategy(60_000, 20_000, 3).selectMove(server, 1), move);
+    }
+
+    @Test
+    void testPonderingMissIsInterrupted() {
+        BotStrategy parallel = new AlphaBetaStrategy(60_000, Long.MAX_VALUE, AlphaBetaStrategy.MAX_DEPTH);
+        parallel.setThreads(2);
+        BotStrategy[] strategies = {new AlphaBetaStrategy(60_000, Long.MAX_VALUE, AlphaBetaStrategy.MAX_DEPTH), parallel,
+                new MctsStrategy(Integer.MAX_VALUE, 60_000, 7)};
+        for (BotStrategy strategy : strategies) {
+            BotPlayer bot = newBot(strategy);
+            bot.setPondering(true);
+            long start = System.nanoTime();
+            play(bot, 1, new GreedyStrategy().selectMove(server, 1));
+            int predicted = new GreedyStrategy().selectMove(server, 2);
+            int[] moves = new int[Board.MAX_MOVES];
+            server.generateMoves(2, moves);
+            play(bot, 2, moves[0] == predicted ? moves[1] : moves[0]);
+            assertEquals(1, bot.getPonderMisses());
+            bot.setPondering(false);
+            bot.close();
+            assertTrue(System.nanoTime() - start < 10_000_000_000L, strategy.getName());
+            assertEquals(0, bot.getPonderHits());
+        }
+    }
+
+    @Test
+    void testBoardFollowsTypedEvents() {
+        BotPlayer bot = newBot(new GreedyStrategy(), 2);
+        assertTrue(bot.isBot());
+        assertEquals(2, bot.getPlayerId());
+        int move = new GreedyStrategy().selectMove(server, 1);
+        play(bot, 1, move);
+        bot.onEvent(GameEvent.message("Gracz 1 wykonał ruch."));
+        bot.onEvent(GameEvent.yourTurn());
+        assertEquals(new GreedyStrategy().selectMove(server, 2), parse(bot.selectMove()));
+
+        bot.onEvent(GameEvent.move(sequence + 2, 1, new GreedyStrategy().selectMove(server, 1), 1L));
+        server = Perft.createPosition(2, VARIANT, Perft.CHAOS_SEED);
+        bot.onEvent(GameEvent.boardState(server.toCompactString()));
+        assertEquals(new GreedyStrategy().selectMove(server, 2), parse(bot.selectMove()));
+    }
+
+    @Test
+    void testPacingOverlapsThinking() {
+        BotPlayer bot = newBot(new GreedyStrategy());
+        long start = System.nanoTime();
+        assertNotNull(bot.getMove());
+        assertTrue(System.nanoTime() - start >= BotPlayer.PACING_MILLIS * 1_000_000);
+
+        AlphaBetaStrategy search = new AlphaBetaStrategy(60_000, 300_000, AlphaBetaStrategy.MAX_DEPTH);
+        long[] searchNanos = new long[1];
+        bot = newBot(new BotStrategy() {
+            @Override
+            public int selectMove(Board board, int playerId) {
+                long searchStart = System.nanoTime();
+                int move = search.selectMove(board, playerId);
+                searchNanos[0] = System.nanoTime() - searchStart;
+                return move;
+            }
+
+            @Override
+            public String getName() {
+                return search.getName();
+            }
+        });
+        start = System.nanoTime();
+        assertNotNull(bot.getMove());
+        long elapsed = System.nanoTime() - start;
+        assertTrue(elapsed < searchNanos[0] + BotPlayer.PACING_MILLIS * 1_000_000,
+                elapsed / 1_000_000 + " ms, wyszukiwanie " + searchNanos[0] / 1_000_000 + " ms");
+    }
+
+    @Test
+    void testOpeningBookMovesSkipSearch(@TempDir Path directory) throws IOException {
+        List<Integer> game = OpeningBookTest.play(new AlphaBetaStrategy(60_000, 2_000, 2),
+                new AlphaBetaStrategy(60_000, 2_000, 2), 1000);
+        int winner = 2 - game.size() % 2;
+        OpeningBookBuilder builder = new OpeningBookBuilder(4);
+        Game won = OpeningBookTest.game(1, VARIANT);
+        for (int i = 0; i < game.size(); i++) {
+            builder.accept(OpeningBookTest.move(won, i % 2 + 1, game.get(i)));
+        }
+        Path path = directory.resolve("book.bin");
+        builder.write(path);
+
+        int[] searches = new int[1];
+        BotStrategy counting = new GreedyStrategy() {
+            @Override
+            public int selectMove(Board board, int playerId) {
+                searches[0]++;
+                return super.selectMove(board, playerId);
+            }
+        };
+        BotPlayer bot = newBot(counting, winner);
+        bot.setOpeningBook(OpeningBook.open(path));
+        for (int ply = 0; ply < 6; ply++) {
+            int playerId = ply % 2 + 1;
+            if (playerId == winner) {
+                int move = parse(bot.selectMove());
+                if (ply < 4) {
+                    assertEquals(game.get(ply).intValue(), move);
+                }
+                assertEquals(ply < 4 ? 0 : 1, searches[0], "półruch " + ply);
+            }
+            play(bot, playerId, game.get(ply));
+        }
+    }
+}
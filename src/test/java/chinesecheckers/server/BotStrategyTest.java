@@ -0,0 +1,220 @@
+package chinesecheckers.server;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BotStrategyTest {
+
+    private static Board load(int[][] layout, int players, String variant) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < layout.length; i++) {
+            if (i > 0) {
+                sb.append(';');
+            }
+            for (int j = 0; j < layout[i].length; j++) {
+                if (j > 0) {
+                    sb.append(',');
+                }
+                sb.append(layout[i][j]);
+            }
+        }
+        Board board = new Board();
+        board.loadState(sb.toString());
+        board.initializeOpponentBaseMapping(players);
+        board.setVariant(variant);
+        return board;
+    }
+
+    private static Board almostWon() {
+        int[][] layout = BoardGeometry.newLayout();
+        int[][] target = BoardGeometry.basePositions(1);
+        for (int i = 0; i < BoardGeometry.BASE_SIZE; i++) {
+            if (target[i][0] != 13 || target[i][1] != 9) {
+                layout[target[i][0]][target[i][1]] = 1;
+            }
+        }
+        layout[12][8] = 1;
+        for (int column = 4; column <= 20; column += 2) {
+            layout[8][column] = 2;
+        }
+        layout[7][11] = 2;
+        return load(layout, 2, "Rozgrywka klasyczna");
+    }
+
+    @Test
+    void testAlphaBetaFindsWinningMove() {
+        Board board = almostWon();
+        long hash = board.getHash();
+        AlphaBetaStrategy strategy = new AlphaBetaStrategy(1000, 200_000, 4);
+        int move = strategy.selectMove(board, 1);
+        assertEquals(PackedMove.of(BoardGeometry.cellIndex(12, 8), BoardGeometry.cellIndex(13, 9)), move);
+        assertEquals(hash, board.getHash());
+        assertEquals(0, board.getUndoDepth());
+    }
+
+    @Test
+    void testAlphaBetaWithTranspositionTable() {
+        TranspositionTable table = new TranspositionTable(1);
+        Board board = almostWon();
+        AlphaBetaStrategy strategy = new AlphaBetaStrategy(1000, 200_000, 4);
+        strategy.setTranspositionTable(table);
+        assertEquals(PackedMove.of(BoardGeometry.cellIndex(12, 8), BoardGeometry.cellIndex(13, 9)), strategy.selectMove(board, 1));
+
+        board = Perft.createPosition(2, "Rozgrywka klasyczna", Perft.CHAOS_SEED);
+        long hash = board.getHash();
+        strategy = new AlphaBetaStrategy(60_000, Long.MAX_VALUE, 4);
+        int expected = strategy.selectMove(board, 1);
+        long nodesWithout = strategy.getNodes();
+        strategy.setTranspositionTable(table);
+        assertEquals(expected, strategy.selectMove(board, 1));
+        assertEquals(hash, board.getHash());
+        assertTrue(table.getHits() > 0);
+        assertTrue(strategy.getNodes() < nodesWithout, strategy.getNodes() + " >= " + nodesWithout);
+    }
+
+    @Test
+    void testAlphaBetaIsDeterministicUnderNodeBudget() {
+        Board board = Perft.createPosition(2, "Rozgrywka klasyczna", Perft.CHAOS_SEED);
+        int first = new AlphaBetaStrategy(60_000, 20_000, AlphaBetaStrategy.MAX_DEPTH).selectMove(board, 1);
+        int second = new AlphaBetaStrategy(60_000, 20_000, AlphaBetaStrategy.MAX_DEPTH).selectMove(board, 1);
+        assertEquals(first, second);
+        assertTrue(board.isValidMove(BoardGeometry.row(PackedMove.from(first)), BoardGeometry.column(PackedMove.from(first)),
+                BoardGeometry.row(PackedMove.to(first)), BoardGeometry.column(PackedMove.to(first)), 1));
+    }
+
+    @Test
+    void testAlphaBetaStopsAtDeadline() {
+        Board board = Perft.createPosition(2, "Rozgrywka klasyczna", Perft.CHAOS_SEED);
+        AlphaBetaStrategy strategy = new AlphaBetaStrategy(50, Long.MAX_VALUE, AlphaBetaStrategy.MAX_DEPTH);
+        long start = System.nanoTime();
+        int move = strategy.selectMove(board, 1);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        assertNotEquals(PackedMove.NONE, move);
+        assertTrue(elapsedMillis < 1000, "Przeszukiwanie trwało " + elapsedMillis + " ms");
+        assertTrue(strategy.getCompletedDepth() >= 1);
+    }
+
+    @Test
+    void testMultiPlayerSearchReturnsLegalMoveAndRestoresBoard() {
+        for (int players : new int[]{3, 4, 6}) {
+            for (MultiPlayerStrategy.Mode mode : MultiPlayerStrategy.Mode.values()) {
+                Board board = Perft.createPosition(players, "Rozgrywka klasyczna", Perft.CHAOS_SEED);
+                long hash = board.getHash();
+                MultiPlayerStrategy strategy = new MultiPlayerStrategy(mode, 60_000, 20_000, MultiPlayerStrategy.MAX_DEPTH);
+                int move = strategy.selectMove(board, 2);
+                assertTrue(board.isValidMove(BoardGeometry.row(PackedMove.from(move)), BoardGeometry.column(PackedMove.from(move)),
+                        BoardGeometry.row(PackedMove.to(move)), BoardGeometry.column(PackedMove.to(move)), 2));
+                assertEquals(hash, board.getHash());
+                assertEquals(0, board.getUndoDepth());
+                assertTrue(strategy.getCompletedDepth() >= 1);
+                assertEquals(move, new MultiPlayerStrategy(mode, 60_000, 20_000, MultiPlayerStrategy.MAX_DEPTH).selectMove(board, 2));
+            }
+        }
+    }
+
+    @Test
+    void testMultiPlayerSearchUsesTurnOrder() {
+        Board board = Perft.createPosition(3, "Rozgrywka klasyczna", Perft.CHAOS_SEED);
+        MultiPlayerStrategy strategy = new MultiPlayerStrategy(MultiPlayerStrategy.Mode.PARANOID, 60_000, 5_000, 3);
+        strategy.setTurnOrder(new int[]{3, 1, 2});
+        assertNotEquals(PackedMove.NONE, strategy.selectMove(board, 2));
+        strategy.setTurnOrder(new int[]{4, 5});
+        assertNotEquals(PackedMove.NONE, strategy.selectMove(board, 2));
+    }
+
+    @Test
+    void testParallelSearchMatchesSingleThread() {
+        for (int players : new int[]{2, 3, 6}) {
+            Board board = Perft.createPosition(players, "Rozgrywka klasyczna", Perft.CHAOS_SEED);
+            long hash = board.getHash();
+            for (int depth = 1; depth <= 3; depth++) {
+                SearchStrategy sequential = players == 2
+                        ? new AlphaBetaStrategy(60_000, Long.MAX_VALUE, depth)
+                        : new MultiPlayerStrategy(MultiPlayerStrategy.Mode.PARANOID, 60_000, Long.MAX_VALUE, depth);
+                SearchStrategy parallel = players == 2
+                        ? new AlphaBetaStrategy(60_000, Long.MAX_VALUE, depth)
+                        : new MultiPlayerStrategy(MultiPlayerStrategy.Mode.PARANOID, 60_000, Long.MAX_VALUE, depth);
+                parallel.setThreads(4);
+                assertEquals(sequential.selectMove(board, 1), parallel.selectMove(board, 1));
+                assertEquals(depth, parallel.getCompletedDepth());
+                assertEquals(hash, board.getHash());
+                assertEquals(0, board.getUndoDepth());
+            }
+        }
+    }
+
+    @Test
+    void testParallelSearchStopsAtDeadline() {
+        Board board = Perft.createPosition(2, "Rozgrywka klasyczna", Perft.CHAOS_SEED);
+        AlphaBetaStrategy strategy = new AlphaBetaStrategy(50, Long.MAX_VALUE, AlphaBetaStrategy.MAX_DEPTH);
+        strategy.setThreads(4);
+        strategy.setTranspositionTable(new TranspositionTable(1));
+        long start = System.nanoTime();
+        int move = strategy.selectMove(board, 1);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        assertTrue(board.isValidMove(BoardGeometry.row(PackedMove.from(move)), BoardGeometry.column(PackedMove.from(move)),
+                BoardGeometry.row(PackedMove.to(move)), BoardGeometry.column(PackedMove.to(move)), 1));
+        assertTrue(elapsedMillis < 1000, "Przeszukiwanie trwało " + elapsedMillis + " ms");
+        assertTrue(strategy.getNodes() > 0);
+    }
+
+    @Test
+    void testCloseShutsDownPoolAndStrategyStaysUsable() {
+        Board board = Perft.createPosition(4, "Rozgrywka klasyczna", Perft.CHAOS_SEED);
+        long hash = board.getHash();
+        BotStrategy[] strategies = {new AlphaBetaStrategy(60_000, 2_000, AlphaBetaStrategy.MAX_DEPTH),
+                new MctsStrategy(100, 60_000, 7)};
+        for (BotStrategy strategy : strategies) {
+            strategy.setTurnOrder(new int[]{1, 2, 3, 4});
+            strategy.setThreads(2);
+            for (int round = 0; round < 2; round++) {
+                int move = strategy.selectMove(board, 1);
+                assertTrue(board.isValidMove(BoardGeometry.row(PackedMove.from(move)), BoardGeometry.column(PackedMove.from(move)),
+                        BoardGeometry.row(PackedMove.to(move)), BoardGeometry.column(PackedMove.to(move)), 1));
+                assertEquals(hash, board.getHash());
+                strategy.close();
+            }
+        }
+    }
+
+    @Test
+    void testMctsUsesPlayoutBudget() {
+        for (int players : new int[]{2, 6}) {
+            Board board = Perft.createPosition(players, "Order Out Of Chaos", Perft.CHAOS_SEED);
+            long hash = board.getHash();
+            MctsStrategy strategy = new MctsStrategy(300, 60_000, 7);
+            int move = strategy.selectMove(board, 1);
+            assertTrue(board.isValidMove(BoardGeometry.row(PackedMove.from(move)), BoardGeometry.column(PackedMove.from(move)),
+                    BoardGeometry.row(PackedMove.to(move)), BoardGeometry.column(PackedMove.to(move)), 1));
+            assertEquals(300, strategy.getPlayouts());
+            assertTrue(strategy.getPlayoutsPerSecond() > 0);
+            assertEquals(hash, board.getHash());
+            assertEquals(0, board.getUndoDepth());
+            assertEquals(move, new MctsStrategy(300, 60_000, 7).selectMove(board, 1));
+        }
+    }
+
+    @Test
+    void testMctsMergesParallelTrees() {
+        Board board = Perft.createPosition(6, "Rozgrywka klasyczna", Perft.CHAOS_SEED);
+        long hash = board.getHash();
+        MctsStrategy strategy = new MctsStrategy(400, 60_000, 7);
+        strategy.setThreads(3);
+        int move = strategy.selectMove(board, 4);
+        assertTrue(board.isValidMove(BoardGeometry.row(PackedMove.from(move)), BoardGeometry.column(PackedMove.from(move)),
+                BoardGeometry.row(PackedMove.to(move)), BoardGeometry.column(PackedMove.to(move)), 4));
+        assertEquals(400, strategy.getPlayouts());
+        assertEquals(hash, board.getHash());
+    }
+
+    @Test
+    void testCreateByName() {
+        assertTrue(BotStrategy.create(BotStrategy.ALPHA_BETA) instanceof AlphaBetaStrategy);
+        assertTrue(BotStrategy.create(BotStrategy.GREEDY) instanceof GreedyStrategy);
+        assertEquals(BotStrategy.PARANOID, BotStrategy.create(BotStrategy.PARANOID).getName());
+        assertEquals(BotStrategy.BEST_REPLY, BotStrategy.create(BotStrategy.BEST_REPLY).getName());
+        assertTrue(BotStrategy.create(BotStrategy.MCTS) instanceof MctsStrategy);
+        assertTrue(BotStrategy.create("nieznana") instanceof GreedyStrategy);
+    }
+}
@@ -64,6 +64,19 @@ class ClientHandlerTest {
         verify(mockOut).println("Stan planszy:" + board.toString());
     }
     @Test
+    void testOnEventSendsProtocolMessage() {
+        int move = PackedMove.of(60, 61);
+        clientHandler.onEvent(GameEvent.yourTurn());
+        clientHandler.onEvent(GameEvent.turnOrder(java.util.Arrays.asList(2, 1)));
+        clientHandler.onEvent(GameEvent.boardState("stan"));
+        clientHandler.onEvent(GameEvent.move(3, 1, move, 0xABL));
+        verify(mockOut).println("Twoja tura!");
+        verify(mockOut).println("Kolejność gry: [2, 1]");
+        verify(mockOut).println("Stan planszy:stan");
+        verify(mockOut).println(BoardSync.formatDelta(3, 1, BoardGeometry.row(60), BoardGeometry.column(60),
+                BoardGeometry.row(61), BoardGeometry.column(61), 0xABL));
+    }
+    @Test
     void testIsConnected() throws IOException {
         doNothing().when(mockSocket).sendUrgentData(0xFF);
         assertTrue(clientHandler.isConnected());
@@ -0,0 +1,42 @@
+package chinesecheckers.server;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DistanceTablesTest {
+
+    @Test
+    void testDistancesFollowBoardAdjacency() {
+        for (int from = 0; from < BoardGeometry.CELLS; from++) {
+            assertEquals(0, DistanceTables.distance(from, from));
+            for (int d = 0; d < BoardGeometry.DIRECTIONS; d++) {
+                int neighbour = BoardGeometry.neighbour(from, d);
+                if (neighbour >= 0) {
+                    assertEquals(1, DistanceTables.distance(from, neighbour));
+                }
+            }
+            for (int to = 0; to < BoardGeometry.CELLS; to++) {
+                assertEquals(DistanceTables.distance(to, from), DistanceTables.distance(from, to));
+                int rows = Math.abs(BoardGeometry.row(from) - BoardGeometry.row(to));
+                int columns = Math.abs(BoardGeometry.column(from) - BoardGeometry.column(to));
+                assertEquals(Math.max(rows, columns), DistanceTables.distance(from, to));
+            }
+        }
+    }
+
+    @Test
+    void testDistanceToBase() {
+        for (int base = 0; base < BoardGeometry.BASES; base++) {
+            for (int cell = 0; cell < BoardGeometry.CELLS; cell++) {
+                int nearest = Integer.MAX_VALUE;
+                for (int i = 0; i < BoardGeometry.BASE_SIZE; i++) {
+                    nearest = Math.min(nearest, DistanceTables.distanceToGoal(base, i, cell));
+                }
+                assertEquals(nearest, DistanceTables.distanceToBase(base, cell));
+                assertEquals(BoardGeometry.baseOf(cell) == base, nearest == 0);
+            }
+        }
+        assertEquals(16, DistanceTables.distanceToGoal(1, 0, BoardGeometry.baseCell(0, 0)));
+    }
+}
@@ -0,0 +1,97 @@
+package chinesecheckers.server;
+
+import chinesecheckers.model.Game;
+import chinesecheckers.model.SavedMove;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpeningBookTest {
+    private static final String VARIANT = "Rozgrywka klasyczna";
+
+    static Game game(long id, String variant) {
+        Game game = new Game();
+        game.setId(id);
+        game.setVariant(variant);
+        game.setMaxPlayers(2);
+        return game;
+    }
+
+    static SavedMove move(Game game, int playerId, int packed) {
+        int from = PackedMove.from(packed);
+        int to = PackedMove.to(packed);
+        return new SavedMove(game.getId(), game.getVariant(), game.getMaxPlayers(), playerId,
+                BoardGeometry.row(from), BoardGeometry.column(from), BoardGeometry.row(to), BoardGeometry.column(to));
+    }
+
+    static List<Integer> play(BotStrategy first, BotStrategy second, int maxPlies) {
+        Board board = Perft.createPosition(2, VARIANT, Perft.CHAOS_SEED);
+        List<Integer> moves = new ArrayList<>();
+        for (int ply = 0; ply < maxPlies; ply++) {
+            int playerId = ply % 2 + 1;
+            int move = (playerId == 1 ? first : second).selectMove(board, playerId);
+            board.makeMove(move);
+            moves.add(move);
+            if (board.getPiecesInTarget(playerId) == BoardGeometry.BASE_SIZE) {
+                break;
+            }
+        }
+        return moves;
+    }
+
+    @Test
+    void testBookContainsWinnerMovesOfFinishedGames(@TempDir Path directory) throws IOException {
+        List<Integer> finished = play(new AlphaBetaStrategy(60_000, 2_000, 2), new AlphaBetaStrategy(60_000, 2_000, 2), 1000);
+        Board end = Perft.createPosition(2, VARIANT, Perft.CHAOS_SEED);
+        for (int move : finished) {
+            end.makeMove(move);
+        }
+        int winner = end.getPiecesInTarget(1) == BoardGeometry.BASE_SIZE ? 1 : 2;
+        assertEquals(BoardGeometry.BASE_SIZE, end.getPiecesInTarget(winner));
+        List<Integer> unfinished = play(new GreedyStrategy(), new AlphaBetaStrategy(60_000, 2_000, 2), 20);
+
+        OpeningBookBuilder builder = new OpeningBookBuilder(8);
+        Game chaos = game(3, "Order Out Of Chaos");
+        builder.accept(move(chaos, 1, finished.get(0)));
+        Game won = game(1, VARIANT);
+        for (int i = 0; i < finished.size(); i++) {
+            builder.accept(move(won, i % 2 + 1, finished.get(i)));
+        }
+        Game open = game(2, VARIANT);
+        for (int i = 0; i < unfinished.size(); i++) {
+            builder.accept(move(open, i % 2 + 1, unfinished.get(i)));
+        }
+        Path path = directory.resolve("book.bin");
+        assertEquals(4, builder.write(path));
+        assertEquals(1, builder.getGames());
+
+        OpeningBook book = OpeningBook.open(path);
+        assertEquals(4, book.size());
+        assertEquals(8, book.getPlies());
+        Board board = Perft.createPosition(2, VARIANT, Perft.CHAOS_SEED);
+        for (int i = 0; i < 10; i++) {
+            int playerId = i % 2 + 1;
+            int expected = playerId == winner && i < 8 ? finished.get(i) : PackedMove.NONE;
+            assertEquals(expected, book.lookup(board, playerId), "półruch " + i);
+            board.makeMove(finished.get(i));
+        }
+        assertEquals(PackedMove.NONE, book.lookup(Perft.createPosition(2, VARIANT, Perft.CHAOS_SEED), 3 - winner));
+        assertEquals(PackedMove.NONE, book.lookup(Perft.createPosition(3, VARIANT, Perft.CHAOS_SEED), 1));
+    }
+
+    @Test
+    void testOpenRejectsOtherFiles(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("book.bin");
+        Files.write(path, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16});
+        assertThrows(IOException.class, () -> OpeningBook.open(path));
+        new OpeningBookBuilder(4).write(path);
+        assertEquals(0, OpeningBook.open(path).size());
+    }
+}
@@ -0,0 +1,64 @@
+package chinesecheckers.server;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PerftTest {
+
+    @Test
+    void testClassicCountsMatchBaseline() {
+        assertPerft("Rozgrywka klasyczna", 2, 196, 3584);
+        assertPerft("Rozgrywka klasyczna", 3, 98, 686);
+        assertPerft("Rozgrywka klasyczna", 6, 196, 1372);
+    }
+
+    @Test
+    void testChaosCountsMatchBaseline() {
+        assertPerft("Order Out Of Chaos", 2, 2025, 93653);
+        assertPerft("Order Out Of Chaos", 3, 2025, 80651);
+        assertPerft("Order Out Of Chaos", 6, 199, 2933);
+    }
+
+    @Test
+    void testDepthZeroCountsOneNode() {
+        Board board = Perft.createPosition(2, "Rozgrywka klasyczna", Perft.CHAOS_SEED);
+        assertEquals(1, new Perft(board, 2, false).count(0, 1));
+    }
+
+    @Test
+    void testCheckedCountMatchesReference() {
+        for (int players : new int[]{2, 3, 4, 6}) {
+            for (String variant : new String[]{"Rozgrywka klasyczna", "Order Out Of Chaos"}) {
+                Board board = Perft.createPosition(players, variant, Perft.CHAOS_SEED);
+                long hash = board.getHash();
+                long checked = new Perft(board, players, true).count(2, 1);
+                assertEquals(new Perft(board, players, false).count(2, 1), checked);
+                assertEquals(hash, board.getHash());
+                assertEquals(0, board.getUndoDepth());
+            }
+        }
+    }
+
+    @Test
+    void testParallelMatchesSequential() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Board board = Perft.createPosition(3, "Rozgrywka klasyczna", Perft.CHAOS_SEED);
+            long sequential = new Perft(board, 3, false).count(3, 1);
+            assertEquals(sequential, new Perft(board, 3, false).countParallel(3, 1, pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // Liczby węzłów policzone przeglądem wszystkich par pól metodą isValidMove pierwotnej wersji Board
+    // (sprzed generatora ruchów) na tej samej pozycji początkowej.
+    private static void assertPerft(String variant, int players, long depthTwo, long depthThree) {
+        Board board = Perft.createPosition(players, variant, Perft.CHAOS_SEED);
+        assertEquals(depthTwo, new Perft(board, players, true).count(2, 1), variant + ", graczy " + players);
+        assertEquals(depthThree, new Perft(board, players, true).count(3, 1), variant + ", graczy " + players);
+    }
+}
@@ -0,0 +1,144 @@
+package chinesecheckers.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RaceSolverTest {
+    private static final String VARIANT = "Rozgrywka klasyczna";
+
+    private static Board race(Random random, int missing, int maxDistance) {
+        Board start = Perft.createPosition(2, VARIANT, Perft.CHAOS_SEED);
+        int[][] layout = BoardGeometry.newLayout();
+        for (int i = 0; i < BoardGeometry.BASE_SIZE; i++) {
+            int cell = BoardGeometry.baseCell(start.getTargetBase(2), i);
+            layout[BoardGeometry.row(cell)][BoardGeometry.column(cell)] = 2;
+        }
+        int target = start.getTargetBase(1);
+        for (int i = 0; i < BoardGeometry.BASE_SIZE - missing; i++) {
+            int cell = BoardGeometry.baseCell(target, i);
+            layout[BoardGeometry.row(cell)][BoardGeometry.column(cell)] = 1;
+        }
+        for (int placed = 0; placed < missing; ) {
+            int cell = random.nextInt(BoardGeometry.CELLS);
+            int distance = DistanceTables.distanceToBase(target, cell);
+            if (distance >= 1 && distance <= maxDistance && BoardGeometry.baseOf(cell) < 0
+                    && layout[BoardGeometry.row(cell)][BoardGeometry.column(cell)] == 0) {
+                layout[BoardGeometry.row(cell)][BoardGeometry.column(cell)] = 1;
+                placed++;
+            }
+        }
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < layout.length; i++) {
+            if (i > 0) {
+                sb.append(';');
+            }
+            for (int j = 0; j < layout[i].length; j++) {
+                if (j > 0) {
+                    sb.append(',');
+                }
+                sb.append(layout[i][j]);
+            }
+        }
+        Board board = new Board();
+        board.loadState(sb.toString());
+        board.initializeOpponentBaseMapping(2);
+        board.setVariant(VARIANT);
+        return board;
+    }
+
+    private static int[] pieces(Board board) {
+        int[] cells = new int[board.getPieceCount(1)];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = board.getPieceCell(1, i);
+        }
+        Arrays.sort(cells);
+        return cells;
+    }
+
+    private static int shortestRace(Board board) {
+        int target = board.getTargetBase(1);
+        Board empty = board.copy();
+        for (int cell : pieces(board)) {
+            empty.loadCell(cell, 0);
+        }
+        Set<String> seen = new HashSet<>();
+        ArrayDeque<int[]> queue = new ArrayDeque<>();
+        queue.add(pieces(board));
+        seen.add(Arrays.toString(pieces(board)));
+        int[] moves = new int[Board.MAX_MOVES];
+        for (int length = 0; !queue.isEmpty(); length++) {
+            for (int size = queue.size(); size > 0; size--) {
+                Board state = empty.copy();
+                for (int cell : queue.poll()) {
+                    state.loadCell(cell, 1);
+                }
+                if (state.getPiecesInTarget(1) == BoardGeometry.BASE_SIZE) {
+                    return length;
+                }
+                int count = state.generateMoves(1, moves);
+                for (int i = 0; i < count; i++) {
+                    if (DistanceTables.distanceToBase(target, PackedMove.to(moves[i]))
+                            > DistanceTables.distanceToBase(target, PackedMove.from(moves[i]))) {
+                        continue;
+                    }
+                    state.makeMove(moves[i]);
+                    int[] next = pieces(state);
+                    if (seen.add(Arrays.toString(next))) {
+                        queue.add(next);
+                    }
+                    state.unmakeMove();
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Test
+    void testSolverFindsShortestRace() {
+        Random random = new Random(1);
+        for (int i = 0; i < 12; i++) {
+            Board board = race(random, 2 + i % 2, 3);
+            long hash = board.getHash();
+            RaceSolver solver = new RaceSolver(5_000_000);
+            assertTrue(RaceSolver.isRace(board, 1));
+            int move = solver.solve(board, 1);
+            assertEquals(shortestRace(board), solver.getSolutionLength(), "pozycja " + i);
+            assertEquals(hash, board.getHash());
+
+            int length = solver.getSolutionLength();
+            while (length > 0) {
+                board.makeMove(move);
+                move = solver.solve(board, 1);
+                assertEquals(0, solver.getNodes());
+                assertEquals(length - 1, Math.max(0, solver.getSolutionLength()));
+                length--;
+            }
+            assertEquals(BoardGeometry.BASE_SIZE, board.getPiecesInTarget(1));
+        }
+    }
+
+    @Test
+    void testContestedPositionIsNotRace() {
+        Board board = Perft.createPosition(2, VARIANT, Perft.CHAOS_SEED);
+        assertFalse(RaceSolver.isRace(board, 1));
+        assertEquals(PackedMove.NONE, new RaceSolver().solve(board, 1));
+
+        board = race(new Random(2), 3, 3);
+        int target = board.getTargetBase(1);
+        for (int cell = 0; cell < BoardGeometry.CELLS; cell++) {
+            if (board.cellValue(cell) == 0 && DistanceTables.distanceToBase(target, cell) == 2
+                    && BoardGeometry.baseOf(cell) < 0) {
+                board.loadCell(cell, 2);
+                break;
+            }
+        }
+        assertFalse(RaceSolver.isRace(board, 1));
+    }
+}
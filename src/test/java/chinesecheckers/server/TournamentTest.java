@@ -0,0 +1,47 @@
+package chinesecheckers.server;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TournamentTest {
+    private static final String VARIANT = "Rozgrywka klasyczna";
+
+    @Test
+    void testResultsDoNotDependOnThreads() throws InterruptedException {
+        String[] strategies = {BotStrategy.ALPHA_BETA, BotStrategy.GREEDY};
+        Tournament tournament = new Tournament(strategies, 2, VARIANT, 7, 60_000, 2_000, 300);
+        Tournament.Summary sequential = tournament.run(4, 1);
+        Tournament.Summary parallel = tournament.run(4, 3);
+        assertEquals(4, sequential.getGames());
+        assertEquals(sequential.getMoves(), parallel.getMoves());
+        assertEquals(sequential.getUnfinished(), parallel.getUnfinished());
+        long wins = 0;
+        for (String name : strategies) {
+            assertEquals(4, sequential.getSeats(name));
+            assertEquals(sequential.getWins(name), parallel.getWins(name));
+            wins += sequential.getWins(name);
+        }
+        assertEquals(sequential.getGames() - sequential.getUnfinished(), wins);
+        assertEquals(tournament.play(1).getMoves(), tournament.play(1).getMoves());
+    }
+
+    @Test
+    void testFinishedGameRanksEveryPlayer() {
+        Tournament tournament = new Tournament(new String[]{BotStrategy.ALPHA_BETA}, 2, VARIANT, 1, 60_000, 2_000, 300);
+        Tournament.GameResult result = tournament.play(0);
+        assertTrue(result.isFinished());
+        assertEquals(3, result.getPlace(1) + result.getPlace(2));
+        assertEquals(BotStrategy.ALPHA_BETA, result.getStrategy(2));
+    }
+
+    @Test
+    void testRejectsUnknownOptions() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new Tournament(new String[]{"Losowy"}, 2, VARIANT, 1, 1, 1, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new Tournament(new String[]{BotStrategy.GREEDY}, 5, VARIANT, 1, 1, 1, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new Tournament(new String[]{BotStrategy.GREEDY}, 2, "Inny", 1, 1, 1, 1));
+    }
+}
@@ -0,0 +1,58 @@
+package chinesecheckers.server;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TranspositionTableTest {
+
+    @Test
+    void testStoreAndProbe() {
+        TranspositionTable table = new TranspositionTable(1);
+        assertEquals(1 << 16, table.getCapacity());
+        long key = 0x123456789ABCDEFL;
+        assertEquals(TranspositionTable.MISS, table.probe(key));
+        int move = PackedMove.of(BoardGeometry.cellIndex(12, 8), BoardGeometry.cellIndex(13, 9));
+        table.store(key, 7, TranspositionTable.LOWER, -42, move);
+        long entry = table.probe(key);
+        assertEquals(-42, TranspositionTable.score(entry));
+        assertEquals(move, TranspositionTable.move(entry));
+        assertEquals(7, TranspositionTable.depth(entry));
+        assertEquals(TranspositionTable.LOWER, TranspositionTable.bound(entry));
+        table.store(key, 3, TranspositionTable.EXACT, 5, PackedMove.NONE);
+        assertEquals(PackedMove.NONE, TranspositionTable.move(table.probe(key)));
+        assertEquals(3, table.getProbes());
+        assertEquals(2, table.getHits());
+        assertEquals(2, table.getStores());
+        assertEquals(2.0 / 3, table.getHitRate(), 1e-9);
+    }
+
+    @Test
+    void testReplacementPrefersStaleAndShallowEntries() {
+        TranspositionTable table = new TranspositionTable(1);
+        long deep = 5L;
+        long shallow = 5L | 1L << 48;
+        long incoming = 5L | 2L << 48;
+        long next = 5L | 3L << 48;
+        table.store(deep, 9, TranspositionTable.EXACT, 1, PackedMove.NONE);
+        table.store(shallow, 2, TranspositionTable.EXACT, 2, PackedMove.NONE);
+        table.store(incoming, 4, TranspositionTable.EXACT, 3, PackedMove.NONE);
+        assertNotEquals(TranspositionTable.MISS, table.probe(deep));
+        assertEquals(TranspositionTable.MISS, table.probe(shallow));
+        assertNotEquals(TranspositionTable.MISS, table.probe(incoming));
+        table.newSearch();
+        table.store(next, 1, TranspositionTable.EXACT, 4, PackedMove.NONE);
+        assertNotEquals(TranspositionTable.MISS, table.probe(deep));
+        assertEquals(TranspositionTable.MISS, table.probe(incoming));
+        assertNotEquals(TranspositionTable.MISS, table.probe(next));
+    }
+
+    @Test
+    void testWinScoresAreStoredRelativeToPosition() {
+        int win = AlphaBetaStrategy.WIN - 5;
+        int stored = TranspositionTable.scoreToTable(win, 3);
+        assertEquals(AlphaBetaStrategy.WIN - 4, TranspositionTable.scoreFromTable(stored, 2));
+        assertEquals(-(AlphaBetaStrategy.WIN - 4), TranspositionTable.scoreFromTable(TranspositionTable.scoreToTable(-win, 3), 2));
+        assertEquals(123, TranspositionTable.scoreFromTable(TranspositionTable.scoreToTable(123, 3), 2));
+    }
+}